@@ -0,0 +1,72 @@
+package com.gilliard.pokemon.benchmark;
+
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.cache.QueryResultCache;
+import com.gilliard.pokemon.dto.PokemonBatchQueryDTO;
+import com.gilliard.pokemon.dto.PokemonBatchResponseDTO;
+import com.gilliard.pokemon.service.PokemonPageLoader;
+import com.gilliard.pokemon.service.PokemonService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Um lote de 50 consultas (trechos de 1 a 5 caracteres dos nomes, limit 20, ordenações alternadas), como o BFF faz
+ * por página, respondido por:
+ * <ul>
+ *     <li>{@code individualCalls}: uma chamada a {@link PokemonService#getPokemons(String, String)} por consulta, sem
+ *     a cache de resultados (cada chamada refaz a busca e monta a lista completa, como antes do lote);</li>
+ *     <li>{@code batch}: {@link PokemonService#getPokemonsBatch(List)}, com uma única passada pelos nomes.</li>
+ * </ul>
+ * O custo de HTTP de cada chamada individual não entra na medida.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BatchSearchBenchmark {
+    private static final int QUERIES = 50;
+
+    @Param({"1300", "100000"})
+    public int size;
+
+    private PokemonService pokemonService;
+    private List<PokemonBatchQueryDTO> queries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> names = SyntheticCatalog.names(size);
+        PokemonCache.getInstance().clearCache();
+        PokemonCache.getInstance().publish(SyntheticCatalog.pokemons(size));
+        pokemonService = new PokemonService(new PokemonPageLoader(), new QueryResultCache(0, 0));
+
+        Random random = new Random(QUERIES);
+        queries = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            String name = names.get(random.nextInt(names.size()));
+            int length = Math.min(name.length(), 1 + random.nextInt(5));
+            int from = random.nextInt(name.length() - length + 1);
+            queries.add(new PokemonBatchQueryDTO(null, name.substring(from, from + length), i % 2 == 0 ? "name" : "length", 20));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        PokemonCache.getInstance().clearCache();
+    }
+
+    @Benchmark
+    public void individualCalls(Blackhole blackhole) {
+        for (PokemonBatchQueryDTO query : queries) {
+            blackhole.consume(pokemonService.getPokemons(query.getQuery(), query.getSort()));
+        }
+    }
+
+    @Benchmark
+    public PokemonBatchResponseDTO batch() {
+        return pokemonService.getPokemonsBatch(queries);
+    }
+}
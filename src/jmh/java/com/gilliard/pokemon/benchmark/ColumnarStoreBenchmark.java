@@ -0,0 +1,128 @@
+package com.gilliard.pokemon.benchmark;
+
+import com.gilliard.pokemon.cache.CatalogSnapshot;
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.model.Pokemon;
+import com.gilliard.pokemon.utils.StringUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Colunas da fotografia (nomes em um único array de bytes, IDs em {@code int[]}, URLs derivadas) comparadas com o
+ * layout anterior, de um objeto {@link Pokemon} por registro mais um array de Strings em minúsculas:
+ * <ul>
+ *     <li>{@code objectScan} / {@code columnarScan}: varredura do catálogo inteiro por uma consulta curta (o caminho
+ *     usado para consultas com menos de 3 caracteres, que o índice de trigramas não atende);</li>
+ *     <li>{@code objectSpans} / {@code columnarSpans}: intervalos da consulta em todos os nomes, como no destaque.</li>
+ * </ul>
+ * O espaço ocupado não é medido pelo JMH: {@link #main(String[])} mede o heap retido pelos dois layouts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ColumnarStoreBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"a", "ch", "-y"})
+    public String query;
+
+    private Pokemon[] pokemons;
+    private String[] lowerNames;
+    private CatalogSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Pokemon> catalog = SyntheticCatalog.pokemons(size);
+        pokemons = catalog.toArray(new Pokemon[0]);
+        lowerNames = lowerNames(catalog);
+        PokemonCache.getInstance().clearCache();
+        snapshot = PokemonCache.getInstance().publish(catalog);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        PokemonCache.getInstance().clearCache();
+    }
+
+    @Benchmark
+    public int[] objectScan() {
+        int[] matches = new int[lowerNames.length];
+        int matchCount = 0;
+        for (int i = 0; i < lowerNames.length; i++) {
+            if (lowerNames[i].contains(query))
+                matches[matchCount++] = i;
+        }
+        return Arrays.copyOf(matches, matchCount);
+    }
+
+    @Benchmark
+    public int[] columnarScan() {
+        return snapshot.search(query);
+    }
+
+    @Benchmark
+    public void objectSpans(Blackhole blackhole) {
+        for (int i = 0; i < pokemons.length; i++) {
+            blackhole.consume(StringUtils.findMatchSpans(pokemons[i].getName(), lowerNames[i], query, Integer.MAX_VALUE));
+        }
+    }
+
+    @Benchmark
+    public void columnarSpans(Blackhole blackhole) {
+        for (int i = 0; i < snapshot.size(); i++) {
+            blackhole.consume(snapshot.findMatchSpans(i, query, Integer.MAX_VALUE));
+        }
+    }
+
+    /**
+     * Mede o heap retido pelos registros nos dois layouts (sem os índices, que são os mesmos nos dois casos).<br>
+     *
+     * Uso: {@code java -cp <classpath do jmh> com.gilliard.pokemon.benchmark.ColumnarStoreBenchmark [tamanho]}
+     */
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        long before = usedHeap(memory);
+        List<Pokemon> catalog = SyntheticCatalog.pokemons(size);
+        for (Pokemon pokemon : catalog) {
+            pokemon.getSortKey();
+        }
+        String[] lowerNames = lowerNames(catalog);
+        long objects = usedHeap(memory) - before;
+
+        PokemonCache.getInstance().clearCache();
+        CatalogSnapshot snapshot = PokemonCache.getInstance().publish(catalog);
+        System.out.printf("registros: %,d%n", size);
+        System.out.printf("objetos (Pokemon + Strings + nomes em minúsculas): %,d bytes (%.1f por registro)%n",
+                objects, (double) objects / size);
+        System.out.printf("colunas: %,d bytes (%.1f por registro)%n",
+                snapshot.getColumnsFootprint(), (double) snapshot.getColumnsFootprint() / size);
+        // Mantém os dois layouts vivos até o fim da medição:
+        System.out.println(lowerNames.length + snapshot.size() > 0 ? "" : "-");
+    }
+
+    private static String[] lowerNames(List<Pokemon> catalog) {
+        List<String> lower = new ArrayList<>(catalog.size());
+        for (Pokemon pokemon : catalog) {
+            lower.add(pokemon.getName().toLowerCase());
+        }
+        return lower.toArray(new String[0]);
+    }
+
+    private static long usedHeap(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,59 @@
+package com.gilliard.pokemon.benchmark;
+
+import com.gilliard.pokemon.utils.StringUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Destaque da consulta em todos os nomes do catálogo: {@link StringUtils#highlightFirstOccurrence}, que converte
+ * nome e consulta para minúsculas a cada chamada, e o caminho usado pelo serviço, que parte dos nomes já convertidos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HighlightBenchmark {
+
+    @Param({"1000", "10000", "1000000"})
+    public int size;
+
+    @Param({"char", "a"})
+    public String query;
+
+    private String[] names;
+    private String[] lowerNames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> catalog = SyntheticCatalog.names(size);
+        names = catalog.toArray(new String[0]);
+        lowerNames = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            lowerNames[i] = names[i].toLowerCase();
+        }
+    }
+
+    @Benchmark
+    public void highlightFirstOccurrence(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(StringUtils.highlightFirstOccurrence(name, query));
+        }
+    }
+
+    @Benchmark
+    public void highlightFromLowerNames(Blackhole blackhole) {
+        for (int i = 0; i < names.length; i++) {
+            int[] spans = StringUtils.findMatchSpans(names[i], lowerNames[i], query, 1);
+            blackhole.consume(spans.length == 0 ? names[i] : StringUtils.highlight(names[i], spans[0], spans[1]));
+        }
+    }
+
+    @Benchmark
+    public void matchSpans(Blackhole blackhole) {
+        for (int i = 0; i < names.length; i++) {
+            blackhole.consume(StringUtils.findMatchSpans(names[i], lowerNames[i], query, Integer.MAX_VALUE));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.gilliard.pokemon.benchmark;
+
+import com.gilliard.pokemon.model.Pokemon;
+import com.gilliard.pokemon.model.SortType;
+import com.gilliard.pokemon.utils.MergeSortUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ordenação do catálogo inteiro com {@link MergeSortUtils#mergeSort} para cada {@link SortType}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MergeSortBenchmark {
+
+    @Param({"1000", "10000", "1000000"})
+    public int size;
+
+    @Param({"NAME", "LENGTH"})
+    public SortType sortType;
+
+    private List<Pokemon> pokemons;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pokemons = SyntheticCatalog.pokemons(size);
+        // As chaves de ordenação são calculadas uma vez por Pokémon, como acontece na cache:
+        pokemons.forEach(Pokemon::getSortKey);
+    }
+
+    @Benchmark
+    public List<Pokemon> mergeSort() {
+        return MergeSortUtils.mergeSort(pokemons, sortType.getComparator());
+    }
+}
@@ -0,0 +1,95 @@
+package com.gilliard.pokemon.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gilliard.pokemon.client.PokemonPageParser;
+import com.gilliard.pokemon.model.Pokemon;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Leitura das páginas da listagem da API externa (100 Pokémons por página, no formato da PokeAPI), comparando:
+ * <ul>
+ *     <li>{@code mapThenConvert}: o caminho anterior, com o corpo desserializado em {@code Map<String, Object>}, cada
+ *     item copiado para um {@code Map<String, String>} com streams e o ID extraído com {@code split};</li>
+ *     <li>{@code streamingParser}: o {@link PokemonPageParser}, que cria os {@link Pokemon} direto dos tokens.</li>
+ * </ul>
+ * O catálogo real tem cerca de 1.300 registros (14 páginas). Com o profiler gc, {@code gc.alloc.rate.norm} mostra o
+ * lixo gerado por carga completa.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PageParsingBenchmark {
+    private static final int PAGE_SIZE = 100;
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    @Param({"14", "100"})
+    public int pageCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<byte[]> pages;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Pokemon> catalog = SyntheticCatalog.pokemons(pageCount * PAGE_SIZE);
+        pages = new ArrayList<>(pageCount);
+        for (int offset = 0; offset < catalog.size(); offset += PAGE_SIZE) {
+            List<Map<String, String>> results = new ArrayList<>(PAGE_SIZE);
+            for (Pokemon pokemon : catalog.subList(offset, offset + PAGE_SIZE)) {
+                Map<String, String> item = new LinkedHashMap<>();
+                item.put("name", pokemon.getName());
+                item.put("url", pokemon.getUrl());
+                results.add(item);
+            }
+            Map<String, Object> page = new LinkedHashMap<>();
+            page.put("count", catalog.size());
+            page.put("next", offset + PAGE_SIZE < catalog.size() ? "https://pokeapi.co/api/v2/pokemon?offset=" + (offset + PAGE_SIZE) + "&limit=" + PAGE_SIZE : null);
+            page.put("previous", null);
+            page.put("results", results);
+            pages.add(objectMapper.writeValueAsBytes(page));
+        }
+    }
+
+    @Benchmark
+    public List<Pokemon> mapThenConvert() throws IOException {
+        List<Pokemon> pokemons = new ArrayList<>(pageCount * PAGE_SIZE);
+        for (byte[] page : pages) {
+            Map<String, Object> response = objectMapper.readValue(page, MAP_TYPE);
+            for (Map<String, String> pokemonData : convertToMapList(response.get("results"))) {
+                String url = pokemonData.get("url");
+                String[] urlParts = url.split("/");
+                pokemons.add(new Pokemon(urlParts[urlParts.length - 1], pokemonData.get("name"), url));
+            }
+        }
+        return pokemons;
+    }
+
+    @Benchmark
+    public List<Pokemon> streamingParser() throws IOException {
+        List<Pokemon> pokemons = new ArrayList<>(pageCount * PAGE_SIZE);
+        for (byte[] page : pages) {
+            pokemons.addAll(PokemonPageParser.parse(page).getPokemons());
+        }
+        return pokemons;
+    }
+
+    // Conversão usada antes do PokemonPageParser (ApiUtils.convertToMapList):
+    private static List<Map<String, String>> convertToMapList(Object rawData) {
+        if (!(rawData instanceof List<?> rawList))
+            return Collections.emptyList();
+        return rawList.stream()
+                .filter(item -> item instanceof Map)
+                .map(item -> ((Map<?, ?>) item).entrySet().stream()
+                        .collect(Collectors.toMap(
+                                e -> String.valueOf(e.getKey()),
+                                e -> String.valueOf(e.getValue())
+                        ))
+                )
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,53 @@
+package com.gilliard.pokemon.benchmark;
+
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.cache.QueryResultCache;
+import com.gilliard.pokemon.dto.PokemonResponseDTO;
+import com.gilliard.pokemon.service.PokemonPageLoader;
+import com.gilliard.pokemon.service.PokemonService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PokemonService#getPokemons(String, String)} de ponta a ponta (busca, ordenação e montagem da resposta) sobre
+ * um catálogo já carregado na cache, sem e com a cache de resultados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PokemonServiceBenchmark {
+
+    @Param({"1000", "10000", "1000000"})
+    public int size;
+
+    @Param({"", "char", "a"})
+    public String query;
+
+    @Param({"name", "length"})
+    public String sort;
+
+    @Param({"false", "true"})
+    public boolean resultCache;
+
+    private PokemonService pokemonService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PokemonCache.getInstance().clearCache();
+        PokemonCache.getInstance().publish(SyntheticCatalog.pokemons(size));
+        // Uma cache sem espaço nunca guarda resultados, então cada chamada refaz a busca inteira.
+        QueryResultCache queryResultCache = resultCache ? new QueryResultCache() : new QueryResultCache(0, 0);
+        pokemonService = new PokemonService(new PokemonPageLoader(), queryResultCache);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        PokemonCache.getInstance().clearCache();
+    }
+
+    @Benchmark
+    public PokemonResponseDTO<String> getPokemons() {
+        return pokemonService.getPokemons(query, sort);
+    }
+}
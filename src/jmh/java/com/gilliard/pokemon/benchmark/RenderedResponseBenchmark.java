@@ -0,0 +1,85 @@
+package com.gilliard.pokemon.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gilliard.pokemon.cache.CatalogSnapshot;
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.cache.RenderedResponseCache;
+import com.gilliard.pokemon.model.SortType;
+import com.gilliard.pokemon.service.PokemonPageLoader;
+import com.gilliard.pokemon.service.PokemonService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Custo por requisição da listagem completa ({@code GET /pokemons} e {@code GET /pokemons/highlight} sem consulta),
+ * a partir do momento em que o controller tem a resposta em mãos:
+ * <ul>
+ *     <li>{@code serialize} / {@code serializeHighlight}: o caminho anterior, com o resultado vindo da cache de
+ *     resultados e serializado pelo Jackson a cada requisição;</li>
+ *     <li>{@code serializeAndGzip}: o mesmo, compactado com gzip a cada requisição (como faria a compressão do
+ *     servidor);</li>
+ *     <li>{@code preRendered} / {@code preRenderedGzip}: os bytes prontos da {@link RenderedResponseCache}.</li>
+ * </ul>
+ * A escrita no socket, igual nos três casos, não entra na medida.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RenderedResponseBenchmark {
+
+    @Param({"1300", "100000"})
+    public int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private PokemonService pokemonService;
+    private RenderedResponseCache renderedResponses;
+    private long version;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PokemonCache.getInstance().clearCache();
+        CatalogSnapshot snapshot = PokemonCache.getInstance().publish(SyntheticCatalog.pokemons(size));
+        version = snapshot.getVersion();
+        pokemonService = new PokemonService(new PokemonPageLoader());
+        renderedResponses = new RenderedResponseCache();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        PokemonCache.getInstance().clearCache();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(pokemonService.getPokemons(null, "name"));
+    }
+
+    @Benchmark
+    public byte[] serializeHighlight() throws IOException {
+        return objectMapper.writeValueAsBytes(pokemonService.getPokemonsWithHighlight(null, "name"));
+    }
+
+    @Benchmark
+    public byte[] serializeAndGzip() throws IOException {
+        byte[] body = serialize();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] preRendered() {
+        return renderedResponses.get(RenderedResponseCache.Endpoint.POKEMONS, SortType.NAME, version, this::serialize).getBody();
+    }
+
+    @Benchmark
+    public byte[] preRenderedGzip() {
+        return renderedResponses.get(RenderedResponseCache.Endpoint.POKEMONS, SortType.NAME, version, this::serialize).getGzipBody();
+    }
+}
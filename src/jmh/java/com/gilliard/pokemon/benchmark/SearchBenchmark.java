@@ -0,0 +1,51 @@
+package com.gilliard.pokemon.benchmark;
+
+import com.gilliard.pokemon.cache.CatalogSnapshot;
+import com.gilliard.pokemon.cache.PokemonCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro por substring ({@code nome.toLowerCase().contains(consulta)}), feito hoje pelo índice de trigramas da
+ * fotografia do catálogo, comparado com a varredura linear que ele substituiu.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+
+    @Param({"1000", "10000", "1000000"})
+    public int size;
+
+    @Param({"char", "saur", "a", "zzz"})
+    public String query;
+
+    private CatalogSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PokemonCache.getInstance().clearCache();
+        snapshot = PokemonCache.getInstance().publish(SyntheticCatalog.pokemons(size));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        PokemonCache.getInstance().clearCache();
+    }
+
+    @Benchmark
+    public int[] trigramIndex() {
+        return snapshot.search(query);
+    }
+
+    @Benchmark
+    public int linearScan() {
+        int matches = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (snapshot.get(i).getName().toLowerCase().contains(query))
+                matches++;
+        }
+        return matches;
+    }
+}
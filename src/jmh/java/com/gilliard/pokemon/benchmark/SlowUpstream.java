@@ -0,0 +1,103 @@
+package com.gilliard.pokemon.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * API externa local e lenta para as medições de carga: responde a listagem paginada ({@code pokemon-1},
+ * {@code pokemon-2}, ...) e os documentos de detalhes ({@code /pokemon/{id}/}, tipo fire, water ou grass pelo resto da
+ * divisão do ID por 3) depois de um atraso fixo.<br>
+ *
+ * Cada requisição é atendida por uma thread virtual, de forma que o atraso não limita a quantidade de requisições
+ * simultâneas nem soma threads de plataforma às do processo medido.
+ */
+final class SlowUpstream implements AutoCloseable {
+    private static final String[] TYPES = {"fire", "water", "grass"};
+
+    private final HttpServer server;
+    private final int count;
+    private final Duration latency;
+
+    SlowUpstream(int count, Duration latency) {
+        this.count = count;
+        this.latency = latency;
+        try {
+            // Backlog grande: os clientes abrem muitas conexões de uma vez quando a carga começa.
+            this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 4096);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.createContext("/api/v2/pokemon", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/api/v2";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            String id = exchange.getRequestURI().getPath().substring("/api/v2/pokemon".length()).replace("/", "");
+            byte[] body = id.isEmpty() ? page(exchange.getRequestURI().getQuery()) : detail(Integer.parseInt(id));
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private byte[] page(String query) {
+        int offset = 0;
+        int limit = 20;
+        for (String pair : query == null ? new String[0] : query.split("&")) {
+            if (pair.startsWith("offset="))
+                offset = Integer.parseInt(pair.substring(7));
+            else if (pair.startsWith("limit="))
+                limit = Integer.parseInt(pair.substring(6));
+        }
+        StringBuilder json = new StringBuilder("{\"count\":").append(count).append(",\"next\":");
+        if (offset + limit < count)
+            json.append('"').append(getBaseUrl()).append("/pokemon?offset=").append(offset + limit).append("&limit=").append(limit).append('"');
+        else
+            json.append("null");
+        json.append(",\"previous\":null,\"results\":[");
+        for (int id = offset + 1; id <= Math.min(offset + limit, count); id++) {
+            json.append(id > offset + 1 ? "," : "").append("{\"name\":\"pokemon-").append(id)
+                    .append("\",\"url\":\"https://pokeapi.co/api/v2/pokemon/").append(id).append("/\"}");
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] detail(int id) {
+        StringBuilder json = new StringBuilder("{\"id\":").append(id).append(",\"name\":\"pokemon-").append(id).append("\",\"stats\":[");
+        String[] stats = {"hp", "attack", "defense", "special-attack", "special-defense", "speed"};
+        for (int i = 0; i < stats.length; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"base_stat\":").append(40 + (id + i * 7) % 100)
+                    .append(",\"effort\":0,\"stat\":{\"name\":\"").append(stats[i]).append("\",\"url\":\"\"}}");
+        }
+        json.append("],\"types\":[{\"slot\":1,\"type\":{\"name\":\"").append(TYPES[id % TYPES.length]).append("\",\"url\":\"\"}}]}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
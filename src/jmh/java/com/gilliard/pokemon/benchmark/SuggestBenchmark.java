@@ -0,0 +1,75 @@
+package com.gilliard.pokemon.benchmark;
+
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.cache.QueryResultCache;
+import com.gilliard.pokemon.dto.PokemonResponseDTO;
+import com.gilliard.pokemon.service.PokemonPageLoader;
+import com.gilliard.pokemon.service.PokemonService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prefixos digitados na caixa de busca (de 1 a 4 letras de nomes do catálogo), respondidos por:
+ * <ul>
+ *     <li>{@code suggest}: {@link PokemonService#getSuggestions(String, Integer)}, com limite de 10 sugestões;</li>
+ *     <li>{@code getPokemons}: o caminho de busca existente, {@link PokemonService#getPokemons(String, String)}.</li>
+ * </ul>
+ * Sem a cache de resultados, para medir o cálculo de cada busca. Cada operação responde um prefixo, em rodízio.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SuggestBenchmark {
+    private static final int TYPED_NAMES = 250;
+
+    @Param({"1300", "100000"})
+    public int size;
+
+    private PokemonService pokemonService;
+    private String[] prefixes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> names = SyntheticCatalog.names(size);
+        PokemonCache.getInstance().clearCache();
+        PokemonCache.getInstance().publish(SyntheticCatalog.pokemons(size));
+        pokemonService = new PokemonService(new PokemonPageLoader(), new QueryResultCache(0, 0));
+
+        // Simula a digitação: cada nome gera os prefixos de 1 a 4 letras
+        Random random = new Random(TYPED_NAMES);
+        List<String> typed = new ArrayList<>(TYPED_NAMES * 4);
+        for (int i = 0; i < TYPED_NAMES; i++) {
+            String name = names.get(random.nextInt(names.size()));
+            for (int length = 1; length <= Math.min(4, name.length()); length++) {
+                typed.add(name.substring(0, length));
+            }
+        }
+        prefixes = typed.toArray(new String[0]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        PokemonCache.getInstance().clearCache();
+    }
+
+    @Benchmark
+    public PokemonResponseDTO<String> suggest() {
+        return pokemonService.getSuggestions(nextPrefix(), 10);
+    }
+
+    @Benchmark
+    public PokemonResponseDTO<String> getPokemons() {
+        return pokemonService.getPokemons(nextPrefix(), "name");
+    }
+
+    private String nextPrefix() {
+        String prefix = prefixes[next];
+        next = (next + 1) % prefixes.length;
+        return prefix;
+    }
+}
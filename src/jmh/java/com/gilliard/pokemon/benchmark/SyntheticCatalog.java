@@ -0,0 +1,61 @@
+package com.gilliard.pokemon.benchmark;
+
+import com.gilliard.pokemon.model.Pokemon;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Gera catálogos sintéticos e determinísticos para os benchmarks.<br>
+ *
+ * Os nomes combinam sílabas como os nomes reais (com hífens e sufixos ocasionais), de forma que buscas por trechos
+ * comuns ("char", "saur") encontrem uma fração parecida com a do catálogo real.
+ */
+final class SyntheticCatalog {
+    private static final String[] SYLLABLES = {
+            "pi", "ka", "chu", "char", "man", "der", "bul", "ba", "saur", "squir", "tle", "mew", "two", "eev", "ee",
+            "gar", "dos", "ma", "chop", "ra", "ti", "on", "dra", "go", "nite", "geo", "dude", "ab", "dab"
+    };
+    private static final String[] SUFFIXES = {"", "", "", "", "-mega", "-alola", "-gmax", "-x", "-y"};
+
+    private SyntheticCatalog() {}
+
+    static List<Pokemon> pokemons(int size) {
+        Random random = new Random(size);
+        List<Pokemon> pokemons = new ArrayList<>(size);
+        Set<String> used = new HashSet<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            String name = name(random);
+            // Como no catálogo real, os nomes são distintos:
+            if (!used.add(name)) {
+                name = name + "-" + i;
+                used.add(name);
+            }
+            String id = String.valueOf(i + 1);
+            pokemons.add(new Pokemon(id, name, "https://pokeapi.co/api/v2/pokemon/" + id + "/"));
+        }
+        return pokemons;
+    }
+
+    static List<String> names(int size) {
+        List<String> names = new ArrayList<>(size);
+        for (Pokemon pokemon : pokemons(size)) {
+            names.add(pokemon.getName());
+        }
+        return names;
+    }
+
+    private static String name(Random random) {
+        StringBuilder name = new StringBuilder();
+        int syllables = 2 + random.nextInt(3);
+        for (int s = 0; s < syllables; s++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        if (random.nextInt(4) == 0)
+            name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.append(SUFFIXES[random.nextInt(SUFFIXES.length)]).toString();
+    }
+}
@@ -0,0 +1,208 @@
+package com.gilliard.pokemon.benchmark;
+
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.cache.PokemonDetailCache;
+import com.gilliard.pokemon.cache.QueryResultCache;
+import com.gilliard.pokemon.client.CircuitBreaker;
+import com.gilliard.pokemon.client.PokeApiClient;
+import com.gilliard.pokemon.metrics.PokemonMetrics;
+import com.gilliard.pokemon.service.PokemonDetailService;
+import com.gilliard.pokemon.service.PokemonPageLoader;
+import com.gilliard.pokemon.service.PokemonService;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Comparação de carga entre threads de plataforma e threads virtuais no atendimento das requisições, com a API externa
+ * simulada por um {@link SlowUpstream} local (sem rede).<br>
+ *
+ * As requisições chegam em taxa fixa (carga aberta: a latência de cada uma conta a partir do instante em que deveria
+ * ter começado, incluindo a espera na fila) e são executadas pelo {@link PokemonService} real:
+ * <ul>
+ *     <li>{@code platform}: um pool fixo de {@code threads} threads de plataforma com fila sem limite, como o pool do
+ *     Tomcat ({@code server.tomcat.threads.max=200} por padrão);</li>
+ *     <li>{@code virtual}: uma thread virtual por requisição, como com {@code spring.threads.virtual.enabled=true}.</li>
+ * </ul>
+ * O catálogo começa frio: as primeiras requisições esperam a carga das páginas. Depois disso, uma fração
+ * ({@code filtered}) das requisições filtra por tipo um nome ainda não enriquecido, o que exige buscar o documento de
+ * detalhes na API externa; as demais são buscas paginadas em memória. O socket e o parse HTTP do Tomcat não entram
+ * na medida, apenas o executor que atende as requisições.<br>
+ *
+ * Uso: {@code java --add-modules jdk.incubator.vector -cp <classpath do jmh> com.gilliard.pokemon.benchmark.ThreadModeComparison
+ * [mode=both|platform|virtual] [rate=500] [seconds=15] [filtered=0.5] [latencyMs=1000] [threads=200] [catalog=10000]
+ * [loaderConcurrency=32] [detailConcurrency=2048]}<br>
+ *
+ * Resultados em um contêiner com 1 CPU (latências em ms, p50 / p99; "threads" é o pico de threads de plataforma do
+ * processo e "simultâneas" o pico de requisições em andamento):
+ * <pre>
+ * 500 req/s por 15 s, metade com filtro, API externa com 1 s:
+ * modo      concluídas/s  frio            simples         filtro          threads  simultâneas
+ * platform           139  9.911 / 12.206  11.726 / 12.305 12.699 / 13.503     221          200
+ * virtual            489  4.142 / 8.408   0 / 493         1.003 / 3.117        21        2.680
+ *
+ * 500 req/s por 15 s, sem filtro (só a carga fria bloqueia):
+ * platform           500  4.038 / 7.452   0 / 1.086       -                   215          200
+ * virtual            500  2.929 / 5.885   0 / 256         -                    16        2.807
+ *
+ * 200 req/s por 10 s, metade com filtro, detailConcurrency=8 (o padrão de pokemon.detail.max-concurrency):
+ * platform            25  30.954 / 77.722 74.744 / 91.678 96.967 / 116.176   216          200
+ * virtual            105  5.293 / 72.229  0 / 126         90.874 / 114.677    16        1.101
+ * </pre>
+ * Com as requisições filtradas presas na API externa, o pool fixo fica com as 200 threads bloqueadas e as buscas em
+ * memória esperam na fila atrás delas; com threads virtuais elas continuam sendo atendidas em milissegundos. As
+ * threads virtuais não aumentam a vazão da API externa: com o limite padrão de detalhes simultâneos, as requisições
+ * filtradas ficam igualmente lentas nos dois modos (o semáforo é o gargalo), e só as demais deixam de esperar.
+ */
+public final class ThreadModeComparison {
+
+    private static final int COLD = 0;
+    private static final int PLAIN = 1;
+    private static final int FILTERED = 2;
+
+    private ThreadModeComparison() {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+        String mode = options.getOrDefault("mode", "both");
+        Settings settings = new Settings(
+                Integer.parseInt(options.getOrDefault("rate", "500")),
+                Integer.parseInt(options.getOrDefault("seconds", "15")),
+                Double.parseDouble(options.getOrDefault("filtered", "0.5")),
+                Duration.ofMillis(Long.parseLong(options.getOrDefault("latencyMs", "1000"))),
+                Integer.parseInt(options.getOrDefault("threads", "200")),
+                Integer.parseInt(options.getOrDefault("catalog", "10000")),
+                Integer.parseInt(options.getOrDefault("loaderConcurrency", "32")),
+                Integer.parseInt(options.getOrDefault("detailConcurrency", "2048")));
+
+        System.out.printf("%,d req/s por %d s, %.0f%% com filtro, API externa com %d ms, catálogo de %,d (latências em ms)%n",
+                settings.rate, settings.seconds, settings.filtered * 100, settings.latency.toMillis(), settings.catalog);
+        System.out.printf("%-9s %12s %6s %20s %20s %20s %10s %10s%n", "modo", "concluídas/s", "erros",
+                "frio (p50 / p99)", "simples (p50 / p99)", "filtro (p50 / p99)", "threads", "simultâneas");
+        for (String run : mode.equals("both") ? List.of("platform", "virtual") : List.of(mode)) {
+            run(run, settings);
+        }
+    }
+
+    private static void run(String mode, Settings settings) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        PokemonCache.getInstance().clearCache();
+        try (SlowUpstream upstream = new SlowUpstream(settings.catalog, settings.latency)) {
+            PokemonMetrics metrics = new PokemonMetrics();
+            PokeApiClient client = new PokeApiClient(upstream.getBaseUrl(), Duration.ofSeconds(5), Duration.ofSeconds(60), 1,
+                    Duration.ZERO, Duration.ZERO, new CircuitBreaker(Integer.MAX_VALUE, Duration.ofSeconds(1), Clock.systemUTC()), metrics);
+            PokemonDetailService detailService = new PokemonDetailService(client, new PokemonDetailCache(settings.catalog),
+                    settings.detailConcurrency, 64, metrics);
+            PokemonService service = new PokemonService(new PokemonPageLoader(client, settings.loaderConcurrency, metrics),
+                    new QueryResultCache(), metrics, detailService);
+
+            ExecutorService executor = mode.equals("virtual")
+                    ? Executors.newVirtualThreadPerTaskExecutor()
+                    : new ThreadPoolExecutor(settings.threads, settings.threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+            int total = settings.rate * settings.seconds;
+            // Latências por grupo: requisições que chegaram com o catálogo ainda frio, simples e com filtro.
+            long[][] latencies = new long[3][total];
+            AtomicInteger[] counts = {new AtomicInteger(), new AtomicInteger(), new AtomicInteger()};
+            AtomicInteger errors = new AtomicInteger();
+            AtomicInteger inFlight = new AtomicInteger();
+            AtomicInteger maxInFlight = new AtomicInteger();
+            AtomicLong completedInWindow = new AtomicLong();
+
+            Random random = new Random(42);
+            threads.resetPeakThreadCount();
+            long start = System.nanoTime();
+            long window = TimeUnit.SECONDS.toNanos(settings.seconds);
+            long interval = TimeUnit.SECONDS.toNanos(1) / settings.rate;
+            for (int i = 0; i < total; i++) {
+                long scheduled = start + i * interval;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0)
+                    LockSupport.parkNanos(wait);
+                boolean filtered = random.nextDouble() < settings.filtered;
+                // Nomes de 4 dígitos: cada um corresponde a um único Pokémon, quase sempre ainda sem detalhes.
+                String query = filtered ? "pokemon-" + (1000 + random.nextInt(Math.min(9000, settings.catalog - 1000))) : "pokemon-" + (1 + random.nextInt(99));
+                int group = PokemonCache.getInstance().getSnapshot().getVersion() == 0 ? COLD : filtered ? FILTERED : PLAIN;
+                executor.execute(() -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    try {
+                        service.getPokemons(query, "name", 20, null, null, filtered ? "fire" : null, null);
+                    } catch (RuntimeException e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        inFlight.decrementAndGet();
+                        long end = System.nanoTime();
+                        if (end - start <= window)
+                            completedInWindow.incrementAndGet();
+                        latencies[group][counts[group].getAndIncrement()] = end - scheduled;
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.MINUTES);
+            detailService.close();
+
+            String[] summaries = new String[3];
+            for (int group = 0; group < 3; group++) {
+                long[] values = Arrays.copyOf(latencies[group], counts[group].get());
+                summaries[group] = millis(percentile(values, 0.50)) + " / " + millis(percentile(values, 0.99));
+            }
+            System.out.printf("%-9s %12.0f %6d %20s %20s %20s %10d %10d%n", mode, completedInWindow.get() / (double) settings.seconds,
+                    errors.get(), summaries[COLD], summaries[PLAIN], summaries[FILTERED], threads.getPeakThreadCount(), maxInFlight.get());
+        } finally {
+            PokemonCache.getInstance().clearCache();
+        }
+    }
+
+    private static long percentile(long[] values, double quantile) {
+        if (values.length == 0)
+            return 0;
+        Arrays.sort(values);
+        return values[Math.min(values.length - 1, (int) Math.ceil(quantile * values.length) - 1)];
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%,d", TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    private static final class Settings {
+        final int rate;
+        final int seconds;
+        final double filtered;
+        final Duration latency;
+        final int threads;
+        final int catalog;
+        final int loaderConcurrency;
+        final int detailConcurrency;
+
+        Settings(int rate, int seconds, double filtered, Duration latency, int threads, int catalog,
+                 int loaderConcurrency, int detailConcurrency) {
+            this.rate = rate;
+            this.seconds = seconds;
+            this.filtered = filtered;
+            this.latency = latency;
+            this.threads = threads;
+            this.catalog = catalog;
+            this.loaderConcurrency = loaderConcurrency;
+            this.detailConcurrency = detailConcurrency;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.gilliard.pokemon.benchmark;
+
+import com.gilliard.pokemon.cache.CatalogSnapshot;
+import com.gilliard.pokemon.cache.PokemonCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Varredura do catálogo por consultas curtas (1 ou 2 caracteres, que o índice de trigramas não atende):
+ * <ul>
+ *     <li>{@code toLowerCaseContains}: o filtro original ({@code isValidResult}), que converte cada nome para
+ *     minúsculas e chama {@code contains};</li>
+ *     <li>{@code columnScan}: a varredura da coluna de nomes da fotografia, com o motor escolhido em {@code engine}
+ *     ({@code vector}, com {@code jdk.incubator.vector}, ou {@code scalar}).</li>
+ * </ul>
+ * O motor vetorial exige {@code --add-modules jdk.incubator.vector}, já incluído em {@code jvmArgs} no build.gradle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VectorScanBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    @Param({"a", "ch", "-y"})
+    public String query;
+
+    @Param({"vector", "scalar"})
+    public String engine;
+
+    private String[] names;
+    private CatalogSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> catalog = SyntheticCatalog.names(size);
+        names = catalog.toArray(new String[0]);
+        // O motor é escolhido quando a fotografia é montada:
+        System.setProperty("pokemon.scan.vector", String.valueOf(engine.equals("vector")));
+        PokemonCache.getInstance().clearCache();
+        snapshot = PokemonCache.getInstance().publish(SyntheticCatalog.pokemons(size));
+        System.clearProperty("pokemon.scan.vector");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        PokemonCache.getInstance().clearCache();
+    }
+
+    @Benchmark
+    public int[] toLowerCaseContains() {
+        int[] matches = new int[names.length];
+        int matchCount = 0;
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].toLowerCase().contains(query))
+                matches[matchCount++] = i;
+        }
+        return Arrays.copyOf(matches, matchCount);
+    }
+
+    @Benchmark
+    public int[] columnScan() {
+        return snapshot.search(query);
+    }
+}
@@ -0,0 +1,257 @@
+package com.gilliard.pokemon.loadtest;
+
+import com.gilliard.pokemon.PokemonApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga reproduzível, sem rede: sobe a aplicação (Spring Boot, porta aleatória) apontando para um
+ * {@link StubPokeApiServer} local e dispara requisições misturadas em {@code /pokemons} e {@code /pokemons/highlight}
+ * ({@link TrafficMix}).<br>
+ *
+ * São duas fases, cada uma com {@code concurrency} clientes em laço fechado (cada cliente envia a próxima requisição
+ * assim que recebe a resposta anterior):
+ * <ul>
+ *     <li>{@code cold}: começa com a aplicação recém-iniciada, sem catálogo, sem resultados em cache e sem respostas
+ *     pré-serializadas; as primeiras requisições esperam a carga do catálogo pela API simulada;</li>
+ *     <li>{@code warm}: logo em seguida, com as caches já preenchidas pelas consultas mais populares.</li>
+ * </ul>
+ * Para cada fase são informadas a vazão e as latências p50, p99 e p999 (de todas as requisições e por endpoint). Erros
+ * são respostas com status 4xx/5xx ou falhas de conexão.<br>
+ *
+ * Uso: {@code ./gradlew loadTest -Ploadtest.args="catalog=1300 latencyMs=100 errorRate=0.01"}. Opções (chave=valor):
+ * <ul>
+ *     <li>{@code catalog} (1300): tamanho do catálogo da API simulada;</li>
+ *     <li>{@code latencyMs} (100) e {@code jitterMs} (50): latência de cada resposta da API simulada, mais uma variação
+ *     aleatória;</li>
+ *     <li>{@code errorRate} (0): fração das respostas da API simulada com status 503;</li>
+ *     <li>{@code concurrency} (64), {@code coldSeconds} (10) e {@code warmSeconds} (30): clientes e duração das fases;</li>
+ *     <li>{@code zipf} (1.0): expoente da popularidade dos nomes buscados;</li>
+ *     <li>{@code target}: URL de uma aplicação já em execução (por exemplo {@code http://localhost:8080}), em vez de
+ *     subir uma aqui; nesse caso a API simulada não é usada e a fase fria só é fria se a aplicação acabou de subir.</li>
+ * </ul>
+ * Argumentos iniciados por {@code --} são repassados para a aplicação, por exemplo
+ * {@code --spring.threads.virtual.enabled=false}.
+ */
+public final class LoadTestHarness {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private LoadTestHarness() {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.isBlank())
+                continue;
+            if (arg.startsWith("--")) {
+                applicationArgs.add(arg);
+                continue;
+            }
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+        int catalog = Integer.parseInt(options.getOrDefault("catalog", "1300"));
+        Duration latency = Duration.ofMillis(Long.parseLong(options.getOrDefault("latencyMs", "100")));
+        Duration jitter = Duration.ofMillis(Long.parseLong(options.getOrDefault("jitterMs", "50")));
+        double errorRate = Double.parseDouble(options.getOrDefault("errorRate", "0"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+        Duration coldPhase = Duration.ofSeconds(Long.parseLong(options.getOrDefault("coldSeconds", "10")));
+        Duration warmPhase = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmSeconds", "30")));
+        double zipf = Double.parseDouble(options.getOrDefault("zipf", "1.0"));
+        String target = options.get("target");
+
+        // Com target, a aplicação já usa a sua própria API externa; a API simulada só gera os mesmos nomes para as consultas.
+        StubPokeApiServer upstream = target == null ? new StubPokeApiServer(catalog, latency, jitter, errorRate) : null;
+        ConfigurableApplicationContext application = null;
+        try {
+            String baseUrl = target;
+            if (upstream != null) {
+                application = startApplication(upstream, applicationArgs);
+                baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+                System.out.printf("%nAPI simulada: %,d pokémons, latência %d ms (+ até %d ms), %.1f%% de erros%n",
+                        catalog, latency.toMillis(), jitter.toMillis(), errorRate * 100);
+            }
+            System.out.printf("Aplicação: %s, %d clientes, popularidade zipf %.2f%n%n", baseUrl, concurrency, zipf);
+
+            TrafficMix mix = new TrafficMix(upstream != null ? upstream.getNames() : StubPokeApiServer.names(catalog), zipf);
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            PhaseResult cold = runPhase(client, baseUrl, mix, concurrency, coldPhase, 1);
+            PhaseResult warm = runPhase(client, baseUrl, mix, concurrency, warmPhase, 2);
+            printHeader();
+            cold.print("cold");
+            warm.print("warm");
+            if (cold.firstSuccessNanos != Long.MAX_VALUE)
+                System.out.printf("%nPrimeira resposta bem-sucedida da fase fria (inclui a carga do catálogo): %,d ms%n",
+                        TimeUnit.NANOSECONDS.toMillis(cold.firstSuccessNanos));
+            if (upstream != null)
+                System.out.printf("Requisições à API simulada: %,d (%,d com erro injetado)%n",
+                        upstream.getRequestCount(), upstream.getInjectedErrorCount());
+        } finally {
+            if (application != null)
+                application.close();
+            if (upstream != null)
+                upstream.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(StubPokeApiServer upstream, List<String> applicationArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--pokemon.upstream.base-url=" + upstream.getBaseUrl(),
+                // Sem a fotografia em disco: a fase fria sempre começa com a carga pela API simulada.
+                "--pokemon.cache.snapshot.path=",
+                "--logging.level.root=WARN"));
+        // Repassados por último, para poderem substituir os valores acima:
+        args.addAll(applicationArgs);
+        return SpringApplication.run(PokemonApplication.class, args.toArray(new String[0]));
+    }
+
+    private static PhaseResult runPhase(HttpClient client, String baseUrl, TrafficMix mix, int concurrency,
+                                        Duration duration, long seed) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        List<Future<Samples>> clients = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < concurrency; c++) {
+                SplittableRandom random = new SplittableRandom(seed * 1_000_003 + c);
+                clients.add(executor.submit(() -> runClient(client, baseUrl, mix, random, start, deadline)));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        PhaseResult result = new PhaseResult(elapsed);
+        for (Future<Samples> future : clients) {
+            try {
+                result.add(future.get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Cliente do teste de carga falhou", e.getCause());
+            }
+        }
+        return result;
+    }
+
+    private static Samples runClient(HttpClient client, String baseUrl, TrafficMix mix, SplittableRandom random,
+                                     long phaseStart, long deadline) {
+        Samples samples = new Samples();
+        while (System.nanoTime() < deadline) {
+            TrafficMix.Request request = mix.next(random);
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + request.getPath()))
+                    .timeout(REQUEST_TIMEOUT)
+                    .GET();
+            if (request.isGzip())
+                builder.header("Accept-Encoding", "gzip");
+            long sent = System.nanoTime();
+            boolean error;
+            try {
+                HttpResponse<Void> response = client.send(builder.build(), HttpResponse.BodyHandlers.discarding());
+                error = response.statusCode() >= 400;
+            } catch (IOException e) {
+                error = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long received = System.nanoTime();
+            samples.add(request.getKind(), received - sent, error);
+            if (!error && samples.firstSuccessNanos < 0)
+                samples.firstSuccessNanos = received - phaseStart;
+        }
+        return samples;
+    }
+
+    private static void printHeader() {
+        System.out.printf("%-5s %-10s %10s %8s %10s %10s %10s %10s %10s%n",
+                "fase", "endpoint", "requisições", "erros", "req/s", "p50 (ms)", "p99 (ms)", "p999 (ms)", "máx (ms)");
+    }
+
+    /**
+     * Latências coletadas por um cliente, separadas por tipo de requisição.
+     */
+    private static final class Samples {
+        private final Map<TrafficMix.Kind, long[]> latencies = new EnumMap<>(TrafficMix.Kind.class);
+        private final Map<TrafficMix.Kind, Integer> counts = new EnumMap<>(TrafficMix.Kind.class);
+        private long errors;
+        private long firstSuccessNanos = -1;
+
+        void add(TrafficMix.Kind kind, long nanos, boolean error) {
+            long[] values = latencies.computeIfAbsent(kind, k -> new long[256]);
+            int count = counts.getOrDefault(kind, 0);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+                latencies.put(kind, values);
+            }
+            values[count] = nanos;
+            counts.put(kind, count + 1);
+            if (error)
+                errors++;
+        }
+    }
+
+    /**
+     * Resultado de uma fase: as latências de todos os clientes, agrupadas por endpoint.
+     */
+    private static final class PhaseResult {
+        private final long elapsedNanos;
+        private final Map<String, List<long[]>> byEndpoint = new LinkedHashMap<>();
+        private long errors;
+        private long firstSuccessNanos = Long.MAX_VALUE;
+
+        PhaseResult(long elapsedNanos) {
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        void add(Samples samples) {
+            for (Map.Entry<TrafficMix.Kind, long[]> entry : samples.latencies.entrySet()) {
+                long[] values = Arrays.copyOf(entry.getValue(), samples.counts.get(entry.getKey()));
+                byEndpoint.computeIfAbsent("total", k -> new ArrayList<>()).add(values);
+                byEndpoint.computeIfAbsent(entry.getKey().getEndpoint(), k -> new ArrayList<>()).add(values);
+            }
+            errors += samples.errors;
+            if (samples.firstSuccessNanos >= 0)
+                firstSuccessNanos = Math.min(firstSuccessNanos, samples.firstSuccessNanos);
+        }
+
+        void print(String phase) {
+            double seconds = elapsedNanos / 1e9;
+            for (Map.Entry<String, List<long[]>> entry : byEndpoint.entrySet()) {
+                long[] all = entry.getValue().stream().flatMapToLong(Arrays::stream).sorted().toArray();
+                System.out.printf("%-5s %-10s %10d %8s %10.0f %10.1f %10.1f %10.1f %10.1f%n", phase, entry.getKey(), all.length,
+                        entry.getKey().equals("total") ? String.valueOf(errors) : "", all.length / seconds,
+                        millis(percentile(all, 0.50)), millis(percentile(all, 0.99)), millis(percentile(all, 0.999)),
+                        millis(all.length == 0 ? 0 : all[all.length - 1]));
+            }
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0)
+                return 0;
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.gilliard.pokemon.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servidor HTTP local no lugar da PokeAPI, usado como {@code pokemon.upstream.base-url} nos testes de carga.<br>
+ *
+ * Responde a listagem paginada ({@code /pokemon?offset=&limit=}, com {@code count}, {@code next} e {@code results})
+ * e os documentos de detalhes ({@code /pokemon/{id}/}) de um catálogo gerado com o tamanho pedido. Os nomes combinam
+ * sílabas como os nomes reais, e são sempre os mesmos para o mesmo tamanho, de forma que duas execuções do teste de
+ * carga busquem as mesmas consultas.<br>
+ *
+ * Cada resposta espera a latência configurada mais uma variação aleatória entre zero e {@code jitter}; uma fração
+ * {@code errorRate} das requisições é respondida com 503, que o {@code PokeApiClient} trata como falha transitória.
+ */
+final class StubPokeApiServer implements AutoCloseable {
+    private static final String[] SYLLABLES = {
+            "pi", "ka", "chu", "char", "man", "der", "bul", "ba", "saur", "squir", "tle", "mew", "two", "eev", "ee",
+            "gar", "dos", "ma", "chop", "ra", "ti", "on", "dra", "go", "nite", "geo", "dude", "ab", "dab"
+    };
+    private static final String[] SUFFIXES = {"", "", "", "", "", "", "-mega", "-alola", "-galar", "-gmax"};
+    private static final String[] TYPES = {"normal", "fire", "water", "grass", "electric", "psychic", "rock", "ghost"};
+
+    private final HttpServer server;
+    private final List<String> names;
+    private final Duration latency;
+    private final Duration jitter;
+    private final double errorRate;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    /**
+     * @param catalogSize Quantidade de Pokémons do catálogo.
+     * @param latency Tempo mínimo de cada resposta.
+     * @param jitter Variação máxima somada à latência.
+     * @param errorRate Fração das requisições respondidas com 503 (entre 0 e 1).
+     */
+    StubPokeApiServer(int catalogSize, Duration latency, Duration jitter, double errorRate) {
+        if (errorRate < 0 || errorRate > 1)
+            throw new IllegalArgumentException("errorRate deve estar entre 0 e 1");
+        this.names = names(catalogSize);
+        this.latency = latency;
+        this.jitter = jitter;
+        this.errorRate = errorRate;
+        try {
+            // Backlog grande: a carga do catálogo abre várias conexões de uma vez.
+            this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.createContext("/api/v2/pokemon", this::handle);
+        // Uma thread virtual por requisição: a latência simulada não limita as requisições simultâneas.
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/api/v2";
+    }
+
+    /**
+     * Os nomes do catálogo, na ordem da listagem.
+     */
+    List<String> getNames() {
+        return names;
+    }
+
+    long getRequestCount() {
+        return requests.get();
+    }
+
+    long getInjectedErrorCount() {
+        return injectedErrors.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            if (!sleep())
+                return;
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrors.incrementAndGet();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            String id = exchange.getRequestURI().getPath().substring("/api/v2/pokemon".length()).replace("/", "");
+            byte[] body = id.isEmpty() ? page(exchange.getRequestURI().getQuery()) : detail(id);
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private boolean sleep() {
+        long delay = latency.toNanos() + (jitter.isZero() ? 0 : ThreadLocalRandom.current().nextLong(jitter.toNanos() + 1));
+        if (delay <= 0)
+            return true;
+        try {
+            Thread.sleep(Duration.ofNanos(delay));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private byte[] page(String query) {
+        int offset = intParam(query, "offset", 0);
+        int limit = intParam(query, "limit", 20);
+        int count = names.size();
+        StringBuilder json = new StringBuilder("{\"count\":").append(count).append(",\"next\":");
+        if (offset + limit < count)
+            json.append('"').append(getBaseUrl()).append("/pokemon?offset=").append(offset + limit).append("&limit=").append(limit).append('"');
+        else
+            json.append("null");
+        json.append(",\"previous\":null,\"results\":[");
+        for (int i = offset; i < Math.min(offset + limit, count); i++) {
+            json.append(i > offset ? "," : "").append("{\"name\":\"").append(names.get(i))
+                    .append("\",\"url\":\"https://pokeapi.co/api/v2/pokemon/").append(i + 1).append("/\"}");
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] detail(String idParam) {
+        int id;
+        try {
+            id = Integer.parseInt(idParam);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (id < 1 || id > names.size())
+            return null;
+        StringBuilder json = new StringBuilder("{\"id\":").append(id).append(",\"name\":\"").append(names.get(id - 1)).append("\",\"stats\":[");
+        String[] stats = {"hp", "attack", "defense", "special-attack", "special-defense", "speed"};
+        for (int i = 0; i < stats.length; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"base_stat\":").append(20 + (id * 31 + i * 17) % 130)
+                    .append(",\"effort\":0,\"stat\":{\"name\":\"").append(stats[i]).append("\",\"url\":\"\"}}");
+        }
+        json.append("],\"types\":[{\"slot\":1,\"type\":{\"name\":\"").append(TYPES[id % TYPES.length]).append("\",\"url\":\"\"}}]}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int intParam(String query, String name, int defaultValue) {
+        if (query == null)
+            return defaultValue;
+        for (String pair : query.split("&")) {
+            if (pair.startsWith(name + "="))
+                return Integer.parseInt(pair.substring(name.length() + 1));
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Os nomes do catálogo gerado com o tamanho informado, na ordem da listagem.
+     */
+    static List<String> names(int size) {
+        Random random = new Random(size);
+        List<String> names = new ArrayList<>(size);
+        Set<String> used = new HashSet<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            StringBuilder name = new StringBuilder();
+            int syllables = 2 + random.nextInt(3);
+            for (int s = 0; s < syllables; s++) {
+                name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            name.append(SUFFIXES[random.nextInt(SUFFIXES.length)]);
+            // Como no catálogo real, os nomes são distintos:
+            String unique = used.add(name.toString()) ? name.toString() : name + "-" + (i + 1);
+            used.add(unique);
+            names.add(unique);
+        }
+        return Collections.unmodifiableList(names);
+    }
+}
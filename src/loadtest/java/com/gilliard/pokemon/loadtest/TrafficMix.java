@@ -0,0 +1,159 @@
+package com.gilliard.pokemon.loadtest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Distribuição das requisições do teste de carga entre {@code /pokemons} e {@code /pokemons/highlight}.<br>
+ *
+ * As consultas imitam quem digita na caixa de busca: um Pokémon é sorteado com popularidade de Zipf (poucos nomes
+ * concentram a maior parte das buscas) e a consulta é um trecho do seu nome, quase sempre o começo, com 1 a 6
+ * caracteres (mais frequentes 3 e 4). Uma parte das requisições não tem consulta (a listagem completa) ou pede apenas
+ * a primeira página. Metade pede a resposta compactada com gzip.
+ */
+final class TrafficMix {
+
+    /**
+     * Tipos de requisição, com o peso de cada um na mistura.
+     */
+    enum Kind {
+        POKEMONS_QUERY("pokemons", 40),
+        POKEMONS_PAGE("pokemons", 10),
+        POKEMONS_ALL("pokemons", 10),
+        HIGHLIGHT_QUERY("highlight", 25),
+        HIGHLIGHT_OFFSETS("highlight", 10),
+        HIGHLIGHT_ALL("highlight", 5);
+
+        private final String endpoint;
+        private final int weight;
+
+        Kind(String endpoint, int weight) {
+            this.endpoint = endpoint;
+            this.weight = weight;
+        }
+
+        String getEndpoint() {
+            return endpoint;
+        }
+    }
+
+    // Tamanho da consulta (1 a 6 caracteres), com mais peso em 3 e 4:
+    private static final int[] QUERY_LENGTH_WEIGHTS = {5, 15, 30, 25, 15, 10};
+
+    private final List<String> names;
+    private final double[] popularity;
+    private final Kind[] kinds;
+    private final int totalWeight;
+
+    /**
+     * @param names Os nomes do catálogo.
+     * @param zipfExponent Expoente da popularidade (0 = todos os nomes igualmente buscados).
+     */
+    TrafficMix(List<String> names, double zipfExponent) {
+        List<String> ranked = new ArrayList<>(names);
+        // A popularidade não segue a ordem da listagem; a mesma semente mantém o ranking entre execuções:
+        Collections.shuffle(ranked, new Random(names.size()));
+        this.names = ranked;
+        this.popularity = new double[ranked.size()];
+        double sum = 0;
+        for (int rank = 0; rank < ranked.size(); rank++) {
+            sum += 1 / Math.pow(rank + 1, zipfExponent);
+            popularity[rank] = sum;
+        }
+        for (int rank = 0; rank < popularity.length; rank++) {
+            popularity[rank] /= sum;
+        }
+        this.kinds = Kind.values();
+        int weights = 0;
+        for (Kind kind : kinds) {
+            weights += kind.weight;
+        }
+        this.totalWeight = weights;
+    }
+
+    /**
+     * Sorteia a próxima requisição.
+     */
+    Request next(SplittableRandom random) {
+        int pick = random.nextInt(totalWeight);
+        Kind kind = kinds[0];
+        for (Kind candidate : kinds) {
+            if (pick < candidate.weight) {
+                kind = candidate;
+                break;
+            }
+            pick -= candidate.weight;
+        }
+        String sort = random.nextInt(5) == 0 ? "&sort=length" : "";
+        String path = switch (kind) {
+            case POKEMONS_QUERY -> "/pokemons?query=" + query(random) + sort;
+            case POKEMONS_PAGE -> "/pokemons?query=" + query(random) + "&limit=20" + sort;
+            case POKEMONS_ALL -> "/pokemons?" + sort;
+            case HIGHLIGHT_QUERY -> "/pokemons/highlight?query=" + query(random) + sort;
+            case HIGHLIGHT_OFFSETS -> "/pokemons/highlight?format=offsets&query=" + query(random) + sort;
+            case HIGHLIGHT_ALL -> "/pokemons/highlight?" + sort;
+        };
+        return new Request(kind, path, random.nextBoolean());
+    }
+
+    private String query(SplittableRandom random) {
+        String name = names.get(rank(random.nextDouble()));
+        int length = 1;
+        for (int pick = random.nextInt(100), i = 0; i < QUERY_LENGTH_WEIGHTS.length; i++) {
+            if (pick < QUERY_LENGTH_WEIGHTS[i]) {
+                length = i + 1;
+                break;
+            }
+            pick -= QUERY_LENGTH_WEIGHTS[i];
+        }
+        length = Math.min(length, name.length());
+        // Na maioria das vezes o começo do nome; às vezes um trecho do meio ("saur", "chu"):
+        int from = random.nextInt(4) == 0 ? random.nextInt(name.length() - length + 1) : 0;
+        return URLEncoder.encode(name.substring(from, from + length), StandardCharsets.UTF_8);
+    }
+
+    private int rank(double uniform) {
+        int low = 0;
+        int high = popularity.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (popularity[mid] < uniform)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Uma requisição sorteada: o caminho (com a query string) e se pede gzip.
+     */
+    static final class Request {
+        private final Kind kind;
+        private final String path;
+        private final boolean gzip;
+
+        Request(Kind kind, String path, boolean gzip) {
+            this.kind = kind;
+            this.path = path;
+            this.gzip = gzip;
+        }
+
+        Kind getKind() {
+            return kind;
+        }
+
+        String getPath() {
+            return path;
+        }
+
+        boolean isGzip() {
+            return gzip;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.gilliard.pokemon.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Busca de uma sequência de bytes dentro de um trecho de um array, usada na varredura da coluna de nomes do
+ * {@link ColumnarCatalog} (consultas curtas, que o índice de trigramas não atende).<br>
+ *
+ * Há duas implementações: {@link VectorByteScanner}, com a API de vetores do JDK ({@code jdk.incubator.vector}), e
+ * {@link ScalarByteScanner}, byte a byte. A vetorial é carregada por reflexão e só é usada quando o módulo da
+ * incubadora foi habilitado na JVM ({@code --add-modules jdk.incubator.vector}); caso contrário, ou com
+ * {@code -Dpokemon.scan.vector=false}, a escalar é usada. As duas retornam sempre o mesmo resultado.
+ */
+abstract class ByteScanner {
+    static final String VECTOR_PROPERTY = "pokemon.scan.vector";
+
+    private static final Logger log = LoggerFactory.getLogger(ByteScanner.class);
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final ByteScanner VECTOR = loadVector();
+
+    /**
+     * Implementação a usar: a vetorial, se disponível e não desligada pela propriedade {@value #VECTOR_PROPERTY}.
+     */
+    static ByteScanner preferred() {
+        if (VECTOR != null && Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, "true")))
+            return VECTOR;
+        return ScalarByteScanner.INSTANCE;
+    }
+
+    /**
+     * Primeira ocorrência de {@code query} que começa e termina dentro de {@code text[from, end)}.
+     *
+     * @param query Sequência procurada, com pelo menos um byte.
+     * @return A posição da ocorrência em {@code text}, ou -1.
+     */
+    abstract int indexOf(byte[] text, int from, int end, byte[] query);
+
+    static boolean matchesAt(byte[] text, int at, byte[] query) {
+        for (int j = 1; j < query.length; j++) {
+            if (text[at + j] != query[j])
+                return false;
+        }
+        return true;
+    }
+
+    private static ByteScanner loadVector() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            log.info("Módulo {} não habilitado; a varredura de nomes será escalar", VECTOR_MODULE);
+            return null;
+        }
+        try {
+            ByteScanner scanner = (ByteScanner) Class.forName(ByteScanner.class.getPackageName() + ".VectorByteScanner")
+                    .getDeclaredConstructor().newInstance();
+            log.info("Varredura de nomes vetorial habilitada ({} bytes por comparação)", ((VectorByteScanner) scanner).lanes());
+            return scanner;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Não foi possível carregar a varredura vetorial; a escalar será usada", e);
+            return null;
+        }
+    }
+}
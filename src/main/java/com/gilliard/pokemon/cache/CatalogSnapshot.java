@@ -0,0 +1,273 @@
+package com.gilliard.pokemon.cache;
+
+import com.gilliard.pokemon.model.Pokemon;
+import com.gilliard.pokemon.model.SortType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Fotografia imutável do catálogo de Pokémons.<br>
+ *
+ * Uma vez publicada pela {@link PokemonCache}, nunca é alterada: leitores concorrentes sempre enxergam uma lista
+ * completa e consistente, e uma nova carga apenas substitui a referência para a fotografia atual.<br>
+ *
+ * Os índices de busca e as ordens de cada {@link SortType} são construídos junto com a fotografia, de forma que toda
+ * nova carga já os publica atualizados e as requisições não precisam ordenar o catálogo novamente. A exceção é o
+ * {@link DetailIndex}, preenchido sob demanda.<br>
+ *
+ * Os registros ficam em colunas ({@link ColumnarCatalog}): os nomes em um único array de bytes, os IDs em um array de
+ * inteiros e as URLs derivadas do ID. Busca, ordenação e destaque trabalham sobre as colunas e as posições; os objetos
+ * {@link Pokemon} e os nomes são criados apenas para os resultados devolvidos.
+ */
+public final class CatalogSnapshot {
+    private static final CatalogSnapshot EMPTY = new CatalogSnapshot(0, Instant.EPOCH, List.of());
+
+    private final long version;
+    private final Instant loadedAt;
+    private final ColumnarCatalog columns;
+    private final List<Pokemon> pokemons;
+    private final TrigramIndex trigramIndex;
+    private final PrefixIndex prefixIndex;
+    private final Map<SortType, SortOrder> sortOrders = new EnumMap<>(SortType.class);
+    // Criado na primeira busca com filtro de detalhes; preenchido aos poucos, conforme os detalhes são buscados:
+    private volatile DetailIndex detailIndex;
+
+    CatalogSnapshot(long version, Instant loadedAt, List<Pokemon> pokemons) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.columns = new ColumnarCatalog(pokemons);
+        this.pokemons = new ColumnView(columns);
+        this.trigramIndex = new TrigramIndex(columns);
+        this.prefixIndex = new PrefixIndex(columns);
+        // As ordens são calculadas uma única vez, sobre os objetos recebidos; depois só as posições são guardadas.
+        for (SortType sortType : SortType.values()) {
+            sortOrders.put(sortType, new SortOrder(pokemons, sortType.getComparator()));
+        }
+    }
+
+    static CatalogSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Versão da fotografia. Cada publicação na cache gera uma versão maior que a anterior.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Momento em que os dados desta fotografia foram carregados.
+     */
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * Os Pokémons da fotografia, como uma lista imutável que cria cada objeto ao ser acessado.
+     */
+    public List<Pokemon> getPokemons() {
+        return pokemons;
+    }
+
+    /**
+     * Cria o Pokémon da posição informada a partir das colunas. Quando apenas um campo é necessário, prefira
+     * {@link #getName(int)} ou {@link #getId(int)}.
+     */
+    public Pokemon get(int index) {
+        return columns.get(index);
+    }
+
+    public String getName(int index) {
+        return columns.name(index);
+    }
+
+    public String getId(int index) {
+        return columns.id(index);
+    }
+
+    public int size() {
+        return columns.size();
+    }
+
+    public boolean isEmpty() {
+        return columns.size() == 0;
+    }
+
+    /**
+     * Nome do Pokémon na posição informada, já convertido para minúsculas.
+     */
+    public String getLowerName(int index) {
+        return columns.lowerName(index);
+    }
+
+    /**
+     * Estimativa, em bytes, do espaço ocupado pelas colunas de registros (sem os índices).
+     */
+    public long getColumnsFootprint() {
+        return columns.footprintBytes();
+    }
+
+    /**
+     * Índice dos detalhes (tipos e atributos) dos Pokémons desta fotografia. Diferente dos demais índices, não é
+     * montado junto com a fotografia: começa vazio e é preenchido à medida que os detalhes são buscados na API externa.
+     */
+    public DetailIndex getDetailIndex() {
+        DetailIndex index = detailIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = detailIndex;
+                if (index == null) {
+                    index = new DetailIndex(columns.size());
+                    detailIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Busca os Pokémons cujo nome contém a consulta, ignorando maiúsculas e minúsculas.
+     *
+     * @param caseInsensitiveQuery Consulta já normalizada com {@code trim().toLowerCase()}.
+     * @return As posições (em ordem crescente) dos Pokémons encontrados nesta fotografia.
+     */
+    public int[] search(String caseInsensitiveQuery) {
+        return trigramIndex.search(caseInsensitiveQuery);
+    }
+
+    /**
+     * Encontra as ocorrências da consulta no nome da posição informada, ignorando maiúsculas e minúsculas, com o
+     * mesmo resultado de {@link com.gilliard.pokemon.utils.StringUtils#findMatchSpans(String, String, String, int)}
+     * mas sem criar o nome em minúsculas quando o catálogo é ASCII.
+     *
+     * @param caseInsensitiveQuery Consulta já normalizada com {@code trim().toLowerCase()}.
+     * @param maxMatches Quantidade máxima de ocorrências procuradas.
+     * @return Os intervalos encontrados, em pares {@code início, fim} (fim exclusivo), em caracteres do nome.
+     */
+    public int[] findMatchSpans(int index, String caseInsensitiveQuery, int maxMatches) {
+        return columns.findMatchSpans(index, caseInsensitiveQuery, maxMatches);
+    }
+
+    /**
+     * Busca várias consultas de uma vez, com o mesmo resultado de chamar {@link #search(String)} para cada uma, mas
+     * percorrendo os nomes uma única vez (autômato de Aho–Corasick sobre as consultas).
+     *
+     * @param caseInsensitiveQueries Consultas já normalizadas com {@code trim().toLowerCase()}, não vazias.
+     * @return Para cada consulta (no mesmo índice), as posições em ordem crescente dos Pokémons encontrados.
+     */
+    public int[][] searchAll(List<String> caseInsensitiveQueries) {
+        byte[][] queries = new byte[caseInsensitiveQueries.size()][];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = caseInsensitiveQueries.get(i).getBytes(StandardCharsets.UTF_8);
+        }
+        return columns.scanAll(queries);
+    }
+
+    /**
+     * Busca os Pokémons cujo nome começa com o prefixo, ignorando maiúsculas e minúsculas.
+     *
+     * @param caseInsensitivePrefix Prefixo já normalizado com {@code trim().toLowerCase()}.
+     * @param limit Quantidade máxima de resultados.
+     * @return As posições dos primeiros Pokémons encontrados, em ordem alfabética dos nomes em minúsculas.
+     */
+    public int[] searchPrefix(String caseInsensitivePrefix, int limit) {
+        return prefixIndex.search(caseInsensitivePrefix, limit);
+    }
+
+    /**
+     * Quantidade de Pokémons cujo nome começa com o prefixo, ignorando maiúsculas e minúsculas.
+     */
+    public int countPrefix(String caseInsensitivePrefix) {
+        return prefixIndex.count(caseInsensitivePrefix);
+    }
+
+    /**
+     * Busca os Pokémons cujo nome está a no máximo {@code maxEdits} edições (distância de Levenshtein) da consulta,
+     * ignorando maiúsculas e minúsculas.
+     *
+     * @param caseInsensitiveQuery Consulta já normalizada com {@code trim().toLowerCase()}.
+     * @param maxEdits Distância máxima aceita.
+     * @param sortType Critério de desempate entre nomes à mesma distância.
+     * @return As posições encontradas, das mais próximas para as mais distantes da consulta.
+     */
+    public int[] searchFuzzy(String caseInsensitiveQuery, int maxEdits, SortType sortType) {
+        int[][] byDistance = prefixIndex.searchWithinEdits(caseInsensitiveQuery, maxEdits);
+        int total = 0;
+        for (int[] positions : byDistance) {
+            total += positions.length;
+        }
+        int[] matches = new int[total];
+        int k = 0;
+        for (int[] positions : byDistance) {
+            int[] sorted = sortOrders.get(sortType).sort(positions);
+            System.arraycopy(sorted, 0, matches, k, sorted.length);
+            k += sorted.length;
+        }
+        return matches;
+    }
+
+    /**
+     * Retorna todas as posições da fotografia na ordem do critério informado.
+     *
+     * @param sortType O critério de ordenação.
+     * @return As posições dos Pokémons, ordenadas.
+     */
+    public int[] sortedPositions(SortType sortType) {
+        return sortOrders.get(sortType).all();
+    }
+
+    /**
+     * Ordena um subconjunto de posições (por exemplo, o resultado de {@link #search(String)}) pelo critério informado,
+     * usando a ordem pré-calculada em vez de comparar Pokémons novamente.
+     *
+     * @param positions As posições a ordenar.
+     * @param sortType O critério de ordenação.
+     * @return As mesmas posições, ordenadas.
+     */
+    public int[] sortedPositions(int[] positions, SortType sortType) {
+        return sortOrders.get(sortType).sort(positions);
+    }
+
+    /**
+     * Retorna apenas uma página do resultado ordenado, sem ordenar o resultado inteiro.
+     *
+     * @param positions As posições encontradas pela busca, ou {@code null} para considerar o catálogo inteiro.
+     * @param sortType O critério de ordenação.
+     * @param from Quantidade de resultados a pular.
+     * @param count Quantidade máxima de resultados da página.
+     * @return As posições da página, ordenadas.
+     */
+    public int[] pagePositions(int[] positions, SortType sortType, int from, int count) {
+        SortOrder sortOrder = sortOrders.get(sortType);
+        return positions == null ? sortOrder.slice(from, count) : sortOrder.top(positions, from, count);
+    }
+
+    /**
+     * Visão de lista sobre as colunas, para quem precisa do catálogo como {@code List<Pokemon>} (persistência em
+     * disco, nova carga com um Pokémon a mais).
+     */
+    private static final class ColumnView extends AbstractList<Pokemon> implements RandomAccess {
+        private final ColumnarCatalog columns;
+
+        ColumnView(ColumnarCatalog columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public Pokemon get(int index) {
+            return columns.get(index);
+        }
+
+        @Override
+        public int size() {
+            return columns.size();
+        }
+    }
+}
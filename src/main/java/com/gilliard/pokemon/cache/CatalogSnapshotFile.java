@@ -0,0 +1,186 @@
+package com.gilliard.pokemon.cache;
+
+import com.gilliard.pokemon.model.Pokemon;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato binário versionado usado para persistir o catálogo em disco.<br>
+ *
+ * Estrutura do arquivo (big-endian):
+ * <pre>
+ *     int   magic ("PKCS")
+ *     int   versão do esquema
+ *     long  momento da carga (epoch millis)
+ *     int   quantidade de registros
+ *     int   tamanho do payload em bytes
+ *     long  CRC32C do payload
+ *     payload: para cada registro, id, nome e url como (unsigned short tamanho + bytes UTF-8)
+ * </pre>
+ * A leitura é feita por memory-mapping do arquivo. Qualquer divergência de magic, versão, tamanho ou checksum faz a
+ * leitura falhar com {@link InvalidSnapshotException}, para que o chamador volte a buscar o catálogo na API externa.
+ */
+public final class CatalogSnapshotFile {
+    static final int MAGIC = 0x504B4353;
+    static final int SCHEMA_VERSION = 1;
+    static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4 + 8;
+
+    private CatalogSnapshotFile() {}
+
+    /**
+     * Grava a fotografia no caminho informado. O arquivo é escrito em um temporário e movido atomicamente, de forma
+     * que um processo lendo o arquivo nunca encontre uma gravação pela metade.
+     *
+     * @param path Caminho de destino.
+     * @param snapshot Fotografia a ser persistida.
+     * @throws IOException Se a gravação falhar.
+     */
+    public static void write(Path path, CatalogSnapshot snapshot) throws IOException {
+        ByteBuffer payload = encodePayload(snapshot.getPokemons());
+        CRC32C checksum = new CRC32C();
+        checksum.update(payload.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC)
+                .putInt(SCHEMA_VERSION)
+                .putLong(snapshot.getLoadedAt().toEpochMilli())
+                .putInt(snapshot.size())
+                .putInt(payload.remaining())
+                .putLong(checksum.getValue())
+                .flip();
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (header.hasRemaining() || payload.hasRemaining()) {
+                    channel.write(new ByteBuffer[]{header, payload});
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Lê um catálogo previamente gravado por {@link #write(Path, CatalogSnapshot)}.
+     *
+     * @param path Caminho do arquivo.
+     * @return O catálogo lido, com o momento original da carga.
+     * @throws IOException Se o arquivo não puder ser lido.
+     * @throws InvalidSnapshotException Se o arquivo estiver corrompido ou em uma versão de esquema diferente.
+     */
+    public static StoredCatalog read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE)
+                throw new InvalidSnapshotException("tamanho de arquivo inválido: " + fileSize);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+
+            if (buffer.getInt() != MAGIC)
+                throw new InvalidSnapshotException("arquivo não é uma fotografia do catálogo");
+            int schemaVersion = buffer.getInt();
+            if (schemaVersion != SCHEMA_VERSION)
+                throw new InvalidSnapshotException("versão de esquema " + schemaVersion + " não suportada");
+            Instant loadedAt = Instant.ofEpochMilli(buffer.getLong());
+            int count = buffer.getInt();
+            int payloadSize = buffer.getInt();
+            long expectedChecksum = buffer.getLong();
+            if (count < 0 || payloadSize != fileSize - HEADER_SIZE)
+                throw new InvalidSnapshotException("cabeçalho inconsistente");
+
+            ByteBuffer payload = buffer.slice();
+            CRC32C checksum = new CRC32C();
+            checksum.update(payload.duplicate());
+            if (checksum.getValue() != expectedChecksum)
+                throw new InvalidSnapshotException("checksum inválido");
+
+            return new StoredCatalog(loadedAt, decodePayload(payload, count));
+        }
+    }
+
+    private static ByteBuffer encodePayload(List<Pokemon> pokemons) {
+        List<byte[]> fields = new ArrayList<>(pokemons.size() * 3);
+        int size = 0;
+        for (Pokemon pokemon : pokemons) {
+            for (String field : new String[]{pokemon.getId(), pokemon.getName(), pokemon.getUrl()}) {
+                byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > 0xFFFF)
+                    throw new IllegalArgumentException("campo muito longo para o formato: " + bytes.length + " bytes");
+                fields.add(bytes);
+                size += 2 + bytes.length;
+            }
+        }
+        ByteBuffer payload = ByteBuffer.allocate(size);
+        for (byte[] field : fields) {
+            payload.putShort((short) field.length).put(field);
+        }
+        return payload.flip();
+    }
+
+    private static List<Pokemon> decodePayload(ByteBuffer payload, int count) {
+        List<Pokemon> pokemons = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                pokemons.add(new Pokemon(readField(payload), readField(payload), readField(payload)));
+            }
+        } catch (RuntimeException e) {
+            throw new InvalidSnapshotException("payload inconsistente: " + e.getMessage());
+        }
+        if (payload.hasRemaining())
+            throw new InvalidSnapshotException("payload com bytes excedentes");
+        return pokemons;
+    }
+
+    private static String readField(ByteBuffer payload) {
+        int length = Short.toUnsignedInt(payload.getShort());
+        byte[] bytes = new byte[length];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Catálogo lido do disco, com o momento em que foi originalmente carregado da API externa.
+     */
+    public static final class StoredCatalog {
+        private final Instant loadedAt;
+        private final List<Pokemon> pokemons;
+
+        StoredCatalog(Instant loadedAt, List<Pokemon> pokemons) {
+            this.loadedAt = loadedAt;
+            this.pokemons = pokemons;
+        }
+
+        public Instant getLoadedAt() {
+            return loadedAt;
+        }
+
+        public List<Pokemon> getPokemons() {
+            return pokemons;
+        }
+    }
+
+    /**
+     * Indica que o arquivo existe, mas não pode ser usado (corrompido, truncado ou de outra versão de esquema).
+     */
+    public static class InvalidSnapshotException extends RuntimeException {
+        public InvalidSnapshotException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.gilliard.pokemon.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Persiste o catálogo da {@link PokemonCache} em disco e o restaura na inicialização.<br>
+ *
+ * Na subida da aplicação, se houver um arquivo válido e não muito antigo, o catálogo é publicado imediatamente na
+ * cache, sem consultar a API externa; a reconciliação com a origem fica a cargo da recarga periódica, que considera
+ * a idade original dos dados. Cada nova fotografia publicada é gravada de volta no disco. Um arquivo ausente,
+ * corrompido ou antigo demais é ignorado, e a primeira requisição volta a carregar o catálogo pela rede.<br>
+ *
+ * A gravação (com {@code fsync}) roda em uma thread própria, fora de {@link PokemonCache#publish}: a publicação em
+ * memória não espera o disco. Se várias fotografias forem publicadas durante uma gravação, só a mais recente é gravada
+ * em seguida.
+ */
+@Component
+public class CatalogSnapshotStore {
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotStore.class);
+
+    private final Path path;
+    private final Duration maxAge;
+    private final Consumer<CatalogSnapshot> persistListener = this::schedule;
+    private final ExecutorService writer =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("catalog-snapshot-writer").factory());
+    // Próxima fotografia a gravar; null quando não há gravação agendada:
+    private final AtomicReference<CatalogSnapshot> pending = new AtomicReference<>();
+
+    public CatalogSnapshotStore(@Value("${pokemon.cache.snapshot.path:}") String path,
+                                @Value("${pokemon.cache.snapshot.max-age:P7D}") Duration maxAge) {
+        this.path = path == null || path.isBlank() ? null : Path.of(path);
+        this.maxAge = maxAge;
+    }
+
+    @PostConstruct
+    public void restore() {
+        if (path == null)
+            return;
+        if (Files.exists(path)) {
+            try {
+                CatalogSnapshotFile.StoredCatalog stored = CatalogSnapshotFile.read(path);
+                Duration age = Duration.between(stored.getLoadedAt(), Instant.now());
+                if (age.compareTo(maxAge) > 0) {
+                    log.info("Fotografia do catálogo em {} ignorada: {} mais antiga que o limite de {}", path, age, maxAge);
+                } else if (!stored.getPokemons().isEmpty()) {
+                    PokemonCache.getInstance().publish(stored.getPokemons(), stored.getLoadedAt());
+                    log.info("Catálogo restaurado de {} com {} pokémons (carregado em {})", path, stored.getPokemons().size(), stored.getLoadedAt());
+                }
+            } catch (IOException | CatalogSnapshotFile.InvalidSnapshotException e) {
+                log.warn("Fotografia do catálogo em {} inválida, o catálogo será carregado pela API externa: {}", path, e.getMessage());
+            }
+        }
+        PokemonCache.getInstance().addListener(persistListener);
+    }
+
+    /**
+     * Para de acompanhar as publicações e aguarda a gravação em andamento (ou agendada) terminar.
+     */
+    @PreDestroy
+    public void detach() {
+        PokemonCache.getInstance().removeListener(persistListener);
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(30, TimeUnit.SECONDS))
+                log.warn("Gravação da fotografia do catálogo em {} não terminou a tempo", path);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void schedule(CatalogSnapshot snapshot) {
+        if (snapshot.isEmpty())
+            return;
+        if (pending.getAndSet(snapshot) == null)
+            writer.execute(this::savePending);
+    }
+
+    private void savePending() {
+        CatalogSnapshot snapshot = pending.getAndSet(null);
+        if (snapshot == null)
+            return;
+        try {
+            CatalogSnapshotFile.write(path, snapshot);
+        } catch (IOException | RuntimeException e) {
+            // Falhar ao gravar não deve impedir a publicação da fotografia em memória.
+            log.warn("Não foi possível gravar a fotografia do catálogo em {}", path, e);
+        }
+    }
+}
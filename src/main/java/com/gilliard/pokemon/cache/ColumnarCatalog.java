@@ -0,0 +1,319 @@
+package com.gilliard.pokemon.cache;
+
+import com.gilliard.pokemon.model.Pokemon;
+import com.gilliard.pokemon.utils.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.gilliard.pokemon.utils.MergeSortUtils.identity;
+
+/**
+ * Armazenamento em colunas dos registros de uma {@link CatalogSnapshot}.<br>
+ *
+ * Em vez de um objeto {@link Pokemon} (com três Strings) por registro, os nomes ficam em um único array de bytes
+ * (UTF-8) com um array de deslocamentos ({@code nome i = names[offsets[i], offsets[i + 1])}), os IDs em um
+ * {@code int[]} e as URLs são derivadas do ID a partir do padrão da primeira URL. Com isso um registro ocupa cerca do
+ * tamanho do nome mais 8 bytes, e as buscas varrem memória contígua em vez de visitar um objeto por nome.<br>
+ *
+ * Os nomes em minúsculas ficam em um segundo array apenas quando diferem dos originais; no catálogo da PokeAPI, todo
+ * em minúsculas, as duas colunas são o mesmo array. IDs não numéricos e URLs fora do padrão são guardados à parte,
+ * em mapas que normalmente ficam vazios. Os objetos {@link Pokemon} e as Strings são criados sob demanda.
+ */
+final class ColumnarCatalog {
+    private static final int[] NO_MATCHES = new int[0];
+    private static final int NO_ID = -1;
+
+    private final int size;
+    private final byte[] names;
+    private final int[] offsets;
+    private final byte[] lowerNames;
+    private final int[] lowerOffsets;
+    // Todos os nomes (originais e em minúsculas) são ASCII: posições em bytes e em caracteres coincidem.
+    private final boolean ascii;
+    private final int[] ids;
+    private final Map<Integer, String> irregularIds;
+    private final String urlPrefix;
+    private final String urlSuffix;
+    private final Map<Integer, String> irregularUrls;
+    private final ByteScanner scanner = ByteScanner.preferred();
+
+    ColumnarCatalog(List<Pokemon> pokemons) {
+        this.size = pokemons.size();
+        byte[][] encoded = new byte[size][];
+        byte[][] lowerEncoded = new byte[size][];
+        boolean lowerEqual = true;
+        boolean allAscii = true;
+        for (int i = 0; i < size; i++) {
+            String name = pokemons.get(i).getName();
+            String lowerName = name.toLowerCase();
+            encoded[i] = name.getBytes(StandardCharsets.UTF_8);
+            lowerEncoded[i] = lowerName == name ? encoded[i] : lowerName.getBytes(StandardCharsets.UTF_8);
+            lowerEqual &= Arrays.equals(encoded[i], lowerEncoded[i]);
+            allAscii &= isAscii(encoded[i]) && isAscii(lowerEncoded[i]);
+        }
+        this.offsets = new int[size + 1];
+        this.names = concat(encoded, offsets);
+        if (lowerEqual) {
+            this.lowerOffsets = offsets;
+            this.lowerNames = names;
+        } else {
+            this.lowerOffsets = new int[size + 1];
+            this.lowerNames = concat(lowerEncoded, lowerOffsets);
+        }
+        this.ascii = allAscii;
+
+        this.ids = new int[size];
+        Map<Integer, String> otherIds = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            String id = pokemons.get(i).getId();
+            ids[i] = parseId(id);
+            if (ids[i] == NO_ID)
+                otherIds.put(i, id);
+        }
+        this.irregularIds = otherIds.isEmpty() ? Map.of() : otherIds;
+
+        // O padrão das URLs vem do primeiro registro: tudo antes e depois do ID (ex.: ".../pokemon/" e "/").
+        String prefix = null, suffix = null;
+        if (size > 0 && ids[0] != NO_ID && pokemons.get(0).getUrl() != null) {
+            String url = pokemons.get(0).getUrl();
+            String id = pokemons.get(0).getId();
+            int at = url.lastIndexOf(id);
+            if (at >= 0) {
+                prefix = url.substring(0, at);
+                suffix = url.substring(at + id.length());
+            }
+        }
+        this.urlPrefix = prefix;
+        this.urlSuffix = suffix;
+        Map<Integer, String> otherUrls = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            String url = pokemons.get(i).getUrl();
+            if (url == null || !url.equals(url(i, prefix, suffix)))
+                otherUrls.put(i, url);
+        }
+        this.irregularUrls = otherUrls.isEmpty() ? Map.of() : otherUrls;
+    }
+
+    int size() {
+        return size;
+    }
+
+    Pokemon get(int index) {
+        return new Pokemon(id(index), name(index), url(index));
+    }
+
+    String name(int index) {
+        return new String(names, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.UTF_8);
+    }
+
+    String lowerName(int index) {
+        if (lowerNames == names)
+            return name(index);
+        return new String(lowerNames, lowerOffsets[index], lowerOffsets[index + 1] - lowerOffsets[index], StandardCharsets.UTF_8);
+    }
+
+    String id(int index) {
+        return ids[index] == NO_ID ? irregularIds.get(index) : Integer.toString(ids[index]);
+    }
+
+    String url(int index) {
+        if (!irregularUrls.isEmpty() && irregularUrls.containsKey(index))
+            return irregularUrls.get(index);
+        return url(index, urlPrefix, urlSuffix);
+    }
+
+    /**
+     * Tamanho, em bytes UTF-8, do nome em minúsculas (usado pelo índice de trigramas).
+     */
+    int lowerLength(int index) {
+        return lowerOffsets[index + 1] - lowerOffsets[index];
+    }
+
+    /**
+     * Byte {@code at} do nome em minúsculas na posição informada.
+     */
+    byte lowerByte(int index, int at) {
+        return lowerNames[lowerOffsets[index] + at];
+    }
+
+    /**
+     * Verifica se o nome em minúsculas contém a consulta (já codificada em UTF-8). Como o UTF-8 não permite que um
+     * caractere comece no meio de outro, conter os bytes da consulta equivale a conter a consulta.
+     */
+    boolean contains(int index, byte[] query) {
+        return ScalarByteScanner.INSTANCE.indexOf(lowerNames, lowerOffsets[index], lowerOffsets[index + 1], query) >= 0;
+    }
+
+    /**
+     * Retorna, em ordem crescente, as posições dos nomes em minúsculas que contêm a consulta.<br>
+     *
+     * A consulta é procurada no array inteiro, de uma vez (com o {@link ByteScanner} vetorial, quando disponível), e
+     * cada ocorrência é atribuída ao nome que a contém avançando nos deslocamentos; ocorrências que atravessam o fim de
+     * um nome são descartadas. Depois de uma ocorrência, a busca continua no nome seguinte.
+     *
+     * @param query Consulta em minúsculas, codificada em UTF-8.
+     */
+    int[] scan(byte[] query) {
+        if (query.length == 0)
+            return identity(size);
+        int[] matches = new int[8];
+        int matchCount = 0;
+        int end = lowerOffsets[size];
+        int position = 0;
+        int from = 0;
+        while (true) {
+            int at = scanner.indexOf(lowerNames, from, end, query);
+            if (at < 0)
+                break;
+            while (lowerOffsets[position + 1] <= at) {
+                position++;
+            }
+            int nameEnd = lowerOffsets[position + 1];
+            if (at + query.length <= nameEnd) {
+                if (matchCount == matches.length)
+                    matches = Arrays.copyOf(matches, matchCount * 2);
+                matches[matchCount++] = position;
+                from = nameEnd;
+            } else {
+                from = at + 1;
+            }
+        }
+        return matchCount == 0 ? NO_MATCHES : Arrays.copyOf(matches, matchCount);
+    }
+
+    /**
+     * Busca várias consultas em uma única passada pela coluna de nomes em minúsculas: cada nome é percorrido uma vez
+     * pelo {@link QueryAutomaton} das consultas, acumulando o bitmap das consultas reconhecidas, e no fim do nome ele
+     * entra no resultado de cada uma delas.
+     *
+     * @param queries Consultas em minúsculas, codificadas em UTF-8, com pelo menos um byte cada.
+     * @return Para cada consulta (no mesmo índice), as posições em ordem crescente dos nomes que a contêm.
+     */
+    int[][] scanAll(byte[][] queries) {
+        QueryAutomaton automaton = new QueryAutomaton(queries);
+        int words = automaton.words();
+        long[] found = new long[words];
+        int[][] matches = new int[queries.length][8];
+        int[] counts = new int[queries.length];
+        for (int position = 0; position < size; position++) {
+            int state = automaton.start();
+            int end = lowerOffsets[position + 1];
+            for (int at = lowerOffsets[position]; at < end; at++) {
+                state = automaton.step(state, lowerNames[at]);
+                for (int w = 0; w < words; w++) {
+                    found[w] |= automaton.mask(state, w);
+                }
+            }
+            for (int w = 0; w < words; w++) {
+                long bits = found[w];
+                found[w] = 0;
+                while (bits != 0) {
+                    int query = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (counts[query] == matches[query].length)
+                        matches[query] = Arrays.copyOf(matches[query], counts[query] * 2);
+                    matches[query][counts[query]++] = position;
+                }
+            }
+        }
+        for (int query = 0; query < queries.length; query++) {
+            matches[query] = Arrays.copyOf(matches[query], counts[query]);
+        }
+        return matches;
+    }
+
+    /**
+     * Encontra as ocorrências (sem sobreposição) da consulta no nome, com as mesmas regras de
+     * {@link StringUtils#findMatchSpans(String, String, String, int)}. Quando os nomes são
+     * ASCII, a busca é feita direto nos bytes da coluna, sem criar a String em minúsculas; caso contrário, as
+     * posições em bytes não valem como posições de caracteres e a busca é delegada ao StringUtils.
+     *
+     * @return Os intervalos, em pares {@code início, fim} (fim exclusivo), em caracteres do nome original.
+     */
+    int[] findMatchSpans(int index, String lowerQuery, int maxMatches) {
+        if (!ascii || !isAscii(lowerQuery))
+            return StringUtils.findMatchSpans(name(index), lowerName(index), lowerQuery, maxMatches);
+        int queryLength = lowerQuery.length();
+        if (queryLength == 0 || maxMatches <= 0)
+            return NO_MATCHES;
+        byte[] query = lowerQuery.getBytes(StandardCharsets.ISO_8859_1);
+        int start = lowerOffsets[index];
+        int end = lowerOffsets[index + 1];
+        int[] spans = NO_MATCHES;
+        int count = 0;
+        int from = start;
+        while (count < maxMatches) {
+            int at = ScalarByteScanner.INSTANCE.indexOf(lowerNames, from, end, query);
+            if (at < 0)
+                break;
+            if (2 * count + 2 > spans.length)
+                spans = Arrays.copyOf(spans, Math.max(4, spans.length * 2));
+            spans[2 * count] = at - start;
+            spans[2 * count + 1] = at - start + queryLength;
+            count++;
+            from = at + queryLength;
+        }
+        return 2 * count == spans.length ? spans : Arrays.copyOf(spans, 2 * count);
+    }
+
+    /**
+     * Estimativa do espaço ocupado pelas colunas, em bytes (arrays com cabeçalho de 16 bytes).
+     */
+    long footprintBytes() {
+        long bytes = 16L + names.length + 16L + 4L * offsets.length + 16L + 4L * ids.length;
+        if (lowerNames != names)
+            bytes += 16L + lowerNames.length + 16L + 4L * lowerOffsets.length;
+        return bytes;
+    }
+
+    private String url(int index, String prefix, String suffix) {
+        if (prefix == null || ids[index] == NO_ID)
+            return "";
+        return prefix + ids[index] + suffix;
+    }
+
+    // ID numérico que volta a ser a mesma String (sem zeros à esquerda nem sinal), ou NO_ID:
+    private static int parseId(String id) {
+        if (id == null || id.isEmpty() || id.length() > 9 || (id.length() > 1 && id.charAt(0) == '0'))
+            return NO_ID;
+        int value = 0;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9')
+                return NO_ID;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static byte[] concat(byte[][] parts, int[] offsets) {
+        for (int i = 0; i < parts.length; i++) {
+            offsets[i + 1] = offsets[i] + parts[i].length;
+        }
+        byte[] arena = new byte[offsets[parts.length]];
+        for (int i = 0; i < parts.length; i++) {
+            System.arraycopy(parts[i], 0, arena, offsets[i], parts[i].length);
+        }
+        return arena;
+    }
+
+    private static boolean isAscii(byte[] bytes) {
+        for (byte b : bytes) {
+            if (b < 0)
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80)
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,163 @@
+package com.gilliard.pokemon.cache;
+
+import com.gilliard.pokemon.model.PokemonDetail;
+import com.gilliard.pokemon.model.Stat;
+import com.gilliard.pokemon.model.StatRange;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Índice dos detalhes (tipos e atributos base) dos Pokémons de uma {@link CatalogSnapshot}, indexado pelas posições
+ * da fotografia.<br>
+ *
+ * Os detalhes são buscados sob demanda, então o índice é preenchido aos poucos: {@link #missing(int[])} informa quais
+ * posições ainda não foram enriquecidas. Cada tipo tem um {@link BitSet} com as posições dos Pokémons daquele tipo, de
+ * forma que o filtro por tipo é uma interseção de bitmaps, sem percorrer os detalhes. Os atributos ficam em colunas
+ * ({@code short} por posição), consultadas apenas para as posições que sobraram depois dos tipos.<br>
+ *
+ * As escritas chegam das buscas em andamento, detalhe a detalhe, enquanto outras requisições filtram; todos os
+ * acessos passam por um {@link ReentrantLock} e as consultas devolvem cópias.
+ */
+public final class DetailIndex {
+    private final int size;
+    private final BitSet known;
+    private final Map<String, BitSet> byType = new HashMap<>();
+    // [Stat.ordinal()][posição], com PokemonDetail.UNKNOWN_STAT quando o atributo não veio da API:
+    private final short[][] baseStats;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    DetailIndex(int size) {
+        this.size = size;
+        this.known = new BitSet(size);
+        this.baseStats = new short[Stat.values().length][size];
+        for (short[] column : baseStats) {
+            Arrays.fill(column, (short) PokemonDetail.UNKNOWN_STAT);
+        }
+    }
+
+    /**
+     * Retorna as posições, entre as candidatas, cujos detalhes ainda não estão no índice.
+     *
+     * @param candidates As posições a verificar, ou null para a fotografia inteira.
+     * @return As posições sem detalhes, em ordem crescente.
+     */
+    public int[] missing(int[] candidates) {
+        lock.lock();
+        try {
+            if (candidates == null) {
+                BitSet missing = (BitSet) known.clone();
+                missing.flip(0, size);
+                return missing.stream().toArray();
+            }
+            int[] missing = new int[candidates.length];
+            int count = 0;
+            for (int position : candidates) {
+                if (!known.get(position))
+                    missing[count++] = position;
+            }
+            return Arrays.copyOf(missing, count);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Acrescenta os detalhes de uma posição ao índice.
+     *
+     * @param position A posição na fotografia.
+     * @param detail Os detalhes da posição.
+     */
+    public void add(int position, PokemonDetail detail) {
+        lock.lock();
+        try {
+            addLocked(position, detail);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Acrescenta um lote de detalhes ao índice.
+     *
+     * @param positions As posições na fotografia.
+     * @param details Os detalhes de cada posição, na mesma ordem.
+     */
+    public void addAll(int[] positions, PokemonDetail[] details) {
+        lock.lock();
+        try {
+            for (int i = 0; i < positions.length; i++) {
+                addLocked(positions[i], details[i]);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void addLocked(int position, PokemonDetail detail) {
+        if (known.get(position))
+            return;
+        known.set(position);
+        for (String type : detail.getTypes()) {
+            byType.computeIfAbsent(type, t -> new BitSet(size)).set(position);
+        }
+        for (Stat stat : Stat.values()) {
+            baseStats[stat.ordinal()][position] = (short) detail.getBaseStat(stat);
+        }
+    }
+
+    /**
+     * Filtra as posições candidatas pelos tipos e pelos intervalos de atributos. Posições cujos detalhes não estão no
+     * índice nunca são retornadas; por isso, as candidatas devem ser enriquecidas antes.
+     *
+     * @param candidates As posições a filtrar, ou null para a fotografia inteira.
+     * @param types Tipos que o Pokémon deve ter (todos), em minúsculas.
+     * @param ranges Intervalos que os atributos do Pokémon devem respeitar (todos).
+     * @return As posições que atendem ao filtro, em ordem crescente.
+     */
+    public int[] filter(int[] candidates, List<String> types, List<StatRange> ranges) {
+        lock.lock();
+        try {
+            BitSet result = (BitSet) known.clone();
+            if (candidates != null) {
+                BitSet candidateBits = new BitSet(size);
+                for (int position : candidates) {
+                    candidateBits.set(position);
+                }
+                result.and(candidateBits);
+            }
+            for (String type : types) {
+                BitSet typeBits = byType.get(type);
+                if (typeBits == null)
+                    return new int[0];
+                result.and(typeBits);
+            }
+            for (StatRange range : ranges) {
+                short[] column = baseStats[range.getStat().ordinal()];
+                for (int position = result.nextSetBit(0); position >= 0; position = result.nextSetBit(position + 1)) {
+                    if (!range.contains(column[position]))
+                        result.clear(position);
+                }
+            }
+            return result.stream().toArray();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Quantidade de posições com detalhes no índice.
+     */
+    public int knownCount() {
+        lock.lock();
+        try {
+            return known.cardinality();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -2,37 +2,185 @@ package com.gilliard.pokemon.cache;
 
 import com.gilliard.pokemon.model.Pokemon;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class PokemonCache {
-    private static PokemonCache instance;
     /* Se não fôssemos verificar parte do nome dos pokémons no serviço, mas sim buscar pelo nome diretamente,
      seria mais vantajoso utilizar um Set aqui pela vantagem de look-up eficiente (O(1)), mas como o contains utilizado
      lá será O(n) sobre o tamanho de cada nome, List foi escolhido.
+     O catálogo é mantido em uma fotografia imutável (CatalogSnapshot) publicada atomicamente, de forma que
+     leitores nunca vejam uma lista parcialmente preenchida.
      */
-    private final List<Pokemon> cache = new ArrayList<>();
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>(CatalogSnapshot.empty());
+    // Fotografia anterior, mantida para que a paginação por cursor iniciada antes de uma recarga continue consistente:
+    private volatile CatalogSnapshot previousSnapshot = CatalogSnapshot.empty();
+    private final AtomicLong versionSequence = new AtomicLong();
+    // Carga em andamento, compartilhada por todos os chamadores enquanto não terminar (single-flight):
+    private final AtomicReference<CompletableFuture<CatalogSnapshot>> inFlightLoad = new AtomicReference<>();
+    private final List<Consumer<CatalogSnapshot>> listeners = new CopyOnWriteArrayList<>();
+    // Serializa as publicações, para que um addPokemon não descarte uma fotografia publicada entre a leitura e a troca:
+    private final ReentrantLock publishLock = new ReentrantLock();
 
     // Constructor privado para garantir que a instância só seja criada internamente:
     private PokemonCache() {}
 
+    /* Inicialização sob demanda pelo carregamento da classe Holder (feito uma única vez pela JVM, de forma segura entre
+     threads): getInstance é chamado em toda requisição e não precisa de synchronized, que prenderia a thread de
+     plataforma de cada thread virtual enquanto outra estivesse dentro do método.
+     */
+    private static final class Holder {
+        private static final PokemonCache INSTANCE = new PokemonCache();
+    }
+
     // Método para acessar a instância única do cache:
-    public static synchronized PokemonCache getInstance() {
-        if (instance == null) {
-            instance = new PokemonCache();
-        }
-        return instance;
+    public static PokemonCache getInstance() {
+        return Holder.INSTANCE;
     }
 
     // Métodos de manipulação do cache:
     public List<Pokemon> getCache() {
-        return cache;
+        return snapshot.get().getPokemons();
+    }
+    public CatalogSnapshot getSnapshot() {
+        return snapshot.get();
     }
+    public Optional<CatalogSnapshot> getSnapshot(long version) {
+        CatalogSnapshot current = snapshot.get();
+        if (current.getVersion() == version)
+            return Optional.of(current);
+        CatalogSnapshot previous = previousSnapshot;
+        return previous.getVersion() == version ? Optional.of(previous) : Optional.empty();
+    }
+    /**
+     * Publica uma nova fotografia com o Pokémon acrescentado ao catálogo atual, como em {@link #publish(List)}.<br>
+     *
+     * Cada chamada copia o catálogo e reconstrói os índices da fotografia (O(n)); para carregar vários Pokémons, monte
+     * a lista e use {@link #publish(List)} uma única vez.
+     */
     public void addPokemon(Pokemon pokemon) {
-        cache.add(pokemon);
+        publishLock.lock();
+        try {
+            List<Pokemon> pokemons = new ArrayList<>(snapshot.get().getPokemons());
+            pokemons.add(pokemon);
+            publish(pokemons);
+        } finally {
+            publishLock.unlock();
+        }
     }
     public void clearCache() {
-        cache.clear();
+        snapshot.set(CatalogSnapshot.empty());
+        previousSnapshot = CatalogSnapshot.empty();
+    }
+    public boolean isLoading() {
+        return inFlightLoad.get() != null;
+    }
+
+    /**
+     * Publica atomicamente um novo catálogo, substituindo a fotografia atual.
+     *
+     * @param pokemons O catálogo completo.
+     * @return A fotografia publicada.
+     */
+    public CatalogSnapshot publish(List<Pokemon> pokemons) {
+        return publish(pokemons, Instant.now());
+    }
+
+    /**
+     * Publica atomicamente um catálogo carregado anteriormente (por exemplo, lido do disco), preservando o momento
+     * original da carga para que a idade da fotografia continue correta.
+     *
+     * @param pokemons O catálogo completo.
+     * @param loadedAt Momento em que o catálogo foi carregado da origem.
+     * @return A fotografia publicada.
+     */
+    public CatalogSnapshot publish(List<Pokemon> pokemons, Instant loadedAt) {
+        publishLock.lock();
+        try {
+            CatalogSnapshot published = newSnapshot(pokemons, loadedAt);
+            previousSnapshot = snapshot.getAndSet(published);
+            listeners.forEach(listener -> listener.accept(published));
+            return published;
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * Registra uma função chamada a cada nova fotografia publicada.
+     */
+    public void addListener(Consumer<CatalogSnapshot> listener) {
+        listeners.add(listener);
+    }
+    public void removeListener(Consumer<CatalogSnapshot> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Retorna a fotografia atual, carregando o catálogo caso a cache esteja vazia.<br>
+     *
+     * Apenas um chamador executa o {@code loader}; os demais que chegarem durante a carga aguardam o mesmo resultado.
+     *
+     * @param loader Função que busca o catálogo completo na origem.
+     * @return A fotografia atual (não vazia, a menos que a origem não tenha registros).
+     */
+    public CatalogSnapshot getOrLoad(Supplier<List<Pokemon>> loader) {
+        CatalogSnapshot current = snapshot.get();
+        if (!current.isEmpty())
+            return current;
+        return await(load(loader, false));
+    }
+
+    /**
+     * Inicia (ou reaproveita) uma recarga do catálogo. Enquanto ela não termina, os leitores continuam recebendo a
+     * fotografia anterior.
+     *
+     * @param loader Função que busca o catálogo completo na origem.
+     * @return Um {@link CompletableFuture} concluído quando a nova fotografia for publicada.
+     */
+    public CompletableFuture<CatalogSnapshot> refresh(Supplier<List<Pokemon>> loader) {
+        return load(loader, true);
     }
-}
 
+    private CompletableFuture<CatalogSnapshot> load(Supplier<List<Pokemon>> loader, boolean force) {
+        CompletableFuture<CatalogSnapshot> ownLoad = new CompletableFuture<>();
+        CompletableFuture<CatalogSnapshot> runningLoad = inFlightLoad.compareAndExchange(null, ownLoad);
+        if (runningLoad != null)
+            return runningLoad;
+
+        try {
+            // Outra carga pode ter terminado entre a leitura da fotografia e a obtenção da vez:
+            CatalogSnapshot current = snapshot.get();
+            ownLoad.complete(!force && !current.isEmpty() ? current : publish(loader.get()));
+        } catch (Throwable e) {
+            ownLoad.completeExceptionally(e);
+        } finally {
+            inFlightLoad.set(null);
+        }
+        return ownLoad;
+    }
+
+    private CatalogSnapshot newSnapshot(List<Pokemon> pokemons, Instant loadedAt) {
+        return new CatalogSnapshot(versionSequence.incrementAndGet(), loadedAt, pokemons);
+    }
+
+    private static CatalogSnapshot await(CompletableFuture<CatalogSnapshot> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            throw e;
+        }
+    }
+}
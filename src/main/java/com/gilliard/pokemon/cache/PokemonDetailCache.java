@@ -0,0 +1,109 @@
+package com.gilliard.pokemon.cache;
+
+import com.gilliard.pokemon.dto.DetailCacheStatsDTO;
+import com.gilliard.pokemon.model.PokemonDetail;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache LRU dos detalhes de cada Pokémon ({@link PokemonDetail}), limitada pela quantidade de entradas e indexada pelo
+ * ID.<br>
+ *
+ * Diferente da {@link QueryResultCache}, as entradas não dependem da fotografia do catálogo: os detalhes de um
+ * Pokémon não mudam entre as cargas da listagem, então uma recarga não descarta o que já foi buscado.
+ */
+@Component
+public class PokemonDetailCache {
+    private final int maxEntries;
+    // accessOrder = true: a iteração começa pela entrada usada há mais tempo.
+    private final LinkedHashMap<String, PokemonDetail> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // ReentrantLock em vez de synchronized pelo mesmo motivo da QueryResultCache (threads virtuais):
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public PokemonDetailCache() {
+        this(2_000);
+    }
+
+    @Autowired
+    public PokemonDetailCache(@Value("${pokemon.detail-cache.max-entries:2000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Busca os detalhes guardados para o Pokémon.
+     *
+     * @param id O ID do Pokémon.
+     * @return Os detalhes guardados, ou null se não houver.
+     */
+    public PokemonDetail get(String id) {
+        lock.lock();
+        try {
+            PokemonDetail detail = entries.get(id);
+            if (detail == null)
+                misses++;
+            else
+                hits++;
+            return detail;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Guarda os detalhes de um Pokémon, removendo as entradas usadas há mais tempo até respeitar o limite.
+     */
+    public void put(PokemonDetail detail) {
+        lock.lock();
+        try {
+            entries.put(detail.getId(), detail);
+            Iterator<PokemonDetail> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retorna os contadores da cache: taxa de acerto e descartes.
+     */
+    public DetailCacheStatsDTO getStats() {
+        lock.lock();
+        try {
+            long lookups = hits + misses;
+            return new DetailCacheStatsDTO(entries.size(), maxEntries, hits, misses, lookups == 0 ? 0.0 : (double) hits / lookups, evictions);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
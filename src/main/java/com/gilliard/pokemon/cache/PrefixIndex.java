@@ -0,0 +1,217 @@
+package com.gilliard.pokemon.cache;
+
+import com.gilliard.pokemon.utils.MergeSortUtils;
+
+import java.util.Arrays;
+
+import static com.gilliard.pokemon.utils.MergeSortUtils.identity;
+
+/**
+ * Índice de prefixos sobre os nomes (já em minúsculas) de uma {@link CatalogSnapshot}.<br>
+ *
+ * Mantém as posições dos Pokémons em ordem lexicográfica dos nomes. Como todos os nomes com um mesmo prefixo ficam
+ * contíguos nessa ordem, uma busca encontra o início e o fim do intervalo com duas buscas binárias e copia apenas os
+ * primeiros resultados: O(log n + k), sem alocar nada além do array de resposta.<br>
+ *
+ * A mesma ordem é percorrida como uma trie implícita na busca tolerante a erros de digitação (ver
+ * {@link #searchWithinEdits(String, int)}). Os nomes são copiados, na ordem, para um único array de caracteres, junto
+ * com o tamanho do prefixo que cada nome compartilha com o anterior; as buscas binárias e a varredura leem esse array
+ * contíguo, e as Strings em minúsculas só existem durante a construção do índice.
+ */
+final class PrefixIndex {
+    private final int[] positions;
+    private final char[] sortedChars;
+    private final int[] nameStart;       // nome i ocupa sortedChars[nameStart[i], nameStart[i + 1])
+    private final int[] sharedPrefix;    // tamanho do prefixo comum entre os nomes i - 1 e i
+    private final int maxNameLength;
+
+    PrefixIndex(ColumnarCatalog columns) {
+        String[] lowerNames = new String[columns.size()];
+        for (int i = 0; i < lowerNames.length; i++) {
+            lowerNames[i] = columns.lowerName(i);
+        }
+        this.positions = identity(lowerNames.length);
+        // Estável: nomes iguais mantêm a ordem da cache.
+        MergeSortUtils.sort(positions, (a, b) -> lowerNames[a].compareTo(lowerNames[b]));
+        String[] sortedNames = new String[positions.length];
+        this.nameStart = new int[positions.length + 1];
+        this.sharedPrefix = new int[positions.length];
+        int longest = 0;
+        for (int i = 0; i < positions.length; i++) {
+            sortedNames[i] = lowerNames[positions[i]];
+            nameStart[i + 1] = nameStart[i] + sortedNames[i].length();
+            longest = Math.max(longest, sortedNames[i].length());
+            if (i > 0)
+                sharedPrefix[i] = commonPrefixLength(sortedNames[i - 1], sortedNames[i]);
+        }
+        this.maxNameLength = longest;
+        this.sortedChars = new char[nameStart[positions.length]];
+        for (int i = 0; i < positions.length; i++) {
+            sortedNames[i].getChars(0, sortedNames[i].length(), sortedChars, nameStart[i]);
+        }
+    }
+
+    /**
+     * Quantidade de nomes que começam com o prefixo.
+     */
+    int count(String caseInsensitivePrefix) {
+        int from = lowerBound(caseInsensitivePrefix);
+        return endOfPrefix(caseInsensitivePrefix, from) - from;
+    }
+
+    /**
+     * Retorna as posições dos primeiros nomes (em ordem lexicográfica) que começam com o prefixo.
+     *
+     * @param caseInsensitivePrefix Prefixo já normalizado com {@code trim().toLowerCase()}.
+     * @param limit Quantidade máxima de resultados.
+     * @return As posições encontradas, no máximo {@code limit}.
+     */
+    int[] search(String caseInsensitivePrefix, int limit) {
+        int from = lowerBound(caseInsensitivePrefix);
+        int to = endOfPrefix(caseInsensitivePrefix, from);
+        int count = Math.min(limit, to - from);
+        int[] matches = new int[count];
+        System.arraycopy(positions, from, matches, 0, count);
+        return matches;
+    }
+
+    /**
+     * Busca os nomes a no máximo {@code maxEdits} edições (inserção, remoção ou troca de um caractere) da consulta.<br>
+     *
+     * Percorre os nomes em ordem lexicográfica calculando, para cada caractere, uma linha da matriz de Levenshtein
+     * contra a consulta. Nomes consecutivos compartilham as linhas do prefixo comum, e quando todas as células de uma
+     * linha passam de {@code maxEdits} nenhum nome com aquele prefixo pode ser resultado: o intervalo inteiro é pulado
+     * consultando apenas os tamanhos de prefixo comum. Assim só são calculadas as linhas dos prefixos próximos da
+     * consulta, como em um autômato de Levenshtein aplicado ao conjunto ordenado de nomes.
+     *
+     * @param caseInsensitiveQuery Consulta já normalizada com {@code trim().toLowerCase()}.
+     * @param maxEdits Distância máxima aceita.
+     * @return As posições encontradas agrupadas por distância: o índice d do array contém as posições dos nomes a
+     * exatamente d edições da consulta.
+     */
+    int[][] searchWithinEdits(String caseInsensitiveQuery, int maxEdits) {
+        int columns = caseInsensitiveQuery.length() + 1;
+        int[][] rows = new int[maxNameLength + 1][columns];
+        for (int j = 0; j < columns; j++) {
+            rows[0][j] = j;
+        }
+        int[][] buckets = new int[maxEdits + 1][8];
+        int[] bucketSizes = new int[maxEdits + 1];
+
+        int validDepth = 0;
+        int i = 0;
+        while (i < positions.length) {
+            int start = nameStart[i];
+            int length = nameStart[i + 1] - start;
+            // As linhas do prefixo comum com o último nome visitado continuam valendo (os nomes pulados entre eles
+            // compartilham um prefixo ainda maior, então sharedPrefix[i] é o prefixo comum com o visitado):
+            int depth = Math.min(validDepth, sharedPrefix[i]);
+            boolean pruned = false;
+            while (depth < length) {
+                depth++;
+                if (!nextRow(rows[depth - 1], rows[depth], sortedChars[start + depth - 1], caseInsensitiveQuery, maxEdits)) {
+                    pruned = true;
+                    break;
+                }
+            }
+            validDepth = depth;
+            if (pruned) {
+                // Pula todos os nomes seguintes que começam com o mesmo prefixo de tamanho depth:
+                i++;
+                while (i < positions.length && sharedPrefix[i] >= depth) {
+                    i++;
+                }
+                continue;
+            }
+            int distance = rows[depth][columns - 1];
+            if (distance <= maxEdits) {
+                if (bucketSizes[distance] == buckets[distance].length)
+                    buckets[distance] = Arrays.copyOf(buckets[distance], bucketSizes[distance] * 2);
+                buckets[distance][bucketSizes[distance]++] = positions[i];
+            }
+            i++;
+        }
+
+        for (int d = 0; d <= maxEdits; d++) {
+            buckets[d] = Arrays.copyOf(buckets[d], bucketSizes[d]);
+        }
+        return buckets;
+    }
+
+    /**
+     * Calcula a linha da matriz de Levenshtein para o próximo caractere do nome.
+     *
+     * @return false se todas as células passaram de {@code maxEdits}.
+     */
+    private static boolean nextRow(int[] previous, int[] current, char c, String query, int maxEdits) {
+        current[0] = previous[0] + 1;
+        int min = current[0];
+        for (int j = 1; j < current.length; j++) {
+            int substitution = previous[j - 1] + (c == query.charAt(j - 1) ? 0 : 1);
+            current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            min = Math.min(min, current[j]);
+        }
+        return min <= maxEdits;
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    // Primeiro índice cujo nome não é menor que o prefixo:
+    private int lowerBound(String prefix) {
+        int low = 0, high = positions.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareTo(middle, prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // A partir de from, os nomes com o prefixo vêm primeiro; retorna o primeiro índice sem ele:
+    private int endOfPrefix(String prefix, int from) {
+        int low = from, high = positions.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (startsWith(middle, prefix)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // Mesma comparação de String#compareTo, entre o i-ésimo nome da ordem e o texto:
+    private int compareTo(int i, String text) {
+        int start = nameStart[i];
+        int length = nameStart[i + 1] - start;
+        int common = Math.min(length, text.length());
+        for (int k = 0; k < common; k++) {
+            char c = sortedChars[start + k];
+            if (c != text.charAt(k))
+                return c - text.charAt(k);
+        }
+        return length - text.length();
+    }
+
+    private boolean startsWith(int i, String prefix) {
+        int start = nameStart[i];
+        if (nameStart[i + 1] - start < prefix.length())
+            return false;
+        for (int k = 0; k < prefix.length(); k++) {
+            if (sortedChars[start + k] != prefix.charAt(k))
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,112 @@
+package com.gilliard.pokemon.cache;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+
+/**
+ * Autômato de Aho–Corasick sobre um conjunto de consultas (em bytes UTF-8, já em minúsculas), usado para encontrar
+ * todas as consultas de um lote em uma única passada pela coluna de nomes do {@link ColumnarCatalog}.<br>
+ *
+ * As transições são calculadas por completo (um DFA): cada byte do texto custa uma leitura na tabela, sem seguir
+ * links de falha durante a busca. Para a tabela ficar pequena, só os bytes que aparecem nas consultas têm coluna
+ * própria; todos os demais caem na coluna 0, que sempre volta para a raiz.<br>
+ *
+ * Cada estado guarda, como um bitmap de {@link #words()} palavras, as consultas que terminam nele, incluindo as
+ * herdadas pelos links de falha (consultas que são sufixo de outras). Quem percorre um nome acumula os bitmaps com
+ * OR, sem nenhum desvio por byte, e só no fim do nome visita as consultas encontradas; assim cada consulta entra no
+ * máximo uma vez por nome, mesmo que apareça várias vezes nele.
+ */
+final class QueryAutomaton {
+    private final int[] byteClass = new int[256];
+    private final int width;
+    private final int[] next;        // next[estado * width + classe]
+    private final long[] masks;      // masks[estado * words + palavra]: consultas reconhecidas ao chegar no estado
+    private final int words;
+
+    QueryAutomaton(byte[][] queries) {
+        this.words = (queries.length + 63) >>> 6;
+        int classes = 1;
+        int states = 1;
+        for (byte[] query : queries) {
+            for (byte b : query) {
+                if (byteClass[b & 0xFF] == 0)
+                    byteClass[b & 0xFF] = classes++;
+            }
+            states += query.length;
+        }
+        this.width = classes;
+
+        // Trie das consultas (-1 = sem transição ainda):
+        int[] trie = new int[states * width];
+        Arrays.fill(trie, -1);
+        long[] ends = new long[states * words];
+        int stateCount = 1;
+        for (int q = 0; q < queries.length; q++) {
+            int state = 0;
+            for (byte b : queries[q]) {
+                int slot = state * width + byteClass[b & 0xFF];
+                if (trie[slot] < 0)
+                    trie[slot] = stateCount++;
+                state = trie[slot];
+            }
+            ends[state * words + (q >>> 6)] |= 1L << q;
+        }
+
+        // Links de falha em largura, completando as transições que faltam com as do estado de falha:
+        this.next = Arrays.copyOf(trie, stateCount * width);
+        this.masks = Arrays.copyOf(ends, stateCount * words);
+        int[] fail = new int[stateCount];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < width; c++) {
+            if (c > 0 && next[c] > 0) {
+                fail[next[c]] = 0;
+                queue.add(next[c]);
+            } else {
+                next[c] = 0;
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int w = 0; w < words; w++) {
+                masks[state * words + w] |= masks[fail[state] * words + w];
+            }
+            for (int c = 0; c < width; c++) {
+                int slot = state * width + c;
+                int child = next[slot];
+                if (c > 0 && child > 0) {
+                    fail[child] = next[fail[state] * width + c];
+                    queue.add(child);
+                } else {
+                    next[slot] = next[fail[state] * width + c];
+                }
+            }
+        }
+    }
+
+    /**
+     * Quantidade de palavras de 64 bits do bitmap de consultas de cada estado.
+     */
+    int words() {
+        return words;
+    }
+
+    /**
+     * Estado inicial, usado no começo de cada nome.
+     */
+    int start() {
+        return 0;
+    }
+
+    int step(int state, byte b) {
+        return next[state * width + byteClass[b & 0xFF]];
+    }
+
+    /**
+     * Palavra {@code word} do bitmap das consultas que terminam no estado (bit {@code q % 64} da palavra
+     * {@code q / 64} para a consulta q).
+     */
+    long mask(int state, int word) {
+        return masks[state * words + word];
+    }
+}
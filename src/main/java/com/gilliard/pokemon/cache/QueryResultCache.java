@@ -0,0 +1,255 @@
+package com.gilliard.pokemon.cache;
+
+import com.gilliard.pokemon.dto.QueryCacheStatsDTO;
+import com.gilliard.pokemon.model.SortType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * Cache LRU dos resultados completos das buscas, limitada pela quantidade de entradas e pelo peso estimado em memória.<br>
+ *
+ * A chave é formada pelo endpoint, pela consulta já normalizada ({@code trim().toLowerCase()}, vazia quando ausente),
+ * pelo filtro de detalhes (tipos e atributos, vazio quando ausente) e pelo {@link SortType}. Cada entrada guarda a versão da {@link CatalogSnapshot} de onde o resultado foi calculado:
+ * quando uma nova fotografia é publicada, as entradas antigas deixam de valer e são descartadas de uma só vez na
+ * primeira consulta à nova versão.<br>
+ *
+ * Os resultados guardados são listas imutáveis, compartilhadas entre as requisições.
+ */
+@Component
+public class QueryResultCache {
+    // Estimativas usadas no peso de cada entrada (referência comprimida + cabeçalhos do nó do mapa, chave e lista):
+    private static final int REFERENCE_SIZE = 8;
+    private static final int ENTRY_OVERHEAD = 96;
+
+    /**
+     * Endpoints cujos resultados são guardados.
+     */
+    public enum Endpoint {
+        POKEMONS,
+        HIGHLIGHT,
+        HIGHLIGHT_OFFSETS
+    }
+
+    private final int maxEntries;
+    private final long maxWeightBytes;
+    // accessOrder = true: a iteração começa pela entrada usada há mais tempo.
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Consultada em toda requisição: com threads virtuais, um ReentrantLock disputado suspende a thread virtual em vez
+    // de prender a thread de plataforma que a executa, como acontece com synchronized até o JDK 23.
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long snapshotVersion = -1;
+    private long weightBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public QueryResultCache() {
+        this(1_000, 64L * 1024 * 1024);
+    }
+
+    @Autowired
+    public QueryResultCache(@Value("${pokemon.query-cache.max-entries:1000}") int maxEntries,
+                            @Value("${pokemon.query-cache.max-weight-bytes:67108864}") long maxWeightBytes) {
+        this.maxEntries = maxEntries;
+        this.maxWeightBytes = maxWeightBytes;
+    }
+
+    /**
+     * Busca o resultado guardado para a consulta, desde que calculado a partir da fotografia informada.
+     *
+     * @param endpoint O endpoint da requisição.
+     * @param caseInsensitiveQuery A consulta normalizada, ou null quando ausente.
+     * @param sortType O critério de ordenação.
+     * @param snapshotVersion A versão da fotografia usada pela requisição.
+     * @return O resultado guardado, ou null se não houver.
+     */
+    public <T> List<T> get(Endpoint endpoint, String caseInsensitiveQuery, SortType sortType, long snapshotVersion) {
+        return get(endpoint, caseInsensitiveQuery, null, sortType, snapshotVersion);
+    }
+
+    /**
+     * Busca o resultado guardado para a consulta com filtro de detalhes, desde que calculado a partir da fotografia
+     * informada.
+     *
+     * @param endpoint O endpoint da requisição.
+     * @param caseInsensitiveQuery A consulta normalizada, ou null quando ausente.
+     * @param filterKey A representação canônica do filtro de detalhes, ou null quando ausente.
+     * @param sortType O critério de ordenação.
+     * @param snapshotVersion A versão da fotografia usada pela requisição.
+     * @return O resultado guardado, ou null se não houver.
+     */
+    public <T> List<T> get(Endpoint endpoint, String caseInsensitiveQuery, String filterKey, SortType sortType,
+                           long snapshotVersion) {
+        lock.lock();
+        try {
+            invalidateIfStale(snapshotVersion);
+            Entry entry = entries.get(new Key(endpoint, caseInsensitiveQuery, filterKey, sortType));
+            if (entry == null || entry.snapshotVersion != snapshotVersion) {
+                misses++;
+                return null;
+            }
+            hits++;
+            @SuppressWarnings("unchecked")
+            List<T> result = (List<T>) entry.result;
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Guarda o resultado de uma consulta, removendo as entradas usadas há mais tempo até respeitar os limites.<br>
+     * Resultados de uma fotografia mais antiga que a atual da cache, ou maiores que o peso máximo, não são guardados.
+     *
+     * @param endpoint O endpoint da requisição.
+     * @param caseInsensitiveQuery A consulta normalizada, ou null quando ausente.
+     * @param sortType O critério de ordenação.
+     * @param snapshotVersion A versão da fotografia de onde o resultado foi calculado.
+     * @param result O resultado completo.
+     * @param weigher Estimativa, em bytes, do espaço ocupado por cada item do resultado.
+     * @return O resultado como lista imutável, pronta para ser compartilhada.
+     */
+    public <T> List<T> put(Endpoint endpoint, String caseInsensitiveQuery, SortType sortType, long snapshotVersion,
+                           List<T> result, ToLongFunction<? super T> weigher) {
+        return put(endpoint, caseInsensitiveQuery, null, sortType, snapshotVersion, result, weigher);
+    }
+
+    /**
+     * Equivalente a {@link #put(Endpoint, String, SortType, long, List, ToLongFunction)} para uma consulta com filtro
+     * de detalhes.
+     *
+     * @param filterKey A representação canônica do filtro de detalhes, ou null quando ausente.
+     */
+    public <T> List<T> put(Endpoint endpoint, String caseInsensitiveQuery, String filterKey, SortType sortType,
+                           long snapshotVersion, List<T> result, ToLongFunction<? super T> weigher) {
+        // A cópia e o peso não dependem do estado da cache: são calculados fora do lock.
+        List<T> immutable = List.copyOf(result);
+        Key key = new Key(endpoint, caseInsensitiveQuery, filterKey, sortType);
+        long weight = key.weight() + ENTRY_OVERHEAD + (long) REFERENCE_SIZE * immutable.size();
+        for (T item : immutable) {
+            weight += weigher.applyAsLong(item);
+        }
+        if (weight > maxWeightBytes)
+            return immutable;
+
+        lock.lock();
+        try {
+            invalidateIfStale(snapshotVersion);
+            if (snapshotVersion != this.snapshotVersion)
+                return immutable;
+
+            Entry previous = entries.put(key, new Entry(snapshotVersion, immutable, weight));
+            if (previous != null)
+                weightBytes -= previous.weight;
+            weightBytes += weight;
+
+            Iterator<Entry> eldest = entries.values().iterator();
+            while ((entries.size() > maxEntries || weightBytes > maxWeightBytes) && eldest.hasNext()) {
+                Entry evicted = eldest.next();
+                eldest.remove();
+                weightBytes -= evicted.weight;
+                evictions++;
+            }
+            return immutable;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+            weightBytes = 0;
+            snapshotVersion = -1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retorna os contadores da cache: taxa de acerto, descartes e peso estimado em memória.
+     */
+    public QueryCacheStatsDTO getStats() {
+        lock.lock();
+        try {
+            long lookups = hits + misses;
+            return new QueryCacheStatsDTO(entries.size(), maxEntries, weightBytes, maxWeightBytes, hits, misses,
+                    lookups == 0 ? 0.0 : (double) hits / lookups, evictions, invalidations);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Estimativa do espaço ocupado por uma String (cabeçalho, campos e array de bytes Latin-1).
+     */
+    public static long stringWeight(String value) {
+        return value == null ? 0 : 40 + value.length();
+    }
+
+    // Uma nova fotografia invalida todas as entradas calculadas a partir das anteriores:
+    private void invalidateIfStale(long version) {
+        if (version <= snapshotVersion)
+            return;
+        invalidations += entries.size();
+        entries.clear();
+        weightBytes = 0;
+        snapshotVersion = version;
+    }
+
+    private static final class Key {
+        private final Endpoint endpoint;
+        private final String query;
+        private final String filter;
+        private final SortType sortType;
+
+        Key(Endpoint endpoint, String query, String filter, SortType sortType) {
+            this.endpoint = endpoint;
+            this.query = query == null ? "" : query;
+            this.filter = filter == null ? "" : filter;
+            this.sortType = sortType;
+        }
+
+        long weight() {
+            return 40 + stringWeight(query) + (filter.isEmpty() ? 0 : stringWeight(filter));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Key))
+                return false;
+            Key other = (Key) o;
+            return endpoint == other.endpoint && sortType == other.sortType && query.equals(other.query) && filter.equals(other.filter);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(endpoint, query, filter, sortType);
+        }
+    }
+
+    private static final class Entry {
+        private final long snapshotVersion;
+        private final List<?> result;
+        private final long weight;
+
+        Entry(long snapshotVersion, List<?> result, long weight) {
+            this.snapshotVersion = snapshotVersion;
+            this.result = result;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.gilliard.pokemon.cache;
+
+import com.gilliard.pokemon.model.SortType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Respostas já serializadas das listagens que dependem apenas da fotografia do catálogo e do {@link SortType}
+ * (por exemplo {@code GET /pokemons} sem consulta nem filtros), em JSON e em JSON compactado com gzip.<br>
+ *
+ * Cada resposta é montada e serializada uma única vez por fotografia: requisições simultâneas pela mesma resposta
+ * aguardam a primeira serialização, e as seguintes escrevem os bytes prontos direto na resposta. A serialização roda
+ * fora do lock do mapa, então respostas diferentes são montadas em paralelo. Quando uma nova
+ * fotografia é publicada, todas as respostas da anterior são descartadas de uma vez na primeira requisição à nova
+ * versão.
+ */
+@Component
+public class RenderedResponseCache {
+
+    /**
+     * Listagens guardadas já serializadas.
+     */
+    public enum Endpoint {
+        POKEMONS,
+        HIGHLIGHT,
+        HIGHLIGHT_OFFSETS
+    }
+
+    /**
+     * Função que monta e serializa a resposta a partir da fotografia atual.
+     */
+    @FunctionalInterface
+    public interface Renderer {
+        byte[] render() throws IOException;
+    }
+
+    private final AtomicReference<Generation> generation = new AtomicReference<>(new Generation(-1));
+
+    /**
+     * Retorna a resposta da listagem para a fotografia informada, serializando-a se ainda não houver.
+     *
+     * @param endpoint A listagem.
+     * @param sortType O critério de ordenação.
+     * @param snapshotVersion A versão da fotografia usada pela requisição.
+     * @param renderer Serializa a resposta; chamado no máximo uma vez por listagem, ordenação e fotografia.
+     * @return A resposta serializada.
+     */
+    public RenderedResponse get(Endpoint endpoint, SortType sortType, long snapshotVersion, Renderer renderer) {
+        Generation current = generation.get();
+        while (current.version < snapshotVersion) {
+            Generation next = new Generation(snapshotVersion);
+            if (generation.compareAndSet(current, next)) {
+                current = next;
+            } else {
+                current = generation.get();
+            }
+        }
+        // Requisição ainda com uma fotografia anterior à atual: responde sem guardar.
+        if (current.version > snapshotVersion)
+            return render(renderer);
+
+        Key key = new Key(endpoint, sortType);
+        CompletableFuture<RenderedResponse> response = current.responses.get(key);
+        if (response == null) {
+            CompletableFuture<RenderedResponse> ownRender = new CompletableFuture<>();
+            response = current.responses.putIfAbsent(key, ownRender);
+            if (response == null) {
+                try {
+                    ownRender.complete(render(renderer));
+                } catch (Throwable e) {
+                    // Não guarda a falha: quem aguardava recebe o erro e a próxima requisição tenta de novo.
+                    current.responses.remove(key, ownRender);
+                    ownRender.completeExceptionally(e);
+                }
+                response = ownRender;
+            }
+        }
+        return await(response);
+    }
+
+    /**
+     * Quantidade de respostas guardadas para a fotografia mais recente.
+     */
+    public int size() {
+        return generation.get().responses.size();
+    }
+
+    public void clear() {
+        generation.set(new Generation(-1));
+    }
+
+    private static RenderedResponse await(CompletableFuture<RenderedResponse> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            if (e.getCause() instanceof Error error)
+                throw error;
+            throw e;
+        }
+    }
+
+    private static RenderedResponse render(Renderer renderer) {
+        try {
+            byte[] body = renderer.render();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(body);
+            }
+            return new RenderedResponse(body, compressed.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Uma resposta serializada, com e sem compactação.
+     */
+    public static final class RenderedResponse {
+        private final byte[] body;
+        private final byte[] gzipBody;
+
+        RenderedResponse(byte[] body, byte[] gzipBody) {
+            this.body = body;
+            this.gzipBody = gzipBody;
+        }
+
+        /**
+         * O JSON da resposta. O array é compartilhado entre as requisições e não deve ser alterado.
+         */
+        public byte[] getBody() {
+            return body;
+        }
+
+        /**
+         * O mesmo JSON compactado com gzip, para clientes que enviam {@code Accept-Encoding: gzip}.
+         */
+        public byte[] getGzipBody() {
+            return gzipBody;
+        }
+    }
+
+    private static final class Key {
+        private final Endpoint endpoint;
+        private final SortType sortType;
+
+        Key(Endpoint endpoint, SortType sortType) {
+            this.endpoint = endpoint;
+            this.sortType = sortType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Key))
+                return false;
+            Key other = (Key) o;
+            return endpoint == other.endpoint && sortType == other.sortType;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(endpoint, sortType);
+        }
+    }
+
+    private static final class Generation {
+        final long version;
+        final Map<Key, CompletableFuture<RenderedResponse>> responses = new ConcurrentHashMap<>();
+
+        Generation(long version) {
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.gilliard.pokemon.cache;
+
+/**
+ * Busca byte a byte: procura o primeiro byte da consulta e confirma o restante a cada candidato.
+ */
+final class ScalarByteScanner extends ByteScanner {
+    static final ScalarByteScanner INSTANCE = new ScalarByteScanner();
+
+    private ScalarByteScanner() {}
+
+    @Override
+    int indexOf(byte[] text, int from, int end, byte[] query) {
+        byte first = query[0];
+        int last = end - query.length;
+        for (int i = from; i <= last; i++) {
+            if (text[i] == first && matchesAt(text, i, query))
+                return i;
+        }
+        return -1;
+    }
+}
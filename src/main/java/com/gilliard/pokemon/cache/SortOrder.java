@@ -0,0 +1,157 @@
+package com.gilliard.pokemon.cache;
+
+import com.gilliard.pokemon.model.Pokemon;
+import com.gilliard.pokemon.utils.MergeSortUtils;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.gilliard.pokemon.utils.MergeSortUtils.identity;
+
+/**
+ * Ordem pré-calculada de uma {@link CatalogSnapshot} para um critério de ordenação.<br>
+ *
+ * Guarda a permutação ({@code order[k]} é a posição do k-ésimo Pokémon na ordem) e o seu inverso
+ * ({@code rank[posição]} é a colocação do Pokémon). Como a ordenação de origem é estável, empates mantêm a ordem
+ * da cache; por isso ordenar um subconjunto pelas colocações produz exatamente o mesmo resultado que aplicar o
+ * MergeSort sobre esse subconjunto.
+ */
+final class SortOrder {
+    private final int[] order;
+    private final int[] rank;
+
+    SortOrder(List<Pokemon> pokemons, Comparator<Pokemon> compare) {
+        this.order = identity(pokemons.size());
+        MergeSortUtils.sort(order, (a, b) -> compare.compare(pokemons.get(a), pokemons.get(b)));
+
+        this.rank = new int[order.length];
+        for (int k = 0; k < order.length; k++) {
+            rank[order[k]] = k;
+        }
+    }
+
+    /**
+     * Todas as posições da fotografia, na ordem deste critério.
+     */
+    int[] all() {
+        return order.clone();
+    }
+
+    /**
+     * Ordena um subconjunto de posições segundo este critério.<br>
+     *
+     * Subconjuntos pequenos são ordenados pelas suas colocações (inteiros); subconjuntos grandes são obtidos
+     * percorrendo a ordem completa e mantendo apenas as posições marcadas, em tempo linear.
+     *
+     * @param positions Posições a ordenar (não é alterado).
+     * @return As mesmas posições, na ordem deste critério.
+     */
+    int[] sort(int[] positions) {
+        int count = positions.length;
+        int[] sorted = new int[count];
+        if (count < 2) {
+            System.arraycopy(positions, 0, sorted, 0, count);
+            return sorted;
+        }
+
+        if ((long) count * (32 - Integer.numberOfLeadingZeros(count)) < order.length) {
+            for (int i = 0; i < count; i++) {
+                sorted[i] = rank[positions[i]];
+            }
+            Arrays.sort(sorted);
+            for (int i = 0; i < count; i++) {
+                sorted[i] = order[sorted[i]];
+            }
+        } else {
+            BitSet selected = new BitSet(order.length);
+            for (int position : positions) {
+                selected.set(position);
+            }
+            int k = 0;
+            for (int i = 0; i < order.length && k < count; i++) {
+                if (selected.get(order[i]))
+                    sorted[k++] = order[i];
+            }
+        }
+        return sorted;
+    }
+
+    /**
+     * Retorna o trecho {@code [from, from + count)} da ordem completa.
+     */
+    int[] slice(int from, int count) {
+        int start = Math.min(from, order.length);
+        int end = (int) Math.min((long) start + count, order.length);
+        return Arrays.copyOfRange(order, start, end);
+    }
+
+    /**
+     * Retorna apenas o trecho {@code [from, from + count)} do subconjunto ordenado, sem ordenar o subconjunto inteiro.<br>
+     *
+     * Mantém um heap de máximo com as {@code from + count} menores colocações vistas, em O(m log k) para m posições,
+     * e ordena somente esses k inteiros ao final. Quando k é próximo de m, ordenar tudo é mais barato.
+     *
+     * @param positions Posições do subconjunto (não é alterado).
+     * @param from Quantidade de resultados a pular.
+     * @param count Quantidade máxima de resultados.
+     * @return As posições do trecho solicitado, ordenadas.
+     */
+    int[] top(int[] positions, int from, int count) {
+        int k = (int) Math.min((long) from + count, positions.length);
+        if (from >= k)
+            return new int[0];
+        if (k > positions.length / 2) {
+            int[] sorted = sort(positions);
+            return Arrays.copyOfRange(sorted, from, k);
+        }
+
+        int[] heap = new int[k];
+        int size = 0;
+        for (int position : positions) {
+            int positionRank = rank[position];
+            if (size < k) {
+                heap[size] = positionRank;
+                siftUp(heap, size++);
+            } else if (positionRank < heap[0]) {
+                heap[0] = positionRank;
+                siftDown(heap, k);
+            }
+        }
+        Arrays.sort(heap);
+        int[] page = new int[k - from];
+        for (int i = from; i < k; i++) {
+            page[i - from] = order[heap[i]];
+        }
+        return page;
+    }
+
+    private static void siftUp(int[] heap, int index) {
+        int value = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] >= value)
+                break;
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = value;
+    }
+
+    private static void siftDown(int[] heap, int size) {
+        int value = heap[0];
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && heap[child + 1] > heap[child])
+                child++;
+            if (value >= heap[child])
+                break;
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = value;
+    }
+}
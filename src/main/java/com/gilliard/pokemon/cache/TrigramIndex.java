@@ -0,0 +1,132 @@
+package com.gilliard.pokemon.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Índice invertido de trigramas sobre os nomes (já em minúsculas) de uma {@link CatalogSnapshot}.<br>
+ *
+ * Para cada sequência de três bytes consecutivos (UTF-8) é mantida a lista ordenada das posições dos nomes que a
+ * contêm. Uma busca por substring com 3 ou mais bytes intersecta as listas dos trigramas da consulta e só então confirma
+ * cada candidato na coluna de nomes do {@link ColumnarCatalog}, evitando percorrer o catálogo inteiro. Consultas
+ * menores varrem a coluna de nomes em minúsculas de uma vez ({@link ColumnarCatalog#scan(byte[])}).<br>
+ *
+ * O resultado é idêntico ao de aplicar {@code nome.toLowerCase().contains(consulta)} a cada registro, na mesma ordem.
+ */
+final class TrigramIndex {
+    private static final int GRAM = 3;
+    private static final int[] NO_MATCHES = new int[0];
+
+    private final ColumnarCatalog columns;
+    private final Map<Integer, int[]> postings;
+
+    TrigramIndex(ColumnarCatalog columns) {
+        this.columns = columns;
+        this.postings = buildPostings(columns);
+    }
+
+    /**
+     * Retorna, em ordem crescente, as posições dos nomes que contêm a consulta.
+     *
+     * @param caseInsensitiveQuery Consulta já normalizada com {@code trim().toLowerCase()}.
+     * @return As posições dos registros encontrados.
+     */
+    int[] search(String caseInsensitiveQuery) {
+        byte[] query = caseInsensitiveQuery.getBytes(StandardCharsets.UTF_8);
+        if (query.length < GRAM)
+            return columns.scan(query);
+
+        int gramCount = query.length - GRAM + 1;
+        int[][] lists = new int[gramCount][];
+        for (int i = 0; i < gramCount; i++) {
+            int[] list = postings.get(gramKey(query, i));
+            if (list == null)
+                return NO_MATCHES;
+            lists[i] = list;
+        }
+        // Começa pela lista mais curta para que a interseção fique pequena o quanto antes:
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+
+        int[] candidates = lists[0].clone();
+        int candidateCount = candidates.length;
+        for (int i = 1; i < lists.length && candidateCount > 0; i++) {
+            candidateCount = intersect(candidates, candidateCount, lists[i]);
+        }
+
+        // Os trigramas garantem apenas candidatos; a ordem e a adjacência são confirmadas aqui:
+        int[] matches = new int[candidateCount];
+        int matchCount = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            int position = candidates[i];
+            if (columns.contains(position, query))
+                matches[matchCount++] = position;
+        }
+        return matchCount == matches.length ? matches : Arrays.copyOf(matches, matchCount);
+    }
+
+    /**
+     * Intersecta in-place os {@code count} primeiros elementos de {@code target} com {@code other} (ambos crescentes).
+     *
+     * @return A quantidade de elementos que restaram em {@code target}.
+     */
+    private static int intersect(int[] target, int count, int[] other) {
+        int i = 0, j = 0, k = 0;
+        while (i < count && j < other.length) {
+            if (target[i] < other[j]) {
+                i++;
+            } else if (target[i] > other[j]) {
+                j++;
+            } else {
+                target[k++] = target[i];
+                i++;
+                j++;
+            }
+        }
+        return k;
+    }
+
+    private static Map<Integer, int[]> buildPostings(ColumnarCatalog columns) {
+        Map<Integer, PostingList> building = new HashMap<>();
+        for (int position = 0; position < columns.size(); position++) {
+            int length = columns.lowerLength(position);
+            for (int i = 0; i + GRAM <= length; i++) {
+                int key = gramKey(columns.lowerByte(position, i), columns.lowerByte(position, i + 1), columns.lowerByte(position, i + 2));
+                building.computeIfAbsent(key, k -> new PostingList()).add(position);
+            }
+        }
+        Map<Integer, int[]> postings = new HashMap<>(building.size() * 4 / 3 + 1);
+        building.forEach((key, list) -> postings.put(key, list.toArray()));
+        return postings;
+    }
+
+    private static int gramKey(byte[] text, int start) {
+        return gramKey(text[start], text[start + 1], text[start + 2]);
+    }
+
+    private static int gramKey(byte first, byte second, byte third) {
+        return (first & 0xFF) << 16 | (second & 0xFF) << 8 | third & 0xFF;
+    }
+
+    /**
+     * Lista crescente de posições sem repetição, usada apenas durante a construção do índice.
+     */
+    private static final class PostingList {
+        private int[] positions = new int[4];
+        private int size;
+
+        void add(int position) {
+            // O mesmo trigrama pode aparecer mais de uma vez no mesmo nome:
+            if (size > 0 && positions[size - 1] == position)
+                return;
+            if (size == positions.length)
+                positions = Arrays.copyOf(positions, size * 2);
+            positions[size++] = position;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.gilliard.pokemon.cache;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Busca com a API de vetores do JDK: compara de uma vez {@code lanes()} posições do texto com o primeiro e com o
+ * último byte da consulta, e só confirma byte a byte as posições em que os dois coincidem. O final do trecho, menor
+ * que um vetor, é tratado pela busca escalar.<br>
+ *
+ * Referencia {@code jdk.incubator.vector} diretamente; por isso é carregada apenas por reflexão, em
+ * {@link ByteScanner#preferred()}, quando o módulo está habilitado.
+ */
+final class VectorByteScanner extends ByteScanner {
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    int lanes() {
+        return SPECIES.length();
+    }
+
+    @Override
+    int indexOf(byte[] text, int from, int end, byte[] query) {
+        int length = query.length;
+        int last = end - length;
+        ByteVector first = ByteVector.broadcast(SPECIES, query[0]);
+        ByteVector lastByte = ByteVector.broadcast(SPECIES, query[length - 1]);
+        int lanes = SPECIES.length();
+        int i = from;
+        // i + lanes - 1 <= last: as duas leituras terminam dentro de text[from, end).
+        for (; i <= last - lanes + 1; i += lanes) {
+            long candidates = ByteVector.fromArray(SPECIES, text, i).eq(first)
+                    .and(ByteVector.fromArray(SPECIES, text, i + length - 1).eq(lastByte))
+                    .toLong();
+            while (candidates != 0) {
+                int at = i + Long.numberOfTrailingZeros(candidates);
+                if (matchesAt(text, at, query))
+                    return at;
+                candidates &= candidates - 1;
+            }
+        }
+        return ScalarByteScanner.INSTANCE.indexOf(text, i, end, query);
+    }
+}
@@ -0,0 +1,114 @@
+package com.gilliard.pokemon.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Circuit breaker por falhas consecutivas.<br>
+ *
+ * Fechado, deixa passar todas as requisições. Depois de {@code failureThreshold} falhas seguidas abre e recusa as
+ * requisições por {@code openDuration}, sem gastar conexões nem tempo com uma API fora do ar. Passado esse tempo fica
+ * meio aberto: uma única requisição de teste é liberada; se ela for bem-sucedida o circuito fecha, senão abre de novo.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+    // Consultado antes e depois de cada requisição à API externa, inclusive pelas threads virtuais da carga:
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        if (failureThreshold < 1)
+            throw new IllegalArgumentException("failureThreshold deve ser maior que zero");
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * Verifica se uma requisição pode ser feita agora. Cada permissão concedida deve ser seguida de
+     * {@link #onSuccess()}, {@link #onFailure()} ou, se a tentativa for abortada sem resposta, {@link #release()}.
+     *
+     * @return false se o circuito estiver aberto (ou meio aberto, com a requisição de teste em andamento).
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))) {
+                state = State.HALF_OPEN;
+                trialInFlight = false;
+            }
+            if (state == State.CLOSED)
+                return true;
+            if (state == State.HALF_OPEN && !trialInFlight) {
+                trialInFlight = true;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess() {
+        lock.lock();
+        try {
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            trialInFlight = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onFailure() {
+        lock.lock();
+        try {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                state = State.OPEN;
+                openedAt = clock.instant();
+                trialInFlight = false;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Devolve uma permissão cuja tentativa foi abortada sem resultado (ex.: thread interrompida), sem contar sucesso
+     * nem falha. Se era a requisição de teste do circuito meio aberto, a próxima requisição pode fazer o teste.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN)
+                trialInFlight = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
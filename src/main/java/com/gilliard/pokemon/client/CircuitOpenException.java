@@ -0,0 +1,15 @@
+package com.gilliard.pokemon.client;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Requisição recusada sem consultar a API externa, porque o {@link CircuitBreaker} está aberto. Respondida com 503.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class CircuitOpenException extends PokeApiException {
+
+    public CircuitOpenException(String message) {
+        super(message, -1);
+    }
+}
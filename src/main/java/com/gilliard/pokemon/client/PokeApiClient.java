@@ -0,0 +1,267 @@
+package com.gilliard.pokemon.client;
+
+import com.gilliard.pokemon.client.PokemonPageParser.PokemonPage;
+import com.gilliard.pokemon.metrics.PokemonMetrics;
+import com.gilliard.pokemon.model.PokemonDetail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Cliente da API externa (PokeAPI) usado na carga do catálogo e na busca dos detalhes de cada Pokémon.<br>
+ *
+ * Usa um único {@link HttpClient} do JDK, compartilhado por todas as requisições: as conexões são reaproveitadas
+ * (keep-alive em HTTP/1.1 e multiplexação em HTTP/2, negociado automaticamente com servidores HTTPS que o suportam).
+ * Cada requisição tem um tempo máximo que cobre também a leitura do corpo, de forma que uma página lenta falha em vez
+ * de travar a carga inteira.<br>
+ *
+ * Falhas transitórias (timeout, erro de conexão, status 429 ou 5xx) são repetidas até {@code maxAttempts} vezes, com
+ * espera exponencial e aleatória (full jitter) para não sincronizar as novas tentativas das páginas buscadas em
+ * paralelo. Todas as tentativas passam por um {@link CircuitBreaker}: com a API fora do ar, as requisições falham
+ * imediatamente até o próximo teste.<br>
+ *
+ * O endereço base é configurável ({@code pokemon.upstream.base-url}), para apontar para um espelho ou para um
+ * servidor local nos testes.
+ */
+@Component
+public class PokeApiClient {
+    private static final Logger log = LoggerFactory.getLogger(PokeApiClient.class);
+
+    public static final String DEFAULT_BASE_URL = "https://pokeapi.co/api/v2";
+    static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(2);
+    static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(5);
+    static final int DEFAULT_MAX_ATTEMPTS = 3;
+    static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(200);
+    static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(2);
+    static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final CircuitBreaker circuitBreaker;
+    private final PokemonMetrics metrics;
+    private final HttpClient httpClient;
+
+    public PokeApiClient() {
+        this(DEFAULT_BASE_URL);
+    }
+
+    public PokeApiClient(String baseUrl) {
+        this(baseUrl, DEFAULT_CONNECT_TIMEOUT, DEFAULT_REQUEST_TIMEOUT, DEFAULT_MAX_ATTEMPTS, DEFAULT_INITIAL_BACKOFF,
+                DEFAULT_MAX_BACKOFF, new CircuitBreaker(DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_DURATION, Clock.systemUTC()),
+                new PokemonMetrics());
+    }
+
+    @Autowired
+    public PokeApiClient(@Value("${pokemon.upstream.base-url:" + DEFAULT_BASE_URL + "}") String baseUrl,
+                         @Value("${pokemon.upstream.connect-timeout:PT2S}") Duration connectTimeout,
+                         @Value("${pokemon.upstream.request-timeout:PT5S}") Duration requestTimeout,
+                         @Value("${pokemon.upstream.retry.max-attempts:3}") int maxAttempts,
+                         @Value("${pokemon.upstream.retry.initial-backoff:PT0.2S}") Duration initialBackoff,
+                         @Value("${pokemon.upstream.retry.max-backoff:PT2S}") Duration maxBackoff,
+                         @Value("${pokemon.upstream.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                         @Value("${pokemon.upstream.circuit-breaker.open-duration:PT30S}") Duration openDuration,
+                         PokemonMetrics metrics) {
+        this(baseUrl, connectTimeout, requestTimeout, maxAttempts, initialBackoff, maxBackoff,
+                new CircuitBreaker(failureThreshold, openDuration, Clock.systemUTC()), metrics);
+    }
+
+    public PokeApiClient(String baseUrl, Duration connectTimeout, Duration requestTimeout, int maxAttempts,
+                         Duration initialBackoff, Duration maxBackoff, CircuitBreaker circuitBreaker, PokemonMetrics metrics) {
+        if (maxAttempts < 1)
+            throw new IllegalArgumentException("maxAttempts deve ser maior que zero");
+        // Sem a barra final, para montar as URLs com "/pokemon":
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.requestTimeout = requestTimeout;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.circuitBreaker = circuitBreaker;
+        this.metrics = metrics;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                // As respostas são tratadas em threads virtuais, como a carga e os detalhes, em vez do pool de
+                // threads de plataforma que o HttpClient cria por padrão:
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * Busca uma página da listagem de Pokémons.
+     *
+     * @param offset Posição do primeiro registro.
+     * @param limit Quantidade de registros da página.
+     * @return A página lida.
+     * @throws PokeApiException Se a página não puder ser obtida depois das novas tentativas.
+     */
+    public PokemonPage fetchPokemonPage(int offset, int limit) {
+        return fetchPokemonPage(baseUrl + "/pokemon?offset=" + offset + "&limit=" + limit);
+    }
+
+    /**
+     * Busca uma página da listagem a partir da URL completa (por exemplo, o campo {@code next} da página anterior).
+     *
+     * @param url A URL da página.
+     * @return A página lida.
+     * @throws PokeApiException Se a página não puder ser obtida depois das novas tentativas.
+     */
+    public PokemonPage fetchPokemonPage(String url) {
+        return fetch(url, PokemonPageParser::parse);
+    }
+
+    /**
+     * Busca o documento de detalhes de um Pokémon (tipos e atributos base).<br>
+     * É o mesmo documento de {@link com.gilliard.pokemon.model.Pokemon#getUrl()}, montado a partir do endereço base
+     * configurado para que espelhos e servidores locais também sejam usados nos detalhes.
+     *
+     * @param id O ID do Pokémon.
+     * @return Os detalhes lidos.
+     * @throws PokeApiException Se o documento não puder ser obtido depois das novas tentativas.
+     */
+    public PokemonDetail fetchPokemonDetail(String id) {
+        return fetch(baseUrl + "/pokemon/" + id + "/", PokemonDetailParser::parse);
+    }
+
+    /**
+     * Executa a requisição com as novas tentativas e o circuit breaker, convertendo o corpo das respostas 2xx.
+     */
+    private <T> T fetch(String url, BodyParser<T> bodyParser) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        for (int attempt = 1; ; attempt++) {
+            if (!circuitBreaker.tryAcquire())
+                throw new CircuitOpenException("Erro: API externa indisponível, circuito aberto para " + url);
+
+            HttpResponse<byte[]> response;
+            try {
+                response = send(request);
+            } catch (IOException e) {
+                circuitBreaker.onFailure();
+                if (attempt >= maxAttempts)
+                    throw new PokeApiException("Erro ao buscar " + url + " após " + attempt + " tentativas", e);
+                retryAfter(url, attempt, e instanceof HttpTimeoutException ? "timeout" : "io", null);
+                continue;
+            } catch (RuntimeException | Error e) {
+                // Tentativa abortada sem resposta (interrupção, erro inesperado): a permissão volta ao circuito.
+                circuitBreaker.release();
+                throw e;
+            }
+
+            int status = response.statusCode();
+            if (status >= 200 && status < 300) {
+                circuitBreaker.onSuccess();
+                try {
+                    return bodyParser.parse(response.body());
+                } catch (IOException e) {
+                    throw new PokeApiException("Erro: resposta inválida da API externa em " + url, e);
+                }
+            }
+            if (!isRetryable(status)) {
+                // Erro do cliente (ex.: 404): a API respondeu, então não conta como falha do circuito.
+                circuitBreaker.onSuccess();
+                throw new PokeApiException("Erro: API externa respondeu " + status + " para " + url, status);
+            }
+            circuitBreaker.onFailure();
+            if (attempt >= maxAttempts)
+                throw new PokeApiException("Erro: API externa respondeu " + status + " para " + url + " após " + attempt + " tentativas", status);
+            retryAfter(url, attempt, status == 429 ? "status_429" : "status_5xx", response.headers().firstValue("Retry-After").orElse(null));
+        }
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Envia a requisição e lê o corpo inteiro dentro do tempo máximo. O timeout do {@link HttpRequest} só vale até a
+     * chegada dos cabeçalhos; o limite sobre a resposta completa garante que um corpo enviado aos poucos também falhe.
+     */
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException {
+        CompletableFuture<HttpResponse<byte[]>> future = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        try {
+            return future.get(requestTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new HttpTimeoutException("Tempo esgotado após " + requestTimeout.toMillis() + "ms: " + request.uri());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PokeApiException("Erro: requisição à API externa interrompida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException)
+                throw ioException;
+            throw new PokeApiException("Erro ao buscar " + request.uri(), e.getCause());
+        }
+    }
+
+    private void retryAfter(String url, int attempt, String reason, String retryAfterHeader) {
+        Duration delay = backoff(attempt, retryAfterHeader);
+        metrics.recordUpstreamRetry(reason);
+        log.warn("Falha ao buscar {} ({}), tentativa {} de {}; nova tentativa em {}ms", url, reason, attempt, maxAttempts, delay.toMillis());
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PokeApiException("Erro: requisição à API externa interrompida", e);
+        }
+    }
+
+    /**
+     * Espera antes da tentativa seguinte: um valor aleatório entre zero e {@code initialBackoff * 2^(attempt - 1)},
+     * limitado a {@code maxBackoff}. Se a API informar um {@code Retry-After} em segundos, ele é respeitado (também
+     * limitado a {@code maxBackoff}).
+     */
+    public Duration backoff(int attempt, String retryAfterHeader) {
+        long cap = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+        long delay = cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+        if (retryAfterHeader != null) {
+            try {
+                delay = Math.max(delay, Math.min(maxBackoff.toMillis(), Long.parseLong(retryAfterHeader.trim()) * 1000));
+            } catch (NumberFormatException ignored) {
+                // Retry-After em formato de data: mantém o backoff calculado.
+            }
+        }
+        return Duration.ofMillis(delay);
+    }
+
+    private static boolean isRetryable(int status) {
+        return status == 429 || status >= 500;
+    }
+
+    /**
+     * Converte o corpo de uma resposta bem-sucedida.
+     */
+    @FunctionalInterface
+    private interface BodyParser<T> {
+        T parse(byte[] body) throws IOException;
+    }
+}
@@ -0,0 +1,29 @@
+package com.gilliard.pokemon.client;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Falha ao consultar a API externa, depois de esgotadas as tentativas. Respondida com 502 quando chega ao controller.
+ */
+@ResponseStatus(HttpStatus.BAD_GATEWAY)
+public class PokeApiException extends RuntimeException {
+    private final int statusCode;
+
+    public PokeApiException(String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = -1;
+    }
+
+    public PokeApiException(String message, int statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * Status HTTP da última resposta, ou -1 se a falha não veio de uma resposta (timeout, conexão recusada, etc.).
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
@@ -0,0 +1,144 @@
+package com.gilliard.pokemon.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.gilliard.pokemon.model.PokemonDetail;
+import com.gilliard.pokemon.model.Stat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lê o documento de detalhes de um Pokémon ({@code /pokemon/{id}}) da API externa.<br>
+ *
+ * O documento completo passa de centenas de KB por causa da lista de golpes ({@code moves}); como no
+ * {@link PokemonPageParser}, o JSON é percorrido token a token e apenas {@code id}, {@code name}, {@code types} e
+ * {@code stats} são lidos, descartando o resto sem montar objetos.<br>
+ *
+ * Formato esperado (trecho):
+ * <pre>
+ * {"id": 6, "name": "charizard",
+ *  "types": [{"slot": 1, "type": {"name": "fire", "url": "..."}}, {"slot": 2, "type": {"name": "flying", "url": "..."}}],
+ *  "stats": [{"base_stat": 78, "effort": 0, "stat": {"name": "hp", "url": "..."}}, ...], ...}
+ * </pre>
+ */
+public final class PokemonDetailParser {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private PokemonDetailParser() {}
+
+    /**
+     * Lê o documento de detalhes a partir do corpo da resposta.
+     *
+     * @param body O corpo da resposta da API externa.
+     * @return Os detalhes lidos.
+     * @throws IOException Se o corpo não for um JSON válido.
+     * @throws RuntimeException Se o corpo não for um objeto com {@code id} e {@code name}.
+     */
+    public static PokemonDetail parse(byte[] body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return parse(parser);
+        }
+    }
+
+    private static PokemonDetail parse(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT)
+            throw new RuntimeException("Erro: detalhes do Pokémon ausentes na resposta da API!");
+
+        String id = null;
+        String name = null;
+        List<String> types = new ArrayList<>(2);
+        int[] baseStats = new int[Stat.values().length];
+        Arrays.fill(baseStats, PokemonDetail.UNKNOWN_STAT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> id = value == JsonToken.VALUE_NUMBER_INT ? parser.getText() : null;
+                case "name" -> name = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                case "types" -> {
+                    if (value == JsonToken.START_ARRAY)
+                        readTypes(parser, types);
+                    else
+                        parser.skipChildren();
+                }
+                case "stats" -> {
+                    if (value == JsonToken.START_ARRAY)
+                        readStats(parser, baseStats);
+                    else
+                        parser.skipChildren();
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        if (id == null || name == null)
+            throw new RuntimeException("Erro: detalhes do Pokémon sem id ou nome!");
+        return new PokemonDetail(id, name, types, baseStats);
+    }
+
+    // [{"slot": 1, "type": {"name": "fire", ...}}, ...]
+    private static void readTypes(JsonParser parser, List<String> types) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.START_OBJECT && "type".equals(field)) {
+                    String type = readName(parser);
+                    if (type != null)
+                        types.add(type.toLowerCase());
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    // [{"base_stat": 78, "effort": 0, "stat": {"name": "hp", ...}}, ...]
+    private static void readStats(JsonParser parser, int[] baseStats) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            int baseStat = PokemonDetail.UNKNOWN_STAT;
+            Stat stat = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_NUMBER_INT && "base_stat".equals(field)) {
+                    baseStat = parser.getIntValue();
+                } else if (value == JsonToken.START_OBJECT && "stat".equals(field)) {
+                    stat = Stat.fromString(readName(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            // Atributos que não fazem parte de Stat (por exemplo, accuracy em versões antigas) são ignorados.
+            if (stat != null)
+                baseStats[stat.ordinal()] = baseStat;
+        }
+    }
+
+    // Lê o campo "name" de um recurso nomeado ({"name": "...", "url": "..."}), consumindo o objeto inteiro.
+    private static String readName(JsonParser parser) throws IOException {
+        String name = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_STRING && "name".equals(field))
+                name = parser.getText();
+            else
+                parser.skipChildren();
+        }
+        return name;
+    }
+}
@@ -0,0 +1,166 @@
+package com.gilliard.pokemon.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.gilliard.pokemon.model.Pokemon;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lê uma página da listagem de Pokémons da API externa direto do corpo da resposta.<br>
+ *
+ * O JSON é percorrido token a token com o {@link JsonParser} do Jackson: cada item de {@code results} vira um
+ * {@link Pokemon} assim que seus campos são lidos, sem montar o {@code Map<String, Object>} da resposta inteira nem
+ * copiá-lo para uma lista de {@code Map<String, String>}. Campos desconhecidos são ignorados, inclusive objetos e
+ * listas aninhados.<br>
+ *
+ * Formato esperado:
+ * <pre>
+ * {"count": 1302, "next": "https://...?offset=100&amp;limit=100", "previous": null,
+ *  "results": [{"name": "bulbasaur", "url": "https://pokeapi.co/api/v2/pokemon/1/"}, ...]}
+ * </pre>
+ */
+public final class PokemonPageParser {
+    // Tamanho usual das páginas pedidas pelo PokemonPageLoader:
+    private static final int EXPECTED_PAGE_SIZE = 100;
+    // Thread-safe e caro de criar: compartilhado por todas as páginas.
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private PokemonPageParser() {}
+
+    /**
+     * Lê uma página da listagem. O stream não é fechado.
+     *
+     * @param body O corpo da resposta da API externa.
+     * @return A página lida.
+     * @throws IOException Se o corpo não puder ser lido ou não for um JSON válido.
+     * @throws RuntimeException Se o corpo não for um objeto com o campo {@code results}.
+     */
+    public static PokemonPage parse(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return parse(parser);
+        }
+    }
+
+    /**
+     * Lê uma página da listagem a partir de um JSON já carregado em memória.
+     *
+     * @param body O corpo da resposta da API externa.
+     * @return A página lida.
+     * @throws IOException Se o corpo não for um JSON válido.
+     */
+    public static PokemonPage parse(byte[] body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return parse(parser);
+        }
+    }
+
+    private static PokemonPage parse(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT)
+            throw new RuntimeException("Erro: resposta da API é nula!");
+
+        int count = -1;
+        String next = null;
+        List<Pokemon> pokemons = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "count" -> count = value == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : -1;
+                case "next" -> next = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                case "results" -> {
+                    if (value == JsonToken.START_ARRAY)
+                        pokemons = readResults(parser);
+                    else
+                        parser.skipChildren();
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        if (pokemons == null)
+            throw new RuntimeException("Erro: resposta da API é nula!");
+        return new PokemonPage(count < 0 ? pokemons.size() : count, next, pokemons);
+    }
+
+    private static List<Pokemon> readResults(JsonParser parser) throws IOException {
+        List<Pokemon> pokemons = new ArrayList<>(EXPECTED_PAGE_SIZE);
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                // Itens que não são objetos são descartados, como na conversão anterior para mapas.
+                parser.skipChildren();
+                continue;
+            }
+            String name = null;
+            String url = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_STRING && "name".equals(field)) {
+                    name = parser.getText();
+                } else if (value == JsonToken.VALUE_STRING && "url".equals(field)) {
+                    url = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            pokemons.add(new Pokemon(getIdFromPokemonUrl(url), name, url));
+        }
+        return pokemons;
+    }
+
+    /**
+     * Extrai o ID do Pokémon a partir da URL da API: o último trecho não vazio entre barras, sem dividir a URL inteira.
+     *
+     * <p>Exemplo de entrada:
+     * <pre>
+     *     getIdFromPokemonUrl("https://pokeapi.co/api/v2/pokemon/25/")
+     * </pre>
+     * Saída: {@code "25"}</p>
+     *
+     * @param pokemonUrl A URL do Pokémon na API.
+     * @return O ID do Pokémon como {@code String}, ou null se a URL for nula.
+     */
+    public static String getIdFromPokemonUrl(String pokemonUrl) {
+        if (pokemonUrl == null)
+            return null;
+        int end = pokemonUrl.length();
+        while (end > 0 && pokemonUrl.charAt(end - 1) == '/') {
+            end--;
+        }
+        int start = pokemonUrl.lastIndexOf('/', end - 1) + 1;
+        return pokemonUrl.substring(start, end);
+    }
+
+    /**
+     * Página retornada pela API: total de registros, URL da próxima página e os Pokémons da página.
+     */
+    public static final class PokemonPage {
+        private final int count;
+        private final String next;
+        private final List<Pokemon> pokemons;
+
+        public PokemonPage(int count, String next, List<Pokemon> pokemons) {
+            this.count = count;
+            this.next = next;
+            this.pokemons = pokemons;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public String getNext() {
+            return next;
+        }
+
+        public List<Pokemon> getPokemons() {
+            return pokemons;
+        }
+    }
+}
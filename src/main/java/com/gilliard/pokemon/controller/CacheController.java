@@ -0,0 +1,42 @@
+package com.gilliard.pokemon.controller;
+
+import com.gilliard.pokemon.cache.PokemonDetailCache;
+import com.gilliard.pokemon.cache.QueryResultCache;
+import com.gilliard.pokemon.dto.CacheStatusDTO;
+import com.gilliard.pokemon.dto.DetailCacheStatsDTO;
+import com.gilliard.pokemon.dto.QueryCacheStatsDTO;
+import com.gilliard.pokemon.service.CatalogRefreshService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/cache")
+public class CacheController {
+    private final CatalogRefreshService catalogRefreshService;
+    private final QueryResultCache queryResultCache;
+    private final PokemonDetailCache detailCache;
+
+    public CacheController(CatalogRefreshService catalogRefreshService, QueryResultCache queryResultCache,
+                           PokemonDetailCache detailCache) {
+        this.catalogRefreshService = catalogRefreshService;
+        this.queryResultCache = queryResultCache;
+        this.detailCache = detailCache;
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<CacheStatusDTO> getStatus() {
+        return ResponseEntity.ok(catalogRefreshService.getStatus());
+    }
+
+    @GetMapping("/queries")
+    public ResponseEntity<QueryCacheStatsDTO> getQueryCacheStats() {
+        return ResponseEntity.ok(queryResultCache.getStats());
+    }
+
+    @GetMapping("/details")
+    public ResponseEntity<DetailCacheStatsDTO> getDetailCacheStats() {
+        return ResponseEntity.ok(detailCache.getStats());
+    }
+}
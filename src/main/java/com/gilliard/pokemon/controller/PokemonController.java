@@ -1,34 +1,287 @@
 package com.gilliard.pokemon.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gilliard.pokemon.cache.CatalogSnapshot;
+import com.gilliard.pokemon.cache.RenderedResponseCache;
+import com.gilliard.pokemon.dto.PokemonBatchQueryDTO;
+import com.gilliard.pokemon.dto.PokemonBatchResponseDTO;
 import com.gilliard.pokemon.dto.PokemonHighlightDTO;
+import com.gilliard.pokemon.dto.PokemonHighlightOffsetsDTO;
 import com.gilliard.pokemon.dto.PokemonResponseDTO;
+import com.gilliard.pokemon.model.HighlightFormat;
+import com.gilliard.pokemon.model.SearchMode;
+import com.gilliard.pokemon.model.SortType;
+import com.gilliard.pokemon.service.DetailFilter;
+import com.gilliard.pokemon.service.InvalidFilterException;
+import com.gilliard.pokemon.service.InvalidPageRequestException;
 import com.gilliard.pokemon.service.PokemonService;
+import com.gilliard.pokemon.utils.ETagUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/pokemons")
 public class PokemonController {
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(APPLICATION_NDJSON_VALUE);
+
+    private static final String GZIP = "gzip";
+
     private final PokemonService pokemonService;
+    private final RenderedResponseCache renderedResponses;
+    private final ObjectMapper objectMapper;
+    // Sem flush a cada objeto: o buffer do servidor decide quando enviar cada bloco da resposta.
+    private final ObjectWriter streamWriter;
 
-    public PokemonController() {
-        this.pokemonService = new PokemonService();
+    public PokemonController(PokemonService pokemonService, RenderedResponseCache renderedResponses, ObjectMapper objectMapper) {
+        this.pokemonService = pokemonService;
+        this.renderedResponses = renderedResponses;
+        this.objectMapper = objectMapper;
+        this.streamWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
+    /*
+     Os dois endpoints aceitam um modo de streaming opcional (?stream=true ou Accept: application/x-ndjson), no qual
+     cada resultado é escrito como uma linha JSON assim que é produzido, em vez de montar e serializar a lista inteira.
+     Fora do streaming, limit/offset/cursor permitem buscar apenas uma página do resultado.
+     Em /pokemons, mode=fuzzy troca a busca por substring pela busca tolerante a erros de digitação (até maxEdits edições);
+     o resultado vem sempre completo, e limit/offset/cursor e o streaming são recusados com 400 nesse modo.
+     Também em /pokemons, type (tipos separados por vírgula) e stat (repetível, nome:min..max) filtram a busca por
+     substring pelos detalhes de cada Pokémon, buscados sob demanda na API externa. No streaming, o filtro é validado e
+     os detalhes são buscados antes de a resposta começar, de forma que esses erros ainda saem com o status adequado.
+     Em /pokemons/highlight, format=offsets devolve os intervalos [início, fim) de cada ocorrência em vez da tag pre.
+
+     Toda resposta traz um ETag forte derivado da versão da fotografia do catálogo e dos parâmetros (normalizados), e um
+     If-None-Match com esse ETag é respondido com 304 sem executar a busca. A fotografia é resolvida uma única vez por
+     requisição e repassada ao serviço, de forma que o ETag e o corpo descrevam sempre o mesmo catálogo, mesmo que uma
+     recarga seja publicada no meio da requisição. A exceção são os filtros type e stat, cujo
+     resultado depende dos detalhes já obtidos da API externa e não só da fotografia.
+     Sem consulta, filtros nem paginação, as listagens dependem apenas da ordenação: são servidas pela
+     RenderedResponseCache, já serializadas (e compactadas com gzip, se o cliente aceitar) uma vez por fotografia.
+     */
     @GetMapping
-    public ResponseEntity<PokemonResponseDTO<String>> getPokemons(@RequestParam(value = "query", required = false) String query,
-                                                                  @RequestParam(value = "sort", required = false) String sort) {
-        PokemonResponseDTO<String> responseDTO = pokemonService.getPokemons(query, sort);
-        return ResponseEntity.ok(responseDTO);
+    public ResponseEntity<?> getPokemons(@RequestParam(value = "query", required = false) String query,
+                                         @RequestParam(value = "sort", required = false) String sort,
+                                         @RequestParam(value = "mode", required = false) String mode,
+                                         @RequestParam(value = "maxEdits", required = false) Integer maxEdits,
+                                         @RequestParam(value = "limit", required = false) Integer limit,
+                                         @RequestParam(value = "offset", required = false) Integer offset,
+                                         @RequestParam(value = "cursor", required = false) String cursor,
+                                         @RequestParam(value = "type", required = false) String type,
+                                         @RequestParam(value = "stat", required = false) List<String> stats,
+                                         @RequestParam(value = "stream", defaultValue = "false") boolean stream,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        boolean fuzzy = SearchMode.fromString(mode) == SearchMode.FUZZY;
+        boolean filtered = type != null || stats != null;
+        if (fuzzy && filtered)
+            throw new InvalidFilterException("Os filtros type e stat não são aceitos com mode=fuzzy");
+        if (fuzzy && (limit != null || offset != null || cursor != null || isStreamingRequested(stream, accept)))
+            throw new InvalidPageRequestException("Os parâmetros limit, offset, cursor e stream não são aceitos com mode=fuzzy");
+        boolean streaming = !fuzzy && isStreamingRequested(stream, accept);
+        // Convertido antes do streaming, para que um filtro inválido ainda seja respondido com 400:
+        DetailFilter filter = DetailFilter.parse(type, stats);
+        CatalogSnapshot snapshot = pokemonService.loadSnapshot();
+        boolean preRendered = !fuzzy && !streaming && !filtered && isFullListing(query, limit, offset, cursor);
+        boolean gzip = preRendered && acceptsGzip(acceptEncoding);
+
+        String etag = !filtered
+                ? ETagUtils.strongETag(snapshot.getVersion(), "pokemons", normalize(query), SortType.fromString(sort), fuzzy ? "fuzzy:" + maxEdits : "substring",
+                        limit, offset, cursor, representation(streaming, gzip))
+                : null;
+        if (ETagUtils.matches(ifNoneMatch, etag))
+            return notModified(etag);
+
+        if (preRendered)
+            return renderedResponse(RenderedResponseCache.Endpoint.POKEMONS, sort, snapshot, gzip, etag, () -> pokemonService.getPokemons(snapshot, null, sort));
+        if (fuzzy)
+            return ResponseEntity.ok().eTag(etag).body(pokemonService.getPokemonsFuzzy(snapshot, query, sort, maxEdits));
+        if (streaming) {
+            pokemonService.fetchFilterDetails(snapshot, query, filter);
+            return streamResponse(etag, writer -> pokemonService.forEachPokemon(snapshot, query, sort, filter, pokemon -> writer.accept(pokemon.getName())));
+        }
+        PokemonResponseDTO<String> responseDTO = pokemonService.getPokemons(snapshot, query, sort, limit, offset, cursor, filter);
+        return ResponseEntity.ok().eTag(etag).body(responseDTO);
     }
 
     @GetMapping("/highlight")
-    public ResponseEntity<PokemonResponseDTO<PokemonHighlightDTO>> getPokemonsWithHighlight(@RequestParam(value = "query", required = false) String query,
-                                                                                            @RequestParam(value = "sort", required = false) String sort) {
-        PokemonResponseDTO<PokemonHighlightDTO> responseDTO = pokemonService.getPokemonsWithHighlight(query, sort);
-        return ResponseEntity.ok(responseDTO);
+    public ResponseEntity<?> getPokemonsWithHighlight(@RequestParam(value = "query", required = false) String query,
+                                                      @RequestParam(value = "sort", required = false) String sort,
+                                                      @RequestParam(value = "format", required = false) String format,
+                                                      @RequestParam(value = "limit", required = false) Integer limit,
+                                                      @RequestParam(value = "offset", required = false) Integer offset,
+                                                      @RequestParam(value = "cursor", required = false) String cursor,
+                                                      @RequestParam(value = "stream", defaultValue = "false") boolean stream,
+                                                      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        HighlightFormat highlightFormat = HighlightFormat.fromString(format);
+        boolean offsets = highlightFormat == HighlightFormat.OFFSETS;
+        boolean streaming = isStreamingRequested(stream, accept);
+        CatalogSnapshot snapshot = pokemonService.loadSnapshot();
+        boolean preRendered = !streaming && isFullListing(query, limit, offset, cursor);
+        boolean gzip = preRendered && acceptsGzip(acceptEncoding);
+
+        String etag = ETagUtils.strongETag(snapshot.getVersion(), "highlight", normalize(query), SortType.fromString(sort), highlightFormat,
+                limit, offset, cursor, representation(streaming, gzip));
+        if (ETagUtils.matches(ifNoneMatch, etag))
+            return notModified(etag);
+
+        if (streaming) {
+            if (offsets)
+                return streamResponse(etag, writer -> pokemonService.forEachPokemonWithHighlightOffsets(snapshot, query, sort, writer::accept));
+            return streamResponse(etag, writer -> pokemonService.forEachPokemonWithHighlight(snapshot, query, sort, writer::accept));
+        }
+        if (offsets) {
+            if (preRendered)
+                return renderedResponse(RenderedResponseCache.Endpoint.HIGHLIGHT_OFFSETS, sort, snapshot, gzip, etag,
+                        () -> pokemonService.getPokemonsWithHighlightOffsets(snapshot, null, sort, null, null, null));
+            PokemonResponseDTO<PokemonHighlightOffsetsDTO> responseDTO = pokemonService.getPokemonsWithHighlightOffsets(snapshot, query, sort, limit, offset, cursor);
+            return ResponseEntity.ok().eTag(etag).body(responseDTO);
+        }
+        if (preRendered)
+            return renderedResponse(RenderedResponseCache.Endpoint.HIGHLIGHT, sort, snapshot, gzip, etag,
+                    () -> pokemonService.getPokemonsWithHighlight(snapshot, null, sort, null, null, null));
+        PokemonResponseDTO<PokemonHighlightDTO> responseDTO = pokemonService.getPokemonsWithHighlight(snapshot, query, sort, limit, offset, cursor);
+        return ResponseEntity.ok().eTag(etag).body(responseDTO);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<PokemonResponseDTO<String>> getSuggestions(@RequestParam(value = "prefix", required = false) String prefix,
+                                                                     @RequestParam(value = "limit", required = false) Integer limit,
+                                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CatalogSnapshot snapshot = pokemonService.loadSnapshot();
+        String etag = ETagUtils.strongETag(snapshot.getVersion(), "suggest", normalize(prefix), limit);
+        if (ETagUtils.matches(ifNoneMatch, etag))
+            return notModified(etag);
+        return ResponseEntity.ok().eTag(etag).body(pokemonService.getSuggestions(snapshot, prefix, limit));
+    }
+
+    /*
+     Várias consultas (query, sort, limit e um id opcional) em uma única requisição, respondidas com uma única passada
+     pelos nomes do catálogo. Pensado para o BFF, que antes fazia dezenas de chamadas a /pokemons por página.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<PokemonBatchResponseDTO> getPokemonsBatch(@RequestBody List<PokemonBatchQueryDTO> queries) {
+        return ResponseEntity.ok(pokemonService.getPokemonsBatch(queries));
+    }
+
+    private static boolean isStreamingRequested(boolean stream, String accept) {
+        return stream || (accept != null && accept.contains(APPLICATION_NDJSON_VALUE));
+    }
+
+    private static boolean isFullListing(String query, Integer limit, Integer offset, String cursor) {
+        return normalize(query).isEmpty() && limit == null && offset == null && cursor == null;
+    }
+
+    // Mesma normalização do serviço: a resposta não muda com maiúsculas/minúsculas nem com espaços nas pontas.
+    private static String normalize(String query) {
+        return query == null ? "" : query.trim().toLowerCase();
+    }
+
+    // Cada representação da mesma URL (JSON, NDJSON, JSON compactado) precisa de um ETag forte próprio:
+    private static String representation(boolean streaming, boolean gzip) {
+        if (streaming)
+            return APPLICATION_NDJSON_VALUE;
+        return gzip ? MediaType.APPLICATION_JSON_VALUE + "+" + GZIP : MediaType.APPLICATION_JSON_VALUE;
+    }
+
+    /**
+     * Verifica se o cliente aceita respostas compactadas com gzip, ou seja, se o {@code Accept-Encoding} lista
+     * {@code gzip} (ou {@code *}) sem {@code q=0}.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null)
+            return false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase(GZIP) && !name.equals("*"))
+                continue;
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().replace(" ", "");
+                if (parameter.startsWith("q=") && parameter.substring(2).matches("0(\\.0{0,3})?"))
+                    refused = true;
+            }
+            if (!refused)
+                return true;
+        }
+        return false;
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    /**
+     * Responde com a listagem completa já serializada para a fotografia, serializando-a apenas na primeira requisição
+     * por ordenação. Os bytes são escritos direto na resposta, sem passar pelo Jackson. Só a resposta compactada traz
+     * {@code Content-Encoding} e {@code Vary}.
+     *
+     * @param snapshot A fotografia usada no ETag, da qual a resposta também deve ser montada.
+     * @param responseDTO Monta a resposta a partir da fotografia, caso ainda não tenha sido serializada.
+     */
+    private ResponseEntity<byte[]> renderedResponse(RenderedResponseCache.Endpoint endpoint, String sort, CatalogSnapshot snapshot, boolean gzip,
+                                                    String etag, Supplier<PokemonResponseDTO<?>> responseDTO) {
+        RenderedResponseCache.RenderedResponse rendered = renderedResponses.get(endpoint, SortType.fromString(sort), snapshot.getVersion(),
+                () -> objectMapper.writeValueAsBytes(responseDTO.get()));
+        byte[] body = gzip ? rendered.getGzipBody() : rendered.getBody();
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .contentLength(body.length);
+        if (gzip)
+            builder.header(HttpHeaders.CONTENT_ENCODING, GZIP).header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        return builder.body(body);
+    }
+
+    /**
+     * Cria uma resposta NDJSON: cada objeto entregue ao {@code writer} é serializado direto no socket, seguido de uma
+     * quebra de linha, de forma que o consumo de memória da requisição não cresce com o tamanho do resultado.
+     *
+     * @param etag O ETag da resposta, ou nulo.
+     * @param producer Função que produz os resultados, entregando-os ao writer recebido.
+     * @return A resposta em streaming.
+     */
+    private ResponseEntity<StreamingResponseBody> streamResponse(String etag, Consumer<Consumer<Object>> producer) {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = streamWriter.createGenerator(outputStream)) {
+                // Sem separador entre valores na raiz: cada linha termina com a quebra de linha escrita abaixo.
+                generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+                producer.accept(value -> {
+                    try {
+                        streamWriter.writeValue(generator, value);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).eTag(etag).body(body);
     }
 }
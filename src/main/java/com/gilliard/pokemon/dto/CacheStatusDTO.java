@@ -0,0 +1,89 @@
+package com.gilliard.pokemon.dto;
+
+import java.time.Instant;
+
+public class CacheStatusDTO {
+    private final long version;
+    private final int size;
+    private final Instant loadedAt;
+    private final Long ageSeconds;
+    private final long ttlSeconds;
+    private final boolean refreshing;
+    private final Instant lastRefreshAt;
+    private final long lastRefreshDurationMillis;
+    private final long refreshCount;
+    private final long failureCount;
+    private final int consecutiveFailures;
+    private final String lastError;
+    private final Instant nextAttemptAt;
+
+    public CacheStatusDTO(long version, int size, Instant loadedAt, Long ageSeconds, long ttlSeconds, boolean refreshing,
+                          Instant lastRefreshAt, long lastRefreshDurationMillis, long refreshCount, long failureCount,
+                          int consecutiveFailures, String lastError, Instant nextAttemptAt) {
+        this.version = version;
+        this.size = size;
+        this.loadedAt = loadedAt;
+        this.ageSeconds = ageSeconds;
+        this.ttlSeconds = ttlSeconds;
+        this.refreshing = refreshing;
+        this.lastRefreshAt = lastRefreshAt;
+        this.lastRefreshDurationMillis = lastRefreshDurationMillis;
+        this.refreshCount = refreshCount;
+        this.failureCount = failureCount;
+        this.consecutiveFailures = consecutiveFailures;
+        this.lastError = lastError;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public Long getAgeSeconds() {
+        return ageSeconds;
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public boolean isRefreshing() {
+        return refreshing;
+    }
+
+    public Instant getLastRefreshAt() {
+        return lastRefreshAt;
+    }
+
+    public long getLastRefreshDurationMillis() {
+        return lastRefreshDurationMillis;
+    }
+
+    public long getRefreshCount() {
+        return refreshCount;
+    }
+
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+}
@@ -0,0 +1,43 @@
+package com.gilliard.pokemon.dto;
+
+public class DetailCacheStatsDTO {
+    private final int entries;
+    private final int maxEntries;
+    private final long hits;
+    private final long misses;
+    private final double hitRatio;
+    private final long evictions;
+
+    public DetailCacheStatsDTO(int entries, int maxEntries, long hits, long misses, double hitRatio, long evictions) {
+        this.entries = entries;
+        this.maxEntries = maxEntries;
+        this.hits = hits;
+        this.misses = misses;
+        this.hitRatio = hitRatio;
+        this.evictions = evictions;
+    }
+
+    public int getEntries() {
+        return entries;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public double getHitRatio() {
+        return hitRatio;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+}
@@ -0,0 +1,55 @@
+package com.gilliard.pokemon.dto;
+
+/*
+ Uma consulta de POST /pokemons/batch, com os mesmos parâmetros de GET /pokemons (query, sort e limit). O id é
+ opcional e identifica o resultado na resposta; sem ele, a posição da consulta no lote é usada, prefixada com "#"
+ (por exemplo "#0"). Por isso, os ids informados não podem começar com "#".
+ */
+public class PokemonBatchQueryDTO {
+    private String id;
+    private String query;
+    private String sort;
+    private Integer limit;
+
+    public PokemonBatchQueryDTO() {
+    }
+
+    public PokemonBatchQueryDTO(String id, String query, String sort, Integer limit) {
+        this.id = id;
+        this.query = query;
+        this.sort = sort;
+        this.limit = limit;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+}
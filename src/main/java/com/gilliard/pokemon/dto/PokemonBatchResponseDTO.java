@@ -0,0 +1,23 @@
+package com.gilliard.pokemon.dto;
+
+import java.util.Map;
+
+/*
+ Resposta de POST /pokemons/batch: o resultado de cada consulta do lote, na ordem do lote, identificado pelo id da
+ consulta (ou pela sua posição, como "#0"). Cada resultado traz o total de nomes encontrados, mesmo quando limitado por limit.
+ */
+public class PokemonBatchResponseDTO {
+    private Map<String, PokemonResponseDTO<String>> results;
+
+    public PokemonBatchResponseDTO(Map<String, PokemonResponseDTO<String>> results) {
+        this.results = results;
+    }
+
+    public Map<String, PokemonResponseDTO<String>> getResults() {
+        return results;
+    }
+
+    public void setResults(Map<String, PokemonResponseDTO<String>> results) {
+        this.results = results;
+    }
+}
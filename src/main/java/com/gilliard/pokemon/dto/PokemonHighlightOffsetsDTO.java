@@ -0,0 +1,23 @@
+package com.gilliard.pokemon.dto;
+
+/*
+ Cada intervalo em spans é um par [início, fim) de posições do nome, com fim exclusivo, indicando uma ocorrência da
+ consulta. O cliente decide como destacar cada trecho.
+ */
+public class PokemonHighlightOffsetsDTO {
+    private final String name;
+    private final int[][] spans;
+
+    public PokemonHighlightOffsetsDTO(String name, int[][] spans) {
+        this.name = name;
+        this.spans = spans;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int[][] getSpans() {
+        return spans;
+    }
+}
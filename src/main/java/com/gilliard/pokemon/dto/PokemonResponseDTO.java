@@ -1,14 +1,29 @@
 package com.gilliard.pokemon.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
+/*
+ Os campos de paginação (total e nextCursor) só são preenchidos quando a requisição é paginada; caso contrário são
+ omitidos do JSON e a resposta mantém o formato original.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PokemonResponseDTO<T> {
     private List<T> result;
+    private Integer total;
+    private String nextCursor;
 
     public PokemonResponseDTO(List<T> result) {
         this.result = result;
     }
 
+    public PokemonResponseDTO(List<T> result, Integer total, String nextCursor) {
+        this.result = result;
+        this.total = total;
+        this.nextCursor = nextCursor;
+    }
+
     public List<T> getResult() {
         return result;
     }
@@ -16,5 +31,20 @@ public class PokemonResponseDTO<T> {
     public void setResult(List<T> result) {
         this.result = result;
     }
-}
 
+    public Integer getTotal() {
+        return total;
+    }
+
+    public void setTotal(Integer total) {
+        this.total = total;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,62 @@
+package com.gilliard.pokemon.dto;
+
+public class QueryCacheStatsDTO {
+    private final int entries;
+    private final int maxEntries;
+    private final long weightBytes;
+    private final long maxWeightBytes;
+    private final long hits;
+    private final long misses;
+    private final double hitRatio;
+    private final long evictions;
+    private final long invalidations;
+
+    public QueryCacheStatsDTO(int entries, int maxEntries, long weightBytes, long maxWeightBytes, long hits, long misses,
+                              double hitRatio, long evictions, long invalidations) {
+        this.entries = entries;
+        this.maxEntries = maxEntries;
+        this.weightBytes = weightBytes;
+        this.maxWeightBytes = maxWeightBytes;
+        this.hits = hits;
+        this.misses = misses;
+        this.hitRatio = hitRatio;
+        this.evictions = evictions;
+        this.invalidations = invalidations;
+    }
+
+    public int getEntries() {
+        return entries;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getWeightBytes() {
+        return weightBytes;
+    }
+
+    public long getMaxWeightBytes() {
+        return maxWeightBytes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public double getHitRatio() {
+        return hitRatio;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getInvalidations() {
+        return invalidations;
+    }
+}
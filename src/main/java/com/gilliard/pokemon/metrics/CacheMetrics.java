@@ -0,0 +1,110 @@
+package com.gilliard.pokemon.metrics;
+
+import com.gilliard.pokemon.cache.CatalogSnapshot;
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.cache.PokemonDetailCache;
+import com.gilliard.pokemon.cache.QueryResultCache;
+import com.gilliard.pokemon.service.CatalogRefreshService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expõe o estado das caches como medidores: tamanho, versão e idade do catálogo, duração e falhas da recarga e os
+ * contadores da {@link QueryResultCache} e da {@link PokemonDetailCache}.<br>
+ *
+ * Os valores são lidos apenas quando o registro é consultado (por exemplo, a cada coleta do Prometheus), sem custo
+ * nas requisições.
+ */
+@Component
+public class CacheMetrics implements MeterBinder {
+    private final CatalogRefreshService catalogRefreshService;
+    private final QueryResultCache queryResultCache;
+    private final PokemonDetailCache detailCache;
+    private final Clock clock;
+
+    public CacheMetrics(CatalogRefreshService catalogRefreshService, QueryResultCache queryResultCache,
+                        PokemonDetailCache detailCache) {
+        this.catalogRefreshService = catalogRefreshService;
+        this.queryResultCache = queryResultCache;
+        this.detailCache = detailCache;
+        this.clock = Clock.systemUTC();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        PokemonCache pokemonCache = PokemonCache.getInstance();
+        Gauge.builder("pokemon.cache.size", pokemonCache, cache -> cache.getSnapshot().size())
+                .description("Quantidade de Pokémons na fotografia atual do catálogo")
+                .baseUnit("pokemons")
+                .register(registry);
+        Gauge.builder("pokemon.cache.version", pokemonCache, cache -> cache.getSnapshot().getVersion())
+                .description("Versão da fotografia atual do catálogo")
+                .register(registry);
+        TimeGauge.builder("pokemon.cache.age", pokemonCache, TimeUnit.SECONDS, this::ageSeconds)
+                .description("Idade da fotografia atual do catálogo (NaN enquanto a cache estiver vazia)")
+                .register(registry);
+        Gauge.builder("pokemon.cache.refreshing", pokemonCache, cache -> cache.isLoading() ? 1 : 0)
+                .description("1 enquanto uma carga do catálogo está em andamento")
+                .register(registry);
+
+        TimeGauge.builder("pokemon.cache.refresh.duration", catalogRefreshService, TimeUnit.MILLISECONDS,
+                        service -> service.getStatus().getLastRefreshDurationMillis())
+                .description("Duração da última recarga do catálogo em segundo plano")
+                .register(registry);
+        FunctionCounter.builder("pokemon.cache.refresh.failures", catalogRefreshService, service -> service.getStatus().getFailureCount())
+                .description("Falhas na recarga do catálogo em segundo plano")
+                .register(registry);
+        Gauge.builder("pokemon.cache.refresh.consecutive.failures", catalogRefreshService,
+                        service -> service.getStatus().getConsecutiveFailures())
+                .description("Falhas seguidas na recarga do catálogo")
+                .register(registry);
+
+        Gauge.builder("pokemon.query.cache.entries", queryResultCache, cache -> cache.getStats().getEntries())
+                .description("Entradas na cache de resultados das buscas")
+                .register(registry);
+        Gauge.builder("pokemon.query.cache.weight", queryResultCache, cache -> cache.getStats().getWeightBytes())
+                .description("Peso estimado da cache de resultados das buscas")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("pokemon.query.cache.hits", queryResultCache, cache -> cache.getStats().getHits())
+                .description("Buscas atendidas pela cache de resultados")
+                .register(registry);
+        FunctionCounter.builder("pokemon.query.cache.misses", queryResultCache, cache -> cache.getStats().getMisses())
+                .description("Buscas não encontradas na cache de resultados")
+                .register(registry);
+        FunctionCounter.builder("pokemon.query.cache.evictions", queryResultCache, cache -> cache.getStats().getEvictions())
+                .description("Entradas descartadas pelos limites da cache de resultados")
+                .register(registry);
+        FunctionCounter.builder("pokemon.query.cache.invalidations", queryResultCache, cache -> cache.getStats().getInvalidations())
+                .description("Entradas descartadas pela publicação de uma nova fotografia do catálogo")
+                .register(registry);
+
+        Gauge.builder("pokemon.detail.cache.entries", detailCache, cache -> cache.getStats().getEntries())
+                .description("Pokémons com detalhes na cache")
+                .register(registry);
+        FunctionCounter.builder("pokemon.detail.cache.hits", detailCache, cache -> cache.getStats().getHits())
+                .description("Detalhes encontrados na cache")
+                .register(registry);
+        FunctionCounter.builder("pokemon.detail.cache.misses", detailCache, cache -> cache.getStats().getMisses())
+                .description("Detalhes não encontrados na cache")
+                .register(registry);
+        FunctionCounter.builder("pokemon.detail.cache.evictions", detailCache, cache -> cache.getStats().getEvictions())
+                .description("Detalhes descartados pelo limite da cache")
+                .register(registry);
+    }
+
+    private double ageSeconds(PokemonCache cache) {
+        CatalogSnapshot snapshot = cache.getSnapshot();
+        if (snapshot.isEmpty())
+            return Double.NaN;
+        return Duration.between(snapshot.getLoadedAt(), clock.instant()).toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,315 @@
+package com.gilliard.pokemon.metrics;
+
+import com.gilliard.pokemon.model.SortType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Medidores (Micrometer) dos caminhos de busca e da carga do catálogo.<br>
+ *
+ * Todas as tags têm um conjunto fechado de valores (enums, resultado da operação, classe da exceção): a consulta
+ * digitada pelo usuário nunca vira tag, para que a quantidade de séries no Prometheus não cresça com o tráfego.<br>
+ *
+ * Os medidores são registrados na primeira vez em que cada combinação de tags é usada e guardados em arrays indexados
+ * pelos enums, evitando montar um builder e consultar o registro a cada requisição.
+ */
+@Component
+public class PokemonMetrics {
+    // Percentis calculados na aplicação, além do histograma exportado para o Prometheus:
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    /**
+     * Operações de busca medidas, usadas como valor da tag {@code endpoint}.
+     */
+    public enum Endpoint {
+        POKEMONS,
+        HIGHLIGHT,
+        HIGHLIGHT_OFFSETS,
+        FUZZY,
+        SUGGEST,
+        BATCH
+    }
+
+    /**
+     * Origem do resultado, usada como valor da tag {@code source}: a cache de resultados, os índices da fotografia
+     * (resultado completo) ou uma página selecionada dos índices.
+     */
+    public enum Source {
+        CACHE,
+        INDEX,
+        PAGE
+    }
+
+    /**
+     * Etapas de uma busca calculada a partir da fotografia, usadas como valor da tag {@code phase}.
+     */
+    public enum Phase {
+        FILTER,
+        SORT,
+        MAP
+    }
+
+    private final MeterRegistry registry;
+    private final AtomicReferenceArray<Timer> searchTimers =
+            new AtomicReferenceArray<>(Endpoint.values().length * SortType.values().length * Source.values().length);
+    private final AtomicReferenceArray<DistributionSummary> resultSizes =
+            new AtomicReferenceArray<>(Endpoint.values().length * SortType.values().length);
+    private final AtomicReferenceArray<Timer> phaseTimers = new AtomicReferenceArray<>(Phase.values().length * SortType.values().length);
+    private final Timer upstreamSuccess;
+    private final Timer upstreamFailure;
+    private final Timer detailSuccess;
+    private final Timer detailFailure;
+    private final Counter detailCoalesced;
+    private final Timer batchTimer;
+    private final DistributionSummary batchQueries;
+    private final Timer catalogLoadSuccess;
+    private final Timer catalogLoadFailure;
+
+    /**
+     * Cria os medidores sobre um registro sem destino: usado quando a aplicação é montada fora do Spring (testes,
+     * benchmarks), onde as medições são descartadas.
+     */
+    public PokemonMetrics() {
+        this(new CompositeMeterRegistry());
+    }
+
+    @Autowired
+    public PokemonMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.upstreamSuccess = upstreamTimer("success");
+        this.upstreamFailure = upstreamTimer("error");
+        this.detailSuccess = detailTimer("success");
+        this.detailFailure = detailTimer("error");
+        this.detailCoalesced = Counter.builder("pokemon.detail.coalesced")
+                .description("Buscas de detalhes atendidas por uma requisição já em andamento para o mesmo Pokémon")
+                .register(registry);
+        this.batchTimer = Timer.builder("pokemon.search.batch")
+                .description("Tempo de cada lote de POST /pokemons/batch, com todas as consultas")
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+        this.batchQueries = DistributionSummary.builder("pokemon.search.batch.queries")
+                .description("Quantidade de consultas por lote")
+                .publishPercentiles(PERCENTILES)
+                .register(registry);
+        this.catalogLoadSuccess = catalogLoadTimer("success");
+        this.catalogLoadFailure = catalogLoadTimer("error");
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Registra uma busca concluída: o tempo desde {@code startNanos} e a quantidade de resultados devolvidos.
+     *
+     * @param endpoint A operação de busca.
+     * @param sortType O critério de ordenação.
+     * @param source De onde veio o resultado.
+     * @param startNanos Valor de {@link System#nanoTime()} no início da busca.
+     * @param resultCount Quantidade de resultados devolvidos.
+     */
+    public void recordSearch(Endpoint endpoint, SortType sortType, Source source, long startNanos, int resultCount) {
+        searchTimer(endpoint, sortType, source).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        resultSize(endpoint, sortType).record(resultCount);
+    }
+
+    /**
+     * Registra apenas a quantidade de resultados de uma busca cujo tempo é medido em conjunto com outras (as consultas
+     * de um lote, ver {@link #recordBatch(long, int)}).
+     */
+    public void recordResults(Endpoint endpoint, SortType sortType, int resultCount) {
+        resultSize(endpoint, sortType).record(resultCount);
+    }
+
+    /**
+     * Registra um lote de consultas concluído: o tempo desde {@code startNanos}, uma única vez para o lote inteiro.
+     *
+     * @param startNanos Valor de {@link System#nanoTime()} no início do lote.
+     * @param queryCount Quantidade de consultas do lote.
+     */
+    public void recordBatch(long startNanos, int queryCount) {
+        batchTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        batchQueries.record(queryCount);
+    }
+
+    /**
+     * Registra o tempo de uma etapa (filtro, ordenação ou montagem dos resultados) de uma busca calculada a partir da
+     * fotografia.
+     *
+     * @return O valor atual de {@link System#nanoTime()}, para encadear a medição da próxima etapa.
+     */
+    public long recordPhase(Phase phase, SortType sortType, long startNanos) {
+        long now = System.nanoTime();
+        phaseTimer(phase, sortType).record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    /**
+     * Registra a busca de uma página da API externa. Em caso de falha, também incrementa o contador de erros com a
+     * classe da exceção.
+     *
+     * @param startNanos Valor de {@link System#nanoTime()} no início da requisição.
+     * @param error A falha da requisição, ou null se ela foi concluída.
+     */
+    public void recordUpstreamPage(long startNanos, Throwable error) {
+        long elapsed = System.nanoTime() - startNanos;
+        if (error == null) {
+            upstreamSuccess.record(elapsed, TimeUnit.NANOSECONDS);
+            return;
+        }
+        upstreamFailure.record(elapsed, TimeUnit.NANOSECONDS);
+        countUpstreamError(error);
+    }
+
+    /**
+     * Registra a busca do documento de detalhes de um Pokémon na API externa. Em caso de falha, também incrementa o
+     * contador de erros com a classe da exceção.
+     *
+     * @param startNanos Valor de {@link System#nanoTime()} no início da requisição.
+     * @param error A falha da requisição, ou null se ela foi concluída.
+     */
+    public void recordUpstreamDetail(long startNanos, Throwable error) {
+        long elapsed = System.nanoTime() - startNanos;
+        if (error == null) {
+            detailSuccess.record(elapsed, TimeUnit.NANOSECONDS);
+            return;
+        }
+        detailFailure.record(elapsed, TimeUnit.NANOSECONDS);
+        countUpstreamError(error);
+    }
+
+    /**
+     * Registra uma busca de detalhes que aproveitou a requisição já em andamento para o mesmo Pokémon.
+     */
+    public void recordDetailCoalesced() {
+        detailCoalesced.increment();
+    }
+
+    /**
+     * Registra uma nova tentativa de requisição à API externa.
+     *
+     * @param reason Motivo da nova tentativa, de um conjunto fechado ({@code timeout}, {@code io}, {@code status_429},
+     *               {@code status_5xx}).
+     */
+    public void recordUpstreamRetry(String reason) {
+        Counter.builder("pokemon.upstream.retries")
+                .description("Novas tentativas de requisição à API externa, por motivo")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Registra uma carga completa do catálogo a partir da API externa.
+     *
+     * @param startNanos Valor de {@link System#nanoTime()} no início da carga.
+     * @param success Se a carga foi concluída.
+     */
+    public void recordCatalogLoad(long startNanos, boolean success) {
+        (success ? catalogLoadSuccess : catalogLoadFailure).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer searchTimer(Endpoint endpoint, SortType sortType, Source source) {
+        int index = (endpoint.ordinal() * SortType.values().length + sortType.ordinal()) * Source.values().length + source.ordinal();
+        Timer timer = searchTimers.get(index);
+        if (timer == null) {
+            // Registrar duas vezes devolve o mesmo medidor, então a corrida entre requisições é inofensiva.
+            timer = Timer.builder("pokemon.search")
+                    .description("Tempo das buscas no catálogo, sem a serialização da resposta")
+                    .tags("endpoint", tagValue(endpoint), "sort", tagValue(sortType), "source", tagValue(source))
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(1_000))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(registry);
+            searchTimers.set(index, timer);
+        }
+        return timer;
+    }
+
+    private DistributionSummary resultSize(Endpoint endpoint, SortType sortType) {
+        int index = endpoint.ordinal() * SortType.values().length + sortType.ordinal();
+        DistributionSummary summary = resultSizes.get(index);
+        if (summary == null) {
+            summary = DistributionSummary.builder("pokemon.search.results")
+                    .description("Quantidade de resultados devolvidos por busca")
+                    .baseUnit("pokemons")
+                    .tags("endpoint", tagValue(endpoint), "sort", tagValue(sortType))
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            resultSizes.set(index, summary);
+        }
+        return summary;
+    }
+
+    private Timer phaseTimer(Phase phase, SortType sortType) {
+        int index = phase.ordinal() * SortType.values().length + sortType.ordinal();
+        Timer timer = phaseTimers.get(index);
+        if (timer == null) {
+            timer = Timer.builder("pokemon.search.phase")
+                    .description("Tempo de cada etapa das buscas calculadas a partir da fotografia do catálogo")
+                    .tags("phase", tagValue(phase), "sort", tagValue(sortType))
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(1_000))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(registry);
+            phaseTimers.set(index, timer);
+        }
+        return timer;
+    }
+
+    private Timer upstreamTimer(String outcome) {
+        return Timer.builder("pokemon.upstream.page")
+                .description("Tempo da busca de cada página da listagem na API externa")
+                .tag("outcome", outcome)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry);
+    }
+
+    private Timer detailTimer(String outcome) {
+        return Timer.builder("pokemon.upstream.detail")
+                .description("Tempo da busca do documento de detalhes de cada Pokémon na API externa")
+                .tag("outcome", outcome)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry);
+    }
+
+    private void countUpstreamError(Throwable error) {
+        Counter.builder("pokemon.upstream.errors")
+                .description("Falhas nas requisições à API externa, por classe da exceção")
+                .tag("exception", error.getClass().getSimpleName())
+                .register(registry)
+                .increment();
+    }
+
+    private Timer catalogLoadTimer(String outcome) {
+        return Timer.builder("pokemon.catalog.load")
+                .description("Tempo da carga completa do catálogo a partir da API externa")
+                .tag("outcome", outcome)
+                .publishPercentiles(PERCENTILES)
+                .register(registry);
+    }
+
+    static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,33 @@
+package com.gilliard.pokemon.metrics;
+
+import com.gilliard.pokemon.model.SortType;
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Acrescenta a tag {@code sort} à métrica {@code http.server.requests}, que mede a requisição inteira (inclusive a
+ * serialização da resposta).<br>
+ *
+ * O valor é o {@link SortType} resolvido a partir do parâmetro, e não o parâmetro em si: valores desconhecidos caem
+ * no padrão, como na busca, e a quantidade de séries fica limitada. A consulta nunca é usada como tag.
+ */
+@Component
+public class SearchRequestObservationConvention extends DefaultServerRequestObservationConvention {
+    private static final String SEARCH_PATH = "/pokemons";
+    private static final String NONE = "none";
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and("sort", sortTag(context.getCarrier()));
+    }
+
+    private static String sortTag(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri == null || !uri.startsWith(SEARCH_PATH))
+            return NONE;
+        return PokemonMetrics.tagValue(SortType.fromString(request.getParameter("sort")));
+    }
+}
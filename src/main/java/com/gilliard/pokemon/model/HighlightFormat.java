@@ -0,0 +1,32 @@
+package com.gilliard.pokemon.model;
+
+/**
+ * Enum para definir o formato do destaque no endpoint de highlight.
+ */
+public enum HighlightFormat {
+
+    /**
+     * Nome com a primeira ocorrência da consulta envolvida pela tag pre (formato original).
+     */
+    PRE,
+
+    /**
+     * Nome sem marcação, acompanhado dos intervalos {@code [início, fim)} de todas as ocorrências da consulta.
+     */
+    OFFSETS;
+
+    /**
+     * Converte uma string em um HighlightFormat válido.
+     *
+     * @param value String do formato.
+     * @return HighlightFormat correspondente, ou PRE se o valor não for reconhecido.
+     */
+    public static HighlightFormat fromString(String value) {
+        for (HighlightFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        return PRE;
+    }
+}
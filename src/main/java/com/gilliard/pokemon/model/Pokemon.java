@@ -1,9 +1,15 @@
 package com.gilliard.pokemon.model;
 
+import java.util.Objects;
+
+import static com.gilliard.pokemon.utils.StringUtils.toSortKey;
+
 public class Pokemon {
     private final String id;
     private final String name;
     private final String url;
+    // Calculada uma única vez, na primeira ordenação (normalmente ao construir a fotografia da cache):
+    private String sortKey;
 
     public Pokemon(String id, String name, String url) {
         this.id = id;
@@ -20,6 +26,38 @@ public class Pokemon {
         return url;
     }
 
+    /**
+     * Chave usada na ordenação por nome: o nome com caracteres especiais substituídos por espaço.
+     *
+     * @return A chave de ordenação do Pokémon.
+     */
+    public String getSortKey() {
+        String key = sortKey;
+        if (key == null) {
+            key = toSortKey(name);
+            sortKey = key;
+        }
+        return key;
+    }
+
+    /**
+     * Dois Pokémons são iguais quando têm o mesmo ID, nome e URL. A fotografia do catálogo guarda os campos em colunas
+     * e cria um objeto novo a cada acesso, então a comparação não pode depender da identidade.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other)
+            return true;
+        if (!(other instanceof Pokemon pokemon))
+            return false;
+        return Objects.equals(id, pokemon.id) && Objects.equals(name, pokemon.name) && Objects.equals(url, pokemon.url);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, url);
+    }
+
     @Override
     public String toString() {
         return "Pokemon{id='" + id + "', name='" + name + "'}";
@@ -0,0 +1,57 @@
+package com.gilliard.pokemon.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Detalhes de um Pokémon lidos do documento individual da API externa ({@link Pokemon#getUrl()}): os tipos e os
+ * atributos base. Os demais campos do documento (golpes, sprites, etc.) não são guardados.
+ */
+public class PokemonDetail {
+    // Atributo ausente no documento:
+    public static final int UNKNOWN_STAT = -1;
+
+    private final String id;
+    private final String name;
+    private final List<String> types;
+    private final int[] baseStats;
+
+    /**
+     * @param id O ID do Pokémon.
+     * @param name O nome do Pokémon.
+     * @param types Os tipos, na ordem de slot da API, em minúsculas.
+     * @param baseStats Os atributos base indexados por {@link Stat#ordinal()}, com {@link #UNKNOWN_STAT} quando ausentes.
+     */
+    public PokemonDetail(String id, String name, List<String> types, int[] baseStats) {
+        if (baseStats.length != Stat.values().length)
+            throw new IllegalArgumentException("baseStats deve ter um valor por Stat");
+        this.id = id;
+        this.name = name;
+        this.types = List.copyOf(types);
+        this.baseStats = baseStats.clone();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getTypes() {
+        return types;
+    }
+
+    /**
+     * Retorna o atributo base informado, ou {@link #UNKNOWN_STAT} se a API não o trouxer.
+     */
+    public int getBaseStat(Stat stat) {
+        return baseStats[stat.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        return "PokemonDetail{id='" + id + "', name='" + name + "', types=" + types + ", baseStats=" + Arrays.toString(baseStats) + "}";
+    }
+}
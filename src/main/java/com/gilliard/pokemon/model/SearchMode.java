@@ -0,0 +1,33 @@
+package com.gilliard.pokemon.model;
+
+/**
+ * Enum para definir os modos de busca pelo nome dos Pokémons.
+ */
+public enum SearchMode {
+
+    /**
+     * O nome deve conter a consulta, ignorando maiúsculas e minúsculas.
+     */
+    EXACT,
+
+    /**
+     * O nome deve estar a poucas edições (inserção, remoção ou troca de um caractere) da consulta, tolerando erros de
+     * digitação. Os resultados vêm dos mais próximos para os mais distantes.
+     */
+    FUZZY;
+
+    /**
+     * Converte uma string em um SearchMode válido.
+     *
+     * @param value String do modo de busca.
+     * @return SearchMode correspondente, ou EXACT se o valor não for reconhecido.
+     */
+    public static SearchMode fromString(String value) {
+        for (SearchMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        return EXACT;
+    }
+}
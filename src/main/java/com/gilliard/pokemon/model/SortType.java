@@ -1,6 +1,6 @@
 package com.gilliard.pokemon.model;
 
-import java.util.function.BiFunction;
+import java.util.Comparator;
 
 /**
  * Enum para definir os tipos de ordenação da lista de Pokémon.
@@ -8,28 +8,29 @@ import java.util.function.BiFunction;
 public enum SortType {
 
     /**
-     * Ordena por nome em ordem alfabética crescente (A-Z), ignorando caracteres especiais.
+     * Ordena por nome em ordem alfabética crescente (A-Z), ignorando caracteres especiais.<br>
+     * Compara a chave de ordenação pré-calculada de cada Pokémon ({@link Pokemon#getSortKey()}).
      */
-    NAME((p1, p2) -> cleanString(p1.getName()).compareTo(cleanString(p2.getName()))),
+    NAME(Comparator.comparing(Pokemon::getSortKey)),
 
     /**
      * Ordena de forma crescente pelo tamanho do nome.
      */
     LENGTH((p1, p2) -> Integer.compare(p1.getName().length(), p2.getName().length()));
 
-    private final BiFunction<Pokemon, Pokemon, Integer> evaluator;
+    private final Comparator<Pokemon> comparator;
 
-    SortType(BiFunction<Pokemon, Pokemon, Integer> evaluator) {
-        this.evaluator = evaluator;
+    SortType(Comparator<Pokemon> comparator) {
+        this.comparator = comparator;
     }
 
     /**
      * Retorna a função de comparação associada ao tipo de ordenação.
      *
-     * @return BiFunction que compara dois Pokémon.
+     * @return Comparator que compara dois Pokémon, retornando um {@code int} primitivo.
      */
-    public BiFunction<Pokemon, Pokemon, Integer> getEvaluator() {
-        return evaluator;
+    public Comparator<Pokemon> getComparator() {
+        return comparator;
     }
 
     /**
@@ -46,17 +47,4 @@ public enum SortType {
         }
         return NAME;
     }
-
-    /**
-     * Remove caracteres especiais da string para evitar problemas de ordenação.
-     *
-     * @param name Nome do Pokémon.
-     * @return Nome sem caracteres especiais.
-     */
-    private static String cleanString(String name) {
-        String NON_ALPHANUMERIC_REGEX = "[^a-zA-Z0-9]";
-        return name.replaceAll(NON_ALPHANUMERIC_REGEX, " "); // Remove hífens e outros caracteres especiais
-    }
 }
-
-
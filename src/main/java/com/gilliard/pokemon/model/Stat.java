@@ -0,0 +1,42 @@
+package com.gilliard.pokemon.model;
+
+/**
+ * Enum para definir os atributos base de um Pokémon, com o nome usado pela API externa.
+ */
+public enum Stat {
+    HP("hp"),
+    ATTACK("attack"),
+    DEFENSE("defense"),
+    SPECIAL_ATTACK("special-attack"),
+    SPECIAL_DEFENSE("special-defense"),
+    SPEED("speed");
+
+    private final String apiName;
+
+    Stat(String apiName) {
+        this.apiName = apiName;
+    }
+
+    /**
+     * Nome do atributo na API externa (por exemplo, {@code special-attack}).
+     */
+    public String getApiName() {
+        return apiName;
+    }
+
+    /**
+     * Converte uma string (o nome da API ou o nome do enum, ignorando maiúsculas e minúsculas) em um Stat.<br>
+     * Diferente dos demais enums, não há um atributo padrão: um filtro por atributo desconhecido é inválido.
+     *
+     * @param value Nome do atributo.
+     * @return Stat correspondente, ou null se o valor não for reconhecido.
+     */
+    public static Stat fromString(String value) {
+        for (Stat stat : values()) {
+            if (stat.apiName.equalsIgnoreCase(value) || stat.name().equalsIgnoreCase(value)) {
+                return stat;
+            }
+        }
+        return null;
+    }
+}
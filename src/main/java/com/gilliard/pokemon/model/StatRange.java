@@ -0,0 +1,80 @@
+package com.gilliard.pokemon.model;
+
+/**
+ * Intervalo fechado {@code [min, max]} aceito para um atributo base, usado nos filtros da busca.
+ */
+public class StatRange {
+    private final Stat stat;
+    private final int min;
+    private final int max;
+
+    public StatRange(Stat stat, int min, int max) {
+        if (min > max)
+            throw new IllegalArgumentException("O mínimo de " + stat.getApiName() + " é maior que o máximo");
+        this.stat = stat;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Converte o formato do parâmetro {@code stat} em um intervalo: o nome do atributo, dois-pontos e o intervalo, com
+     * qualquer um dos limites opcional.
+     *
+     * <p>Exemplos:
+     * <pre>
+     *     parse("speed:100..")         // speed >= 100
+     *     parse("hp:..50")             // hp <= 50
+     *     parse("special-attack:90..120")
+     *     parse("defense:65")          // defense == 65
+     * </pre></p>
+     *
+     * @param value O valor do parâmetro.
+     * @return O intervalo correspondente.
+     * @throws IllegalArgumentException Se o atributo for desconhecido ou o intervalo estiver malformado.
+     */
+    public static StatRange parse(String value) {
+        int colon = value == null ? -1 : value.indexOf(':');
+        if (colon < 0)
+            throw new IllegalArgumentException("Filtro de atributo inválido: use nome:min..max");
+        Stat stat = Stat.fromString(value.substring(0, colon).trim());
+        if (stat == null)
+            throw new IllegalArgumentException("Atributo desconhecido: " + value.substring(0, colon).trim());
+
+        String range = value.substring(colon + 1).trim();
+        int dots = range.indexOf("..");
+        try {
+            if (dots < 0) {
+                int exact = Integer.parseInt(range);
+                return new StatRange(stat, exact, exact);
+            }
+            String min = range.substring(0, dots).trim();
+            String max = range.substring(dots + 2).trim();
+            if (min.isEmpty() && max.isEmpty())
+                throw new IllegalArgumentException("Filtro de atributo sem limites: " + value);
+            return new StatRange(stat, min.isEmpty() ? 0 : Integer.parseInt(min), max.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(max));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Filtro de atributo inválido: " + value);
+        }
+    }
+
+    public Stat getStat() {
+        return stat;
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    public boolean contains(int value) {
+        return value >= min && value <= max;
+    }
+
+    @Override
+    public String toString() {
+        return stat.getApiName() + ":" + min + ".." + (max == Integer.MAX_VALUE ? "" : max);
+    }
+}
@@ -0,0 +1,141 @@
+package com.gilliard.pokemon.service;
+
+import com.gilliard.pokemon.cache.CatalogSnapshot;
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.dto.CacheStatusDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mantém o catálogo da {@link PokemonCache} atualizado em segundo plano (stale-while-revalidate).<br>
+ *
+ * Periodicamente verifica a idade da fotografia atual e, quando ela ultrapassa o TTL configurado, recarrega o catálogo
+ * da API externa. Durante a recarga as requisições continuam sendo atendidas pela fotografia anterior, que só é
+ * substituída quando a nova estiver completa. Se a API externa falhar, os dados antigos são mantidos e a próxima
+ * tentativa é adiada com backoff exponencial.
+ */
+@Service
+public class CatalogRefreshService {
+    private static final Logger log = LoggerFactory.getLogger(CatalogRefreshService.class);
+
+    private final PokemonPageLoader pageLoader;
+    private final Duration ttl;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Clock clock;
+
+    private final AtomicLong refreshCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private volatile int consecutiveFailures;
+    private volatile Instant nextAttemptAt = Instant.EPOCH;
+    private volatile Instant lastRefreshAt;
+    private volatile long lastRefreshDurationMillis;
+    private volatile String lastError;
+
+    @Autowired
+    public CatalogRefreshService(PokemonPageLoader pageLoader,
+                                 @Value("${pokemon.cache.ttl:PT1H}") Duration ttl,
+                                 @Value("${pokemon.cache.refresh.initial-backoff:PT30S}") Duration initialBackoff,
+                                 @Value("${pokemon.cache.refresh.max-backoff:PT15M}") Duration maxBackoff) {
+        this(pageLoader, ttl, initialBackoff, maxBackoff, Clock.systemUTC());
+    }
+
+    public CatalogRefreshService(PokemonPageLoader pageLoader, Duration ttl, Duration initialBackoff, Duration maxBackoff, Clock clock) {
+        this.pageLoader = pageLoader;
+        this.ttl = ttl;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.clock = clock;
+    }
+
+    /**
+     * Verificação periódica: recarrega o catálogo se a fotografia atual estiver expirada e não houver backoff pendente.<br>
+     * Uma cache ainda vazia não é recarregada aqui; a primeira carga continua sendo feita sob demanda pelo {@link PokemonService}.
+     */
+    @Scheduled(fixedDelayString = "${pokemon.cache.refresh.check-interval:PT30S}")
+    public void refreshIfStale() {
+        CatalogSnapshot snapshot = PokemonCache.getInstance().getSnapshot();
+        Instant now = clock.instant();
+        if (snapshot.isEmpty() || now.isBefore(nextAttemptAt))
+            return;
+        if (Duration.between(snapshot.getLoadedAt(), now).compareTo(ttl) < 0)
+            return;
+        refresh();
+    }
+
+    /**
+     * Recarrega o catálogo imediatamente, mantendo a fotografia atual em caso de falha.
+     *
+     * @return true se a nova fotografia foi publicada; false se a API externa falhou.
+     */
+    public boolean refresh() {
+        Instant start = clock.instant();
+        try {
+            CatalogSnapshot published = PokemonCache.getInstance().refresh(pageLoader::loadAll).join();
+            lastRefreshDurationMillis = Duration.between(start, clock.instant()).toMillis();
+            lastRefreshAt = clock.instant();
+            lastError = null;
+            consecutiveFailures = 0;
+            nextAttemptAt = Instant.EPOCH;
+            refreshCount.incrementAndGet();
+            log.info("Catálogo recarregado: versão {} com {} pokémons em {}ms", published.getVersion(), published.size(), lastRefreshDurationMillis);
+            return true;
+        } catch (RuntimeException e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            lastRefreshDurationMillis = Duration.between(start, clock.instant()).toMillis();
+            lastError = String.valueOf(cause.getMessage());
+            failureCount.incrementAndGet();
+            int failures = ++consecutiveFailures;
+            nextAttemptAt = clock.instant().plus(backoff(failures));
+            log.warn("Falha ao recarregar o catálogo ({} falhas seguidas), mantendo os dados atuais até {}", failures, nextAttemptAt, cause);
+            return false;
+        }
+    }
+
+    /**
+     * Retorna o estado atual da cache e do processo de recarga.
+     *
+     * @return Um {@link CacheStatusDTO} com idade, duração e contadores de falha da recarga.
+     */
+    public CacheStatusDTO getStatus() {
+        PokemonCache pokemonCache = PokemonCache.getInstance();
+        CatalogSnapshot snapshot = pokemonCache.getSnapshot();
+        Instant now = clock.instant();
+        Long ageSeconds = snapshot.isEmpty() ? null : Duration.between(snapshot.getLoadedAt(), now).toSeconds();
+
+        return new CacheStatusDTO(
+                snapshot.getVersion(),
+                snapshot.size(),
+                snapshot.isEmpty() ? null : snapshot.getLoadedAt(),
+                ageSeconds,
+                ttl.toSeconds(),
+                pokemonCache.isLoading(),
+                lastRefreshAt,
+                lastRefreshDurationMillis,
+                refreshCount.get(),
+                failureCount.get(),
+                consecutiveFailures,
+                lastError,
+                nextAttemptAt.isAfter(now) ? nextAttemptAt : null
+        );
+    }
+
+    /**
+     * Calcula o tempo de espera após {@code failures} falhas seguidas: dobra a cada falha, limitado ao máximo configurado.
+     */
+    public Duration backoff(int failures) {
+        int exponent = Math.min(failures - 1, 30);
+        Duration delay = initialBackoff.multipliedBy(1L << exponent);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
@@ -0,0 +1,76 @@
+package com.gilliard.pokemon.service;
+
+import com.gilliard.pokemon.model.StatRange;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Filtro da busca pelos detalhes dos Pokémons: tipos (o Pokémon deve ter todos) e intervalos de atributos base.
+ */
+public final class DetailFilter {
+    private final List<String> types;
+    private final List<StatRange> ranges;
+    private final String key;
+
+    private DetailFilter(List<String> types, List<StatRange> ranges) {
+        this.types = List.copyOf(types);
+        this.ranges = List.copyOf(ranges);
+        StringBuilder key = new StringBuilder("type=").append(String.join(",", types));
+        for (StatRange range : ranges) {
+            key.append(";stat=").append(range);
+        }
+        this.key = key.toString();
+    }
+
+    /**
+     * Converte os parâmetros {@code type} (um ou mais tipos separados por vírgula) e {@code stat} (ver
+     * {@link StatRange#parse(String)}) em um filtro.
+     *
+     * @return O filtro, ou null se nenhum dos parâmetros foi informado.
+     * @throws InvalidFilterException Se algum atributo for desconhecido ou algum intervalo estiver malformado.
+     */
+    public static DetailFilter parse(String type, List<String> stats) {
+        // Ordenados e sem repetição, para que a chave não dependa da ordem dos parâmetros:
+        TreeSet<String> types = new TreeSet<>();
+        if (type != null) {
+            for (String part : type.split(",")) {
+                if (!part.isBlank())
+                    types.add(part.trim().toLowerCase());
+            }
+        }
+        List<StatRange> ranges = new ArrayList<>();
+        if (stats != null) {
+            for (String stat : stats) {
+                if (stat == null || stat.isBlank())
+                    continue;
+                try {
+                    ranges.add(StatRange.parse(stat));
+                } catch (IllegalArgumentException e) {
+                    throw new InvalidFilterException(e.getMessage());
+                }
+            }
+        }
+        if (types.isEmpty() && ranges.isEmpty())
+            return null;
+        ranges.sort(Comparator.comparing(StatRange::toString));
+        return new DetailFilter(new ArrayList<>(types), ranges);
+    }
+
+    List<String> getTypes() {
+        return types;
+    }
+
+    List<StatRange> getRanges() {
+        return ranges;
+    }
+
+    /**
+     * Representação canônica do filtro, usada na chave da cache de resultados e no cursor da paginação.
+     */
+    String key() {
+        return key;
+    }
+}
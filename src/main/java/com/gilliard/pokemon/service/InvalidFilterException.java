@@ -0,0 +1,15 @@
+package com.gilliard.pokemon.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Filtros de detalhes inválidos: atributo desconhecido, intervalo malformado ou filtro em um modo de busca que não o
+ * aceita.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidFilterException extends RuntimeException {
+    public InvalidFilterException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.gilliard.pokemon.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Parâmetros de paginação inválidos: limit/offset negativos ou cursor malformado, expirado ou de outra consulta.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidPageRequestException extends RuntimeException {
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,76 @@
+package com.gilliard.pokemon.service;
+
+import com.gilliard.pokemon.model.SortType;
+import com.gilliard.pokemon.utils.ETagUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco da paginação: identifica a versão da fotografia do catálogo, a posição da próxima página e a consulta
+ * que o originou (nome e filtros de detalhes). Enquanto a fotografia ainda estiver disponível na cache, as páginas
+ * seguintes são lidas dela, mesmo que o catálogo tenha sido recarregado entre uma página e outra.<br>
+ *
+ * A consulta entra no cursor como um resumo SHA-256 de 128 bits: um cursor de uma consulta não é aceito em outra por
+ * colisão de hash, como poderia acontecer com {@link String#hashCode()}.
+ */
+final class PageCursor {
+    // c1 usava String.hashCode(); cursores antigos são recusados como inválidos.
+    private static final String PREFIX = "c2";
+    private static final int QUERY_DIGEST_BYTES = 16;
+
+    private final long snapshotVersion;
+    private final int offset;
+    private final SortType sortType;
+    private final String queryDigest;
+
+    PageCursor(long snapshotVersion, int offset, SortType sortType, String caseInsensitiveQuery, String filterKey) {
+        this(snapshotVersion, offset, sortType, digest(caseInsensitiveQuery, filterKey));
+    }
+
+    private PageCursor(long snapshotVersion, int offset, SortType sortType, String queryDigest) {
+        this.snapshotVersion = snapshotVersion;
+        this.offset = offset;
+        this.sortType = sortType;
+        this.queryDigest = queryDigest;
+    }
+
+    long getSnapshotVersion() {
+        return snapshotVersion;
+    }
+
+    int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Verifica se o cursor foi gerado para a mesma consulta, filtro de detalhes e ordenação da requisição atual.
+     */
+    boolean matches(SortType sortType, String caseInsensitiveQuery, String filterKey) {
+        return this.sortType == sortType && this.queryDigest.equals(digest(caseInsensitiveQuery, filterKey));
+    }
+
+    String encode() {
+        String raw = String.join(":", PREFIX, Long.toString(snapshotVersion), Integer.toString(offset), sortType.name(), queryDigest);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            String[] parts = raw.split(":");
+            if (parts.length != 5 || !PREFIX.equals(parts[0]))
+                throw new InvalidPageRequestException("Cursor inválido");
+            int offset = Integer.parseInt(parts[2]);
+            if (offset < 0)
+                throw new InvalidPageRequestException("Cursor inválido");
+            return new PageCursor(Long.parseLong(parts[1]), offset, SortType.valueOf(parts[3]), parts[4]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageRequestException("Cursor inválido");
+        }
+    }
+
+    private static String digest(String caseInsensitiveQuery, String filterKey) {
+        return ETagUtils.digest(QUERY_DIGEST_BYTES, caseInsensitiveQuery, filterKey);
+    }
+}
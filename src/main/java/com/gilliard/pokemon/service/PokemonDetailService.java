@@ -0,0 +1,194 @@
+package com.gilliard.pokemon.service;
+
+import com.gilliard.pokemon.cache.CatalogSnapshot;
+import com.gilliard.pokemon.cache.DetailIndex;
+import com.gilliard.pokemon.cache.PokemonDetailCache;
+import com.gilliard.pokemon.client.PokeApiClient;
+import com.gilliard.pokemon.metrics.PokemonMetrics;
+import com.gilliard.pokemon.model.PokemonDetail;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Enriquecimento sob demanda dos Pokémons com os detalhes da API externa (tipos e atributos base).<br>
+ *
+ * A listagem só traz ID, nome e URL; os detalhes vêm de um documento por Pokémon. Eles são buscados apenas quando uma
+ * busca com filtro precisa deles e guardados na {@link PokemonDetailCache} e no {@link DetailIndex} da fotografia:
+ * <ul>
+ *     <li>as requisições à API externa, somadas entre todas as buscas em andamento, são limitadas por um semáforo
+ *     ({@code pokemon.detail.max-concurrency});</li>
+ *     <li>buscas simultâneas pelo mesmo Pokémon compartilham a mesma requisição (coalescência), em vez de repeti-la;</li>
+ *     <li>as posições que faltam são enriquecidas em lotes ({@code pokemon.detail.batch-size}): cada lote é disparado
+ *     de uma vez, cada detalhe é gravado no índice assim que chega, e uma busca sobre o catálogo inteiro não enfileira
+ *     milhares de requisições à frente das demais;</li>
+ *     <li>uma única busca pode precisar de no máximo {@code pokemon.detail.max-fetch-per-search} detalhes ainda não
+ *     indexados. Um filtro sem consulta ({@code type=} ou {@code stat=} sem {@code query}) enriquece o catálogo
+ *     inteiro na primeira vez; acima do limite a busca é recusada com {@link InvalidFilterException}, e o cliente deve
+ *     restringi-la com uma consulta.</li>
+ * </ul>
+ * A API externa não oferece busca de vários detalhes em uma única requisição; o lote agrupa as requisições individuais,
+ * que compartilham as conexões do {@link PokeApiClient}.
+ */
+@Service
+public class PokemonDetailService {
+    static final int DEFAULT_MAX_CONCURRENCY = 8;
+    static final int DEFAULT_BATCH_SIZE = 64;
+    static final int DEFAULT_MAX_FETCH_PER_SEARCH = 2000;
+
+    private final PokeApiClient apiClient;
+    private final PokemonDetailCache detailCache;
+    private final Semaphore permits;
+    private final int batchSize;
+    private final int maxFetchPerSearch;
+    private final PokemonMetrics metrics;
+    // Busca em andamento por ID, compartilhada por todos os chamadores enquanto não terminar:
+    private final ConcurrentHashMap<String, CompletableFuture<PokemonDetail>> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PokemonDetailService() {
+        this(new PokeApiClient());
+    }
+
+    public PokemonDetailService(PokeApiClient apiClient) {
+        this(apiClient, new PokemonDetailCache(), DEFAULT_MAX_CONCURRENCY, DEFAULT_BATCH_SIZE, new PokemonMetrics());
+    }
+
+    public PokemonDetailService(PokeApiClient apiClient, PokemonDetailCache detailCache, int maxConcurrency,
+                                int batchSize, PokemonMetrics metrics) {
+        this(apiClient, detailCache, maxConcurrency, batchSize, DEFAULT_MAX_FETCH_PER_SEARCH, metrics);
+    }
+
+    @Autowired
+    public PokemonDetailService(PokeApiClient apiClient, PokemonDetailCache detailCache,
+                                @Value("${pokemon.detail.max-concurrency:8}") int maxConcurrency,
+                                @Value("${pokemon.detail.batch-size:64}") int batchSize,
+                                @Value("${pokemon.detail.max-fetch-per-search:2000}") int maxFetchPerSearch,
+                                PokemonMetrics metrics) {
+        if (maxConcurrency < 1)
+            throw new IllegalArgumentException("maxConcurrency deve ser maior que zero");
+        if (batchSize < 1)
+            throw new IllegalArgumentException("batchSize deve ser maior que zero");
+        if (maxFetchPerSearch < 1)
+            throw new IllegalArgumentException("maxFetchPerSearch deve ser maior que zero");
+        this.apiClient = apiClient;
+        this.detailCache = detailCache;
+        this.permits = new Semaphore(maxConcurrency);
+        this.batchSize = batchSize;
+        this.maxFetchPerSearch = maxFetchPerSearch;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Busca os detalhes de um Pokémon: da cache, da requisição já em andamento para o mesmo ID ou, se não houver, de
+     * uma nova requisição à API externa.
+     *
+     * @param id O ID do Pokémon.
+     * @return Um {@link CompletableFuture} concluído com os detalhes, ou com a falha da API externa.
+     */
+    public CompletableFuture<PokemonDetail> getDetail(String id) {
+        PokemonDetail cached = detailCache.get(id);
+        if (cached != null)
+            return CompletableFuture.completedFuture(cached);
+
+        CompletableFuture<PokemonDetail> ownFetch = new CompletableFuture<>();
+        CompletableFuture<PokemonDetail> runningFetch = inFlight.putIfAbsent(id, ownFetch);
+        if (runningFetch != null) {
+            metrics.recordDetailCoalesced();
+            return runningFetch;
+        }
+        executor.execute(() -> {
+            try {
+                ownFetch.complete(fetch(id));
+            } catch (Throwable e) {
+                ownFetch.completeExceptionally(e);
+            } finally {
+                inFlight.remove(id, ownFetch);
+            }
+        });
+        return ownFetch;
+    }
+
+    /**
+     * Garante que os detalhes das posições candidatas estejam no {@link DetailIndex} da fotografia, buscando apenas os
+     * que faltam.<br>
+     *
+     * Cada detalhe é gravado no índice assim que chega. Se algum falhar, o restante do lote ainda é aguardado (e
+     * gravado), os lotes seguintes não são disparados e a primeira falha é lançada.
+     *
+     * @param snapshot A fotografia do catálogo.
+     * @param candidates As posições a enriquecer, ou null para a fotografia inteira.
+     * @return O índice da fotografia, com todas as candidatas enriquecidas.
+     * @throws InvalidFilterException Se faltarem mais de {@code pokemon.detail.max-fetch-per-search} detalhes.
+     * @throws com.gilliard.pokemon.client.PokeApiException Se os detalhes de algum Pokémon não puderem ser obtidos.
+     */
+    public DetailIndex enrich(CatalogSnapshot snapshot, int[] candidates) {
+        DetailIndex index = snapshot.getDetailIndex();
+        int[] missing = index.missing(candidates);
+        if (missing.length > maxFetchPerSearch)
+            throw new InvalidFilterException("Erro: o filtro exige buscar " + missing.length + " detalhes na API externa"
+                    + " (máximo " + maxFetchPerSearch + " por busca); restrinja a busca com uma consulta!");
+        for (int from = 0; from < missing.length; from += batchSize) {
+            int to = Math.min(from + batchSize, missing.length);
+            @SuppressWarnings("unchecked")
+            CompletableFuture<Void>[] writes = new CompletableFuture[to - from];
+            for (int i = from; i < to; i++) {
+                int position = missing[i];
+                writes[i - from] = getDetail(snapshot.getId(position)).thenAccept(detail -> index.add(position, detail));
+            }
+            RuntimeException failure = null;
+            for (CompletableFuture<Void> write : writes) {
+                try {
+                    await(write);
+                } catch (RuntimeException e) {
+                    if (failure == null)
+                        failure = e;
+                }
+            }
+            if (failure != null)
+                throw failure;
+        }
+        return index;
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private PokemonDetail fetch(String id) throws InterruptedException {
+        permits.acquire();
+        try {
+            long start = System.nanoTime();
+            try {
+                PokemonDetail detail = apiClient.fetchPokemonDetail(id);
+                metrics.recordUpstreamDetail(start, null);
+                detailCache.put(detail);
+                return detail;
+            } catch (RuntimeException e) {
+                metrics.recordUpstreamDetail(start, e);
+                throw e;
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> fetch) {
+        try {
+            return fetch.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            throw new RuntimeException("Erro ao buscar os detalhes do Pokémon!", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.gilliard.pokemon.service;
+
+import com.gilliard.pokemon.client.PokeApiClient;
+import com.gilliard.pokemon.client.PokemonPageParser.PokemonPage;
+import com.gilliard.pokemon.metrics.PokemonMetrics;
+import com.gilliard.pokemon.model.Pokemon;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Responsável por buscar o catálogo completo de Pokémons na API externa.<br>
+ *
+ * A primeira página é buscada de forma síncrona para descobrir o total de registros (campo {@code count}).
+ * As páginas restantes são calculadas a partir de offset/limit e buscadas em paralelo (virtual threads limitadas
+ * por um semáforo), sendo remontadas na mesma ordem da API. Assim, um cache frio custa cerca de duas viagens de rede
+ * em vez de uma viagem por página. As requisições (timeouts, novas tentativas e circuit breaker) ficam a cargo do
+ * {@link PokeApiClient}.<br>
+ *
+ * O tempo de cada página, as falhas da API externa e a duração da carga completa são registrados nas
+ * {@link PokemonMetrics}.
+ */
+@Component
+public class PokemonPageLoader {
+    private static final Logger log = LoggerFactory.getLogger(PokemonPageLoader.class);
+
+    static final int PAGE_SIZE = 100;
+    static final int DEFAULT_MAX_CONCURRENCY = 8;
+
+    private final PokeApiClient apiClient;
+    private final int maxConcurrency;
+    private final PokemonMetrics metrics;
+    private volatile LoadReport lastReport;
+
+    public PokemonPageLoader() {
+        this(new PokeApiClient(), DEFAULT_MAX_CONCURRENCY);
+    }
+
+    public PokemonPageLoader(PokeApiClient apiClient, int maxConcurrency) {
+        this(apiClient, maxConcurrency, new PokemonMetrics());
+    }
+
+    @Autowired
+    public PokemonPageLoader(PokeApiClient apiClient, @Value("${pokemon.loader.max-concurrency:8}") int maxConcurrency,
+                             PokemonMetrics metrics) {
+        if (maxConcurrency < 1)
+            throw new IllegalArgumentException("maxConcurrency deve ser maior que zero");
+        this.apiClient = apiClient;
+        this.maxConcurrency = maxConcurrency;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Busca todas as páginas da listagem de Pokémons e retorna o catálogo na ordem original da API.
+     *
+     * @return Uma lista de {@link Pokemon} com todos os registros da API externa.
+     */
+    public List<Pokemon> loadAll() {
+        long start = System.nanoTime();
+        try {
+            List<Pokemon> pokemons = loadAll(start);
+            metrics.recordCatalogLoad(start, true);
+            return pokemons;
+        } catch (RuntimeException e) {
+            metrics.recordCatalogLoad(start, false);
+            throw e;
+        }
+    }
+
+    private List<Pokemon> loadAll(long start) {
+        List<PageTiming> timings = Collections.synchronizedList(new ArrayList<>());
+
+        // A primeira página informa o total de registros:
+        PokemonPage firstPage = fetchPage(0, PAGE_SIZE, timings);
+        int pageCount = (int) Math.ceil((double) firstPage.getCount() / PAGE_SIZE);
+
+        List<List<Pokemon>> pages = new ArrayList<>(Collections.nCopies(Math.max(pageCount, 1), null));
+        pages.set(0, firstPage.getPokemons());
+        String trailingNext = pageCount <= 1 ? firstPage.getNext() : fetchRemainingPages(pages, timings);
+
+        List<Pokemon> pokemons = new ArrayList<>(firstPage.getCount());
+        pages.forEach(pokemons::addAll);
+
+        // Se o catálogo cresceu entre as requisições, segue o "next" da última página até o fim:
+        while (trailingNext != null) {
+            PokemonPage page = fetchPage(trailingNext, pokemons.size(), timings);
+            pokemons.addAll(page.getPokemons());
+            trailingNext = page.getNext();
+        }
+
+        List<PageTiming> orderedTimings = new ArrayList<>(timings);
+        orderedTimings.sort(Comparator.comparingInt(PageTiming::getOffset));
+        lastReport = new LoadReport(pokemons.size(), orderedTimings, elapsedMillis(start));
+        log.info("Catálogo carregado: {}", lastReport);
+        return pokemons;
+    }
+
+    /**
+     * Retorna o relatório da última carga completa, incluindo o tempo gasto em cada página.
+     *
+     * @return O último {@link LoadReport} ou {@code null} se nenhuma carga foi concluída.
+     */
+    public LoadReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Busca em paralelo as páginas a partir da segunda, preenchendo {@code pages} na posição correspondente.
+     *
+     * @return O campo {@code next} da última página, usado para detectar registros adicionados durante a carga.
+     */
+    private String fetchRemainingPages(List<List<Pokemon>> pages, List<PageTiming> timings) {
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<Future<PokemonPage>> futures = new ArrayList<>(pages.size() - 1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int pageIndex = 1; pageIndex < pages.size(); pageIndex++) {
+                int offset = pageIndex * PAGE_SIZE;
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return fetchPage(offset, PAGE_SIZE, timings);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            try {
+                String next = null;
+                for (int i = 0; i < futures.size(); i++) {
+                    PokemonPage page = await(futures.get(i));
+                    pages.set(i + 1, page.getPokemons());
+                    next = page.getNext();
+                }
+                return next;
+            } catch (RuntimeException e) {
+                // Uma página falhou: cancela as demais para não esperar por buscas inúteis.
+                futures.forEach(future -> future.cancel(true));
+                throw e;
+            }
+        }
+    }
+
+    private PokemonPage fetchPage(int offset, int limit, List<PageTiming> timings) {
+        return fetchPage(() -> apiClient.fetchPokemonPage(offset, limit), offset, timings);
+    }
+
+    private PokemonPage fetchPage(String url, int offset, List<PageTiming> timings) {
+        return fetchPage(() -> apiClient.fetchPokemonPage(url), offset, timings);
+    }
+
+    private PokemonPage fetchPage(Supplier<PokemonPage> request, int offset, List<PageTiming> timings) {
+        long start = System.nanoTime();
+        try {
+            PokemonPage page = request.get();
+            metrics.recordUpstreamPage(start, null);
+            timings.add(new PageTiming(offset, page.getPokemons().size(), elapsedMillis(start)));
+            return page;
+        } catch (RuntimeException e) {
+            metrics.recordUpstreamPage(start, e);
+            throw e;
+        }
+    }
+
+    private static PokemonPage await(Future<PokemonPage> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Erro: carga do catálogo interrompida!", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            throw new RuntimeException("Erro ao buscar página da API!", e.getCause());
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Tempo gasto na busca de uma página da API externa.
+     */
+    public static class PageTiming {
+        private final int offset;
+        private final int size;
+        private final long durationMillis;
+
+        public PageTiming(int offset, int size, long durationMillis) {
+            this.offset = offset;
+            this.size = size;
+            this.durationMillis = durationMillis;
+        }
+
+        public int getOffset() {
+            return offset;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "offset=" + offset + " (" + size + " itens): " + durationMillis + "ms";
+        }
+    }
+
+    /**
+     * Resumo de uma carga completa do catálogo.
+     */
+    public static class LoadReport {
+        private final int pokemonCount;
+        private final List<PageTiming> pageTimings;
+        private final long totalMillis;
+
+        public LoadReport(int pokemonCount, List<PageTiming> pageTimings, long totalMillis) {
+            this.pokemonCount = pokemonCount;
+            this.pageTimings = List.copyOf(pageTimings);
+            this.totalMillis = totalMillis;
+        }
+
+        public int getPokemonCount() {
+            return pokemonCount;
+        }
+
+        public List<PageTiming> getPageTimings() {
+            return pageTimings;
+        }
+
+        public long getTotalMillis() {
+            return totalMillis;
+        }
+
+        @Override
+        public String toString() {
+            return pokemonCount + " pokémons em " + pageTimings.size() + " páginas, " + totalMillis + "ms " + pageTimings;
+        }
+    }
+}
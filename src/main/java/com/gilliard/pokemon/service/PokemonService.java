@@ -1,28 +1,67 @@
 package com.gilliard.pokemon.service;
 
+import com.gilliard.pokemon.cache.CatalogSnapshot;
 import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.cache.QueryResultCache;
+import com.gilliard.pokemon.dto.PokemonBatchQueryDTO;
+import com.gilliard.pokemon.dto.PokemonBatchResponseDTO;
 import com.gilliard.pokemon.dto.PokemonHighlightDTO;
+import com.gilliard.pokemon.dto.PokemonHighlightOffsetsDTO;
 import com.gilliard.pokemon.dto.PokemonResponseDTO;
+import com.gilliard.pokemon.metrics.PokemonMetrics;
 import com.gilliard.pokemon.model.Pokemon;
 import com.gilliard.pokemon.model.SortType;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import com.gilliard.pokemon.model.StatRange;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
 
-import static com.gilliard.pokemon.utils.ApiUtils.convertToMapList;
-import static com.gilliard.pokemon.utils.MergeSortUtils.mergeSort;
-import static com.gilliard.pokemon.utils.StringUtils.highlightFirstOccurrence;
+import static com.gilliard.pokemon.utils.StringUtils.highlight;
 
 @Service
 public class PokemonService {
-    private final RestTemplate restTemplate;
+    // Cabeçalho e campos de um PokemonHighlightDTO; o nome é compartilhado com a fotografia e só o destaque é novo.
+    private static final long HIGHLIGHT_DTO_WEIGHT = 24;
+    private static final int[][] NO_SPANS = new int[0][];
+    public static final int DEFAULT_SUGGEST_LIMIT = 10;
+    public static final int DEFAULT_MAX_EDITS = 2;
+    // Acima de 3 edições praticamente todo nome curto vira resultado e a busca deixa de descartar prefixos.
+    public static final int MAX_EDITS = 3;
+    public static final int MAX_BATCH_QUERIES = 100;
+    // Prefixo do id das consultas do lote sem id, seguido da posição:
+    static final String BATCH_POSITION_PREFIX = "#";
+
+    private final PokemonPageLoader pageLoader;
+    private final QueryResultCache resultCache;
+    private final PokemonMetrics metrics;
+    private final PokemonDetailService detailService;
 
     public PokemonService() {
-        this.restTemplate = new RestTemplate();
+        this(new PokemonPageLoader());
+    }
+
+    public PokemonService(PokemonPageLoader pageLoader) {
+        this(pageLoader, new QueryResultCache());
+    }
+
+    public PokemonService(PokemonPageLoader pageLoader, QueryResultCache resultCache) {
+        this(pageLoader, resultCache, new PokemonMetrics());
+    }
+
+    public PokemonService(PokemonPageLoader pageLoader, QueryResultCache resultCache, PokemonMetrics metrics) {
+        this(pageLoader, resultCache, metrics, new PokemonDetailService());
+    }
+
+    @Autowired
+    public PokemonService(PokemonPageLoader pageLoader, QueryResultCache resultCache, PokemonMetrics metrics,
+                          PokemonDetailService detailService) {
+        this.pageLoader = pageLoader;
+        this.resultCache = resultCache;
+        this.metrics = metrics;
+        this.detailService = detailService;
     }
 
     /**
@@ -35,22 +74,80 @@ public class PokemonService {
      * A ordenação pode ser feita por nome ou pelo tamanho do nome. <br>
      * Se nenhum tipo for recebido, a ordenação pelo nome será feita.<br>
      *
+     * O resultado é guardado na {@link QueryResultCache} até que uma nova fotografia do catálogo seja publicada.
+     *
      * @param query O valor a ser pesquisado nos nomes dos Pokémons. Caso nulo ou vazio, todos os Pokémons são retornados.
      * @param sort O tipo de ordenação desejado. Pode ser "name" para ordenar por nome ou "size" para ordenar pelo tamanho do nome. Se nenhum for fornecido, o padrão será pelo nome.
      * @return Um objeto {@link PokemonResponseDTO} contendo a lista de Pokémons filtrados e ordenados.
      */
     public PokemonResponseDTO<String> getPokemons(String query, String sort) {
-        List<Pokemon> pokemons = loadPokemons();
+        return getPokemons(null, query, sort);
+    }
 
-        if (!isParamEmpty(query)) {
-            String caseInsensitiveQuery = query.trim().toLowerCase();
-            pokemons = pokemons.stream()
-                    .filter(pokemon -> isValidResult(pokemon.getName(), caseInsensitiveQuery))
-                    .toList();
-        }
-        SortType sortType = SortType.fromString(sort);
-        pokemons = mergeSort(pokemons, sortType.getEvaluator());
-        return convertPokemonListToDTOResponse(pokemons);
+    /**
+     * Equivalente a {@link #getPokemons(String, String)}, respondido a partir da fotografia informada.
+     *
+     * @param snapshot A fotografia do catálogo (ver {@link #loadSnapshot()}), ou null para a atual.
+     */
+    public PokemonResponseDTO<String> getPokemons(CatalogSnapshot snapshot, String query, String sort) {
+        // Os nomes são criados a partir das colunas da fotografia, então cada um pesa na entrada da cache:
+        return new PokemonResponseDTO<>(findResults(snapshot, QueryResultCache.Endpoint.POKEMONS, query, null, sort, PokemonService::toName, QueryResultCache::stringWeight));
+    }
+
+    /**
+     * Versão paginada de {@link #getPokemons(String, String)}.<br>
+     *
+     * Quando apenas os primeiros resultados são pedidos, somente eles são selecionados (heap limitado), sem ordenar o
+     * resultado inteiro. A resposta traz o total de resultados e, se houver mais páginas, um cursor para a próxima,
+     * vinculado à versão da fotografia do catálogo usada nesta página.
+     *
+     * @param query O valor a ser pesquisado nos nomes dos Pokémons. Caso nulo ou vazio, todos os Pokémons são considerados.
+     * @param sort O tipo de ordenação desejado (ver {@link #getPokemons(String, String)}).
+     * @param limit Quantidade máxima de resultados. Caso nulo, todos os resultados a partir do offset são retornados.
+     * @param offset Quantidade de resultados a pular. Ignorado quando um cursor é informado.
+     * @param cursor Cursor retornado pela página anterior, ou nulo para a primeira página.
+     * @return Um objeto {@link PokemonResponseDTO} com a página, o total e o cursor da próxima página.
+     */
+    public PokemonResponseDTO<String> getPokemons(String query, String sort, Integer limit, Integer offset, String cursor) {
+        return getPokemons(null, query, sort, limit, offset, cursor, null);
+    }
+
+    /**
+     * Versão de {@link #getPokemons(String, String, Integer, Integer, String)} com filtros pelos detalhes dos Pokémons:
+     * tipos e intervalos de atributos base (por exemplo, os do tipo fire cujo nome contém "char").<br>
+     *
+     * Os detalhes vêm da API externa, um documento por Pokémon; apenas os dos Pokémons que passaram pela busca por nome
+     * e ainda não foram enriquecidos são buscados ({@link PokemonDetailService}). O filtro em si é feito pelo
+     * {@link com.gilliard.pokemon.cache.DetailIndex} da fotografia, com um bitmap por tipo. O resultado completo é
+     * guardado na {@link QueryResultCache} como nas demais buscas.
+     *
+     * @param query O valor a ser pesquisado nos nomes dos Pokémons. Caso nulo ou vazio, todos os Pokémons são considerados.
+     * @param sort O tipo de ordenação desejado (ver {@link #getPokemons(String, String)}).
+     * @param limit Quantidade máxima de resultados, ou nulo para todos.
+     * @param offset Quantidade de resultados a pular, ou nulo.
+     * @param cursor Cursor retornado pela página anterior, ou nulo.
+     * @param type Um ou mais tipos separados por vírgula; o Pokémon deve ter todos. Caso nulo ou vazio, não filtra por tipo.
+     * @param stats Intervalos de atributos no formato {@code nome:min..max} (ver {@link StatRange#parse(String)}).
+     * @return Um objeto {@link PokemonResponseDTO} contendo os Pokémons encontrados.
+     * @throws InvalidFilterException Se algum filtro de atributo for inválido.
+     */
+    public PokemonResponseDTO<String> getPokemons(String query, String sort, Integer limit, Integer offset, String cursor,
+                                                  String type, List<String> stats) {
+        return getPokemons(null, query, sort, limit, offset, cursor, DetailFilter.parse(type, stats));
+    }
+
+    /**
+     * Equivalente a {@link #getPokemons(String, String, Integer, Integer, String, String, List)}, respondido a partir da
+     * fotografia informada e com o filtro já convertido. Uma página pedida por cursor continua lendo a fotografia do cursor.
+     *
+     * @param snapshot A fotografia do catálogo (ver {@link #loadSnapshot()}), ou null para a atual.
+     * @param filter O filtro de detalhes (ver {@link DetailFilter#parse(String, List)}), ou null.
+     */
+    public PokemonResponseDTO<String> getPokemons(CatalogSnapshot snapshot, String query, String sort, Integer limit, Integer offset,
+                                                  String cursor, DetailFilter filter) {
+        if (limit == null && offset == null && cursor == null)
+            return new PokemonResponseDTO<>(findResults(snapshot, QueryResultCache.Endpoint.POKEMONS, query, filter, sort, PokemonService::toName, QueryResultCache::stringWeight));
+        return findPageResults(snapshot, PokemonMetrics.Endpoint.POKEMONS, query, filter, sort, limit, offset, cursor, PokemonService::toName);
     }
 
     /**
@@ -63,137 +160,527 @@ public class PokemonService {
      * A ordenação pode ser feita por nome ou pelo tamanho do nome. <br>
      * Se nenhum tipo for recebido, a ordenação pelo nome será feita.<br>
      *
+     * O resultado é guardado na {@link QueryResultCache} até que uma nova fotografia do catálogo seja publicada.
+     *
      * @param query O valor a ser pesquisado nos nomes dos Pokémons. Caso nulo ou vazio, todos os Pokémons são retornados.
      * @param sort O tipo de ordenação desejado. Pode ser "name" para ordenar por nome ou "size" para ordenar pelo tamanho do nome. Se nenhum for fornecido, o padrão será pelo nome.
      * @return Um objeto {@link PokemonResponseDTO} contendo a lista de Pokémons filtrados e ordenados.
      */
     public PokemonResponseDTO<PokemonHighlightDTO> getPokemonsWithHighlight(String query, String sort) {
-        List<Pokemon> pokemons = loadPokemons();
+        return getPokemonsWithHighlight(null, query, sort, null, null, null);
+    }
+
+    /**
+     * Versão paginada de {@link #getPokemonsWithHighlight(String, String)}, com a mesma semântica de
+     * {@link #getPokemons(String, String, Integer, Integer, String)}.
+     *
+     * @param query O valor a ser pesquisado nos nomes dos Pokémons. Caso nulo ou vazio, todos os Pokémons são considerados.
+     * @param sort O tipo de ordenação desejado (ver {@link #getPokemons(String, String)}).
+     * @param limit Quantidade máxima de resultados. Caso nulo, todos os resultados a partir do offset são retornados.
+     * @param offset Quantidade de resultados a pular. Ignorado quando um cursor é informado.
+     * @param cursor Cursor retornado pela página anterior, ou nulo para a primeira página.
+     * @return Um objeto {@link PokemonResponseDTO} com a página, o total e o cursor da próxima página.
+     */
+    public PokemonResponseDTO<PokemonHighlightDTO> getPokemonsWithHighlight(String query, String sort, Integer limit, Integer offset, String cursor) {
+        return getPokemonsWithHighlight(null, query, sort, limit, offset, cursor);
+    }
+
+    /**
+     * Equivalente a {@link #getPokemonsWithHighlight(String, String, Integer, Integer, String)}, respondido a partir da
+     * fotografia informada. Uma página pedida por cursor continua lendo a fotografia do cursor.
+     *
+     * @param snapshot A fotografia do catálogo (ver {@link #loadSnapshot()}), ou null para a atual.
+     */
+    public PokemonResponseDTO<PokemonHighlightDTO> getPokemonsWithHighlight(CatalogSnapshot snapshot, String query, String sort,
+                                                                            Integer limit, Integer offset, String cursor) {
+        if (limit == null && offset == null && cursor == null)
+            // Sem ocorrência, o destaque é o próprio objeto do nome e não ocupa espaço adicional:
+            return new PokemonResponseDTO<>(findResults(snapshot, QueryResultCache.Endpoint.HIGHLIGHT, query, null, sort, PokemonService::toHighlightDTO,
+                    highlight -> HIGHLIGHT_DTO_WEIGHT + QueryResultCache.stringWeight(highlight.getName())
+                            + (highlight.getHighlight() == highlight.getName() ? 0 : QueryResultCache.stringWeight(highlight.getHighlight()))));
+        return findPageResults(snapshot, PokemonMetrics.Endpoint.HIGHLIGHT, query, null, sort, limit, offset, cursor, PokemonService::toHighlightDTO);
+    }
+
+    /**
+     * Variante de {@link #getPokemonsWithHighlight(String, String, Integer, Integer, String)} que, em vez de devolver o
+     * nome com a tag pre, informa os intervalos {@code [início, fim)} de todas as ocorrências da consulta em cada nome,
+     * para que o cliente monte a marcação.
+     *
+     * @param query O valor a ser pesquisado nos nomes dos Pokémons. Caso nulo ou vazio, todos os Pokémons são retornados, sem intervalos.
+     * @param sort O tipo de ordenação desejado (ver {@link #getPokemons(String, String)}).
+     * @param limit Quantidade máxima de resultados, ou nulo para todos.
+     * @param offset Quantidade de resultados a pular, ou nulo.
+     * @param cursor Cursor retornado pela página anterior, ou nulo.
+     * @return Um objeto {@link PokemonResponseDTO} com os nomes e os intervalos destacados.
+     */
+    public PokemonResponseDTO<PokemonHighlightOffsetsDTO> getPokemonsWithHighlightOffsets(String query, String sort, Integer limit, Integer offset, String cursor) {
+        return getPokemonsWithHighlightOffsets(null, query, sort, limit, offset, cursor);
+    }
+
+    /**
+     * Equivalente a {@link #getPokemonsWithHighlightOffsets(String, String, Integer, Integer, String)}, respondido a
+     * partir da fotografia informada. Uma página pedida por cursor continua lendo a fotografia do cursor.
+     *
+     * @param snapshot A fotografia do catálogo (ver {@link #loadSnapshot()}), ou null para a atual.
+     */
+    public PokemonResponseDTO<PokemonHighlightOffsetsDTO> getPokemonsWithHighlightOffsets(CatalogSnapshot snapshot, String query, String sort,
+                                                                                          Integer limit, Integer offset, String cursor) {
+        if (limit == null && offset == null && cursor == null)
+            return new PokemonResponseDTO<>(findResults(snapshot, QueryResultCache.Endpoint.HIGHLIGHT_OFFSETS, query, null, sort, PokemonService::toHighlightOffsetsDTO,
+                    highlight -> HIGHLIGHT_DTO_WEIGHT + QueryResultCache.stringWeight(highlight.getName()) + 16 + 32L * highlight.getSpans().length));
+        return findPageResults(snapshot, PokemonMetrics.Endpoint.HIGHLIGHT_OFFSETS, query, null, sort, limit, offset, cursor, PokemonService::toHighlightOffsetsDTO);
+    }
+
+    /**
+     * Busca tolerante a erros de digitação: retorna os Pokémons cujo nome está a no máximo {@code maxEdits} edições
+     * (inserção, remoção ou troca de um caractere) da consulta, ignorando maiúsculas/minúsculas.<br>
+     *
+     * A busca percorre o índice de nomes ordenados da fotografia do catálogo, descartando de uma vez todos os nomes cujo
+     * prefixo já está longe demais da consulta. Os resultados vêm dos mais próximos para os mais distantes; nomes à mesma distância seguem a ordenação
+     * informada.
+     *
+     * @param query O nome, possivelmente com erros de digitação. Caso nulo ou vazio, todos os Pokémons são retornados.
+     * @param sort O tipo de ordenação usado no desempate (ver {@link #getPokemons(String, String)}).
+     * @param maxEdits Distância máxima aceita, limitada a {@value #MAX_EDITS}. Caso nulo, {@value #DEFAULT_MAX_EDITS}.
+     * @return Um objeto {@link PokemonResponseDTO} contendo os Pokémons encontrados.
+     */
+    public PokemonResponseDTO<String> getPokemonsFuzzy(String query, String sort, Integer maxEdits) {
+        return getPokemonsFuzzy(null, query, sort, maxEdits);
+    }
+
+    /**
+     * Equivalente a {@link #getPokemonsFuzzy(String, String, Integer)}, respondido a partir da fotografia informada.
+     *
+     * @param snapshot A fotografia do catálogo (ver {@link #loadSnapshot()}), ou null para a atual.
+     */
+    public PokemonResponseDTO<String> getPokemonsFuzzy(CatalogSnapshot snapshot, String query, String sort, Integer maxEdits) {
+        if (isParamEmpty(query))
+            return getPokemons(snapshot, query, sort);
+        int edits = maxEdits == null ? DEFAULT_MAX_EDITS : Math.max(0, Math.min(maxEdits, MAX_EDITS));
 
+        long start = System.nanoTime();
         SortType sortType = SortType.fromString(sort);
-        pokemons = mergeSort(pokemons, sortType.getEvaluator());
-        List<PokemonHighlightDTO> results = new ArrayList<>();
+        snapshot = snapshotOrLoad(snapshot);
+        int[] positions = snapshot.searchFuzzy(query.trim().toLowerCase(), edits, sortType);
+        List<String> pokemonNames = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            pokemonNames.add(snapshot.getName(position));
+        }
+        metrics.recordSearch(PokemonMetrics.Endpoint.FUZZY, sortType, PokemonMetrics.Source.INDEX, start, pokemonNames.size());
+        return new PokemonResponseDTO<>(pokemonNames);
+    }
 
-        if (isParamEmpty(query)) {
-            for (Pokemon pokemon : pokemons) {
-                results.add(new PokemonHighlightDTO(pokemon.getName(), pokemon.getName()));
-            }
-        } else {
-            String caseInsensitiveQuery = query.trim().toLowerCase();
-            String highlight;
-            for (Pokemon pokemon : pokemons) {
-                String pokemonName = pokemon.getName();
-                if (isValidResult(pokemonName, caseInsensitiveQuery)) {
-                    highlight = highlightFirstOccurrence(pokemonName, caseInsensitiveQuery);
-                    results.add(new PokemonHighlightDTO(pokemonName, highlight));
-                }
+    /**
+     * Responde um lote de consultas (cada uma com query, sort e limit, como em {@link #getPokemons(String, String)})
+     * a partir de uma única fotografia do catálogo.<br>
+     *
+     * As consultas distintas do lote são procuradas juntas, em uma única passada pelos nomes (autômato de
+     * Aho–Corasick), em vez de uma busca por consulta. Depois, cada consulta seleciona apenas os primeiros
+     * {@code limit} resultados na ordem pedida, sem ordenar o resultado inteiro.
+     *
+     * @param queries As consultas, no máximo {@value #MAX_BATCH_QUERIES}.
+     * @return Os resultados, na ordem do lote, identificados pelo id de cada consulta ou, sem id, pela sua posição
+     * prefixada com {@value #BATCH_POSITION_PREFIX} (que não colide com os ids informados).
+     * @throws InvalidPageRequestException Se o lote estiver vazio ou grande demais, se um limit não for positivo, se
+     * um id começar com {@value #BATCH_POSITION_PREFIX} ou se dois ids se repetirem.
+     */
+    public PokemonBatchResponseDTO getPokemonsBatch(List<PokemonBatchQueryDTO> queries) {
+        if (queries == null || queries.isEmpty())
+            throw new InvalidPageRequestException("O lote deve ter ao menos uma consulta");
+        if (queries.size() > MAX_BATCH_QUERIES)
+            throw new InvalidPageRequestException("O lote pode ter no máximo " + MAX_BATCH_QUERIES + " consultas");
+
+        long start = System.nanoTime();
+        Map<String, Integer> distinctQueries = new LinkedHashMap<>();
+        String[] caseInsensitiveQueries = new String[queries.size()];
+        // Os ids gerados pela posição não colidem com os informados, que não podem começar com o prefixo:
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < queries.size(); i++) {
+            PokemonBatchQueryDTO query = queries.get(i);
+            if (query.getLimit() != null && query.getLimit() < 1)
+                throw new InvalidPageRequestException("O parâmetro limit deve ser maior que zero");
+            if (query.getId() != null && query.getId().startsWith(BATCH_POSITION_PREFIX))
+                throw new InvalidPageRequestException("O id de uma consulta não pode começar com " + BATCH_POSITION_PREFIX + ": " + query.getId());
+            if (query.getId() != null && !ids.add(query.getId()))
+                throw new InvalidPageRequestException("Id repetido no lote: " + query.getId());
+            caseInsensitiveQueries[i] = normalizeQuery(query.getQuery());
+            if (caseInsensitiveQueries[i] != null)
+                distinctQueries.putIfAbsent(caseInsensitiveQueries[i], distinctQueries.size());
+        }
+
+        CatalogSnapshot snapshot = loadSnapshot();
+        int[][] matches = snapshot.searchAll(new ArrayList<>(distinctQueries.keySet()));
+        Map<String, PokemonResponseDTO<String>> results = new LinkedHashMap<>();
+        int resultCount = 0;
+        for (int i = 0; i < queries.size(); i++) {
+            PokemonBatchQueryDTO query = queries.get(i);
+            SortType sortType = SortType.fromString(query.getSort());
+            int[] positions = caseInsensitiveQueries[i] == null ? null : matches[distinctQueries.get(caseInsensitiveQueries[i])];
+            int total = positions == null ? snapshot.size() : positions.length;
+            int[] page = snapshot.pagePositions(positions, sortType, 0, query.getLimit() == null ? Integer.MAX_VALUE : query.getLimit());
+            List<String> pokemonNames = new ArrayList<>(page.length);
+            for (int position : page) {
+                pokemonNames.add(snapshot.getName(position));
             }
+            String id = query.getId() == null ? BATCH_POSITION_PREFIX + i : query.getId();
+            results.put(id, new PokemonResponseDTO<>(pokemonNames, total, null));
+            metrics.recordResults(PokemonMetrics.Endpoint.BATCH, sortType, pokemonNames.size());
         }
-        return new PokemonResponseDTO<>(results);
+        // O lote é uma única busca: o tempo é registrado uma vez, com a quantidade de consultas.
+        metrics.recordBatch(start, queries.size());
+        return new PokemonBatchResponseDTO(results);
     }
 
     /**
-     * Carrega todos os pokémons para a cache {@link PokemonCache} a fim de evitar que em toda chamada seja necessário
-     * consumir a API externa e retorna uma lista contendo os pokémons armazenados. Se a cache já estiver populada a função apenas retorna o seu conteúdo.
+     * Sugere nomes de Pokémons que começam com o prefixo informado (ignorando maiúsculas/minúsculas), para o
+     * preenchimento automático da busca.<br>
      *
-     * @return Uma lista de {@link Pokemon} contendo os pokémons armazenados na cache.
+     * A busca usa o índice de prefixos da fotografia do catálogo, sem percorrer todos os nomes. As sugestões vêm em
+     * ordem alfabética e o total informa quantos nomes começam com o prefixo.
+     *
+     * @param prefix O início do nome. Caso nulo ou vazio, os primeiros nomes em ordem alfabética são sugeridos.
+     * @param limit Quantidade máxima de sugestões. Caso nulo, {@value #DEFAULT_SUGGEST_LIMIT}.
+     * @return Um objeto {@link PokemonResponseDTO} com as sugestões e o total de nomes com o prefixo.
      */
-    public List<Pokemon> loadPokemons() {
-        PokemonCache pokemonCache = PokemonCache.getInstance();
-        List<Pokemon> cachedPokemons = pokemonCache.getCache();
-        if (!cachedPokemons.isEmpty())
-            return cachedPokemons;
-
-        // Inicia com a primeira página, limitada a 100 resultados:
-        String nextPageUrl = "https://pokeapi.co/api/v2/pokemon?limit=100";
-
-        while (nextPageUrl != null) {
-            ResponseEntity<Map<String, Object>> responseEntity = restTemplate.exchange(
-                    nextPageUrl,
-                    HttpMethod.GET,
-                    null,
-                    new ParameterizedTypeReference<Map<String, Object>>() {}
-            );
-            Map<String, Object> response = responseEntity.getBody();
-
-            if (response == null || !response.containsKey("results")) {
-                throw new RuntimeException("Erro: resposta da API é nula!");
-            }
-            List<Map<String, String>> results = convertToMapList(response.get("results"));
+    public PokemonResponseDTO<String> getSuggestions(String prefix, Integer limit) {
+        return getSuggestions(null, prefix, limit);
+    }
 
-            for (Map<String, String> pokemonData : results) {
-                Pokemon pokemon = getPokemon(pokemonData);
-                pokemonCache.addPokemon(pokemon);
-            }
-            nextPageUrl = (String) response.get("next"); // Passa para a próxima página.
+    /**
+     * Equivalente a {@link #getSuggestions(String, Integer)}, respondido a partir da fotografia informada.
+     *
+     * @param snapshot A fotografia do catálogo (ver {@link #loadSnapshot()}), ou null para a atual.
+     */
+    public PokemonResponseDTO<String> getSuggestions(CatalogSnapshot snapshot, String prefix, Integer limit) {
+        if (limit != null && limit < 1)
+            throw new InvalidPageRequestException("O parâmetro limit deve ser maior que zero");
+        long start = System.nanoTime();
+        snapshot = snapshotOrLoad(snapshot);
+        String caseInsensitivePrefix = isParamEmpty(prefix) ? "" : prefix.trim().toLowerCase();
+
+        int[] positions = snapshot.searchPrefix(caseInsensitivePrefix, limit == null ? DEFAULT_SUGGEST_LIMIT : limit);
+        List<String> suggestions = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            suggestions.add(snapshot.getName(position));
         }
-        return pokemonCache.getCache();
+        // As sugestões vêm sempre em ordem alfabética:
+        metrics.recordSearch(PokemonMetrics.Endpoint.SUGGEST, SortType.NAME, PokemonMetrics.Source.INDEX, start, suggestions.size());
+        return new PokemonResponseDTO<>(suggestions, snapshot.countPrefix(caseInsensitivePrefix), null);
     }
 
     /**
-     * Verifica se o nome do Pokémon contém a string de busca (ignorando maiúsculas e minúsculas).
+     * Percorre os Pokémons filtrados e ordenados conforme os parâmetros, entregando cada um à função informada assim
+     * que é produzido, sem montar a lista completa de resultados. Usado pelo modo de resposta em streaming.
      *
-     * @param pokemonName O nome do Pokémon a ser verificado.
-     * @param caseInsensitiveQuery A string de busca, que será comparada ao nome do Pokémon.
-     * @return Retorna true se o nome do Pokémon contém a string de busca, ignorando maiúsculas e minúsculas; caso contrário, retorna false.
+     * @param query O valor a ser pesquisado nos nomes dos Pokémons. Caso nulo ou vazio, todos os Pokémons são percorridos.
+     * @param sort O tipo de ordenação desejado (ver {@link #getPokemons(String, String)}).
+     * @param action Função chamada para cada Pokémon, na ordem do resultado.
      */
-    private Boolean isValidResult(String pokemonName, String caseInsensitiveQuery) {
-        return pokemonName.toLowerCase().contains(caseInsensitiveQuery);
+    public void forEachPokemon(String query, String sort, Consumer<Pokemon> action) {
+        forEachResult(null, query, null, sort, (snapshot, position, caseInsensitiveQuery) -> snapshot.get(position), action);
     }
 
     /**
-     * Converte uma lista de objetos Pokémon para um DTO (Data Transfer Object) que contém os nomes dos Pokémons.
+     * Equivalente a {@link #forEachPokemon(String, String, Consumer)}, aplicando os filtros de detalhes de
+     * {@link #getPokemons(String, String, Integer, Integer, String, String, List)}.
      *
-     * @param pokemons A lista de objetos Pokémon que será convertida.
-     * @return Retorna um objeto {@link PokemonResponseDTO} contendo uma lista de nomes dos Pokémons.
+     * @param query O valor a ser pesquisado nos nomes dos Pokémons. Caso nulo ou vazio, todos os Pokémons são percorridos.
+     * @param sort O tipo de ordenação desejado (ver {@link #getPokemons(String, String)}).
+     * @param type Um ou mais tipos separados por vírgula, ou nulo.
+     * @param stats Intervalos de atributos no formato {@code nome:min..max}, ou nulo.
+     * @param action Função chamada para cada Pokémon, na ordem do resultado.
      */
-    private static PokemonResponseDTO<String> convertPokemonListToDTOResponse(List<Pokemon> pokemons) {
-        List<String> pokemonNames = pokemons.stream()
-                .map(Pokemon::getName)
-                .toList();
-        return new PokemonResponseDTO<>(pokemonNames);
+    public void forEachPokemon(String query, String sort, String type, List<String> stats, Consumer<Pokemon> action) {
+        forEachPokemon(null, query, sort, DetailFilter.parse(type, stats), action);
     }
 
     /**
-     * Verifica se o parâmetro fornecido está vazio ou é nulo.
+     * Equivalente a {@link #forEachPokemon(String, String, String, List, Consumer)}, percorrendo a fotografia informada
+     * com o filtro já convertido.
      *
-     * @param param O parâmetro a ser verificado.
-     * @return Retorna true se o parâmetro for nulo ou contiver apenas espaços em branco; caso contrário, retorna false.
+     * @param snapshot A fotografia do catálogo (ver {@link #loadSnapshot()}), ou null para a atual.
+     * @param filter O filtro de detalhes (ver {@link DetailFilter#parse(String, List)}), ou null.
      */
-    private static Boolean isParamEmpty(String param) {
-        return param == null || param.trim().isEmpty();
+    public void forEachPokemon(CatalogSnapshot snapshot, String query, String sort, DetailFilter filter, Consumer<Pokemon> action) {
+        forEachResult(snapshot, query, filter, sort, (pinned, position, caseInsensitiveQuery) -> pinned.get(position), action);
     }
 
     /**
-     * Converte um mapa contendo dados de um Pokémon em um objeto {@code Pokemon}.
+     * Busca na API externa os detalhes que o filtro ainda não tem para os Pokémons cujo nome contém a consulta, como a
+     * busca faria. Usado antes de uma resposta em streaming começar: depois de enviado o status 200, o limite de
+     * detalhes por busca e as falhas da API externa não podem mais virar uma resposta de erro.
      *
-     * <p>O mapa deve conter as chaves "name" (nome do Pokémon) e "url" (URL da API com detalhes do Pokémon).</p>
+     * @param snapshot A fotografia do catálogo (ver {@link #loadSnapshot()}), ou null para a atual.
+     * @param query O valor a ser pesquisado nos nomes dos Pokémons. Caso nulo ou vazio, todo o catálogo é considerado.
+     * @param filter O filtro de detalhes, ou null (nada a buscar).
+     * @throws InvalidFilterException Se faltarem detalhes demais para uma única busca.
+     */
+    public void fetchFilterDetails(CatalogSnapshot snapshot, String query, DetailFilter filter) {
+        if (filter == null)
+            return;
+        CatalogSnapshot current = snapshotOrLoad(snapshot);
+        String caseInsensitiveQuery = normalizeQuery(query);
+        detailService.enrich(current, caseInsensitiveQuery == null ? null : current.search(caseInsensitiveQuery));
+    }
+
+    /**
+     * Equivalente a {@link #forEachPokemon(String, String, Consumer)}, entregando cada resultado com a consulta
+     * destacada pela tag pre, como em {@link #getPokemonsWithHighlight(String, String)}.
+     *
+     * @param query O valor a ser pesquisado nos nomes dos Pokémons. Caso nulo ou vazio, todos os Pokémons são percorridos.
+     * @param sort O tipo de ordenação desejado (ver {@link #getPokemons(String, String)}).
+     * @param action Função chamada para cada resultado, na ordem do resultado.
+     */
+    public void forEachPokemonWithHighlight(String query, String sort, Consumer<PokemonHighlightDTO> action) {
+        forEachPokemonWithHighlight(null, query, sort, action);
+    }
+
+    /**
+     * Equivalente a {@link #forEachPokemonWithHighlight(String, String, Consumer)}, percorrendo a fotografia informada.
+     *
+     * @param snapshot A fotografia do catálogo (ver {@link #loadSnapshot()}), ou null para a atual.
+     */
+    public void forEachPokemonWithHighlight(CatalogSnapshot snapshot, String query, String sort, Consumer<PokemonHighlightDTO> action) {
+        forEachResult(snapshot, query, null, sort, PokemonService::toHighlightDTO, action);
+    }
+
+    /**
+     * Equivalente a {@link #forEachPokemonWithHighlight(String, String, Consumer)}, entregando os intervalos
+     * destacados como em {@link #getPokemonsWithHighlightOffsets(String, String, Integer, Integer, String)}.
      *
-     * @param pokemonData Um {@code Map<String, String>} contendo as informações do Pokémon.
-     * @return Um objeto {@code Pokemon} com ID, nome e URL preenchidos.
+     * @param query O valor a ser pesquisado nos nomes dos Pokémons. Caso nulo ou vazio, todos os Pokémons são percorridos.
+     * @param sort O tipo de ordenação desejado (ver {@link #getPokemons(String, String)}).
+     * @param action Função chamada para cada resultado, na ordem do resultado.
      */
-    private static Pokemon getPokemon(Map<String, String> pokemonData) {
-        String pokemonName = pokemonData.get("name");
-        String pokemonUrl = pokemonData.get("url");
-        String pokemonId = getIdFromPokemonUrl(pokemonUrl);
+    public void forEachPokemonWithHighlightOffsets(String query, String sort, Consumer<PokemonHighlightOffsetsDTO> action) {
+        forEachPokemonWithHighlightOffsets(null, query, sort, action);
+    }
 
-        return new Pokemon(pokemonId, pokemonName, pokemonUrl);
+    /**
+     * Equivalente a {@link #forEachPokemonWithHighlightOffsets(String, String, Consumer)}, percorrendo a fotografia
+     * informada.
+     *
+     * @param snapshot A fotografia do catálogo (ver {@link #loadSnapshot()}), ou null para a atual.
+     */
+    public void forEachPokemonWithHighlightOffsets(CatalogSnapshot snapshot, String query, String sort, Consumer<PokemonHighlightOffsetsDTO> action) {
+        forEachResult(snapshot, query, null, sort, PokemonService::toHighlightOffsetsDTO, action);
     }
 
     /**
-     * Extrai o ID do Pokémon a partir da URL da API.
+     * Carrega todos os pokémons para a cache {@link PokemonCache} a fim de evitar que em toda chamada seja necessário
+     * consumir a API externa e retorna uma lista contendo os pokémons armazenados. Se a cache já estiver populada a função apenas retorna o seu conteúdo.<br>
      *
-     * <p>Exemplo de entrada:
-     * <pre>
-     *     getIdFromPokemonUrl("https://pokeapi.co/api/v2/pokemon/25/")
-     * </pre>
-     * Saída: {@code "25"}</p>
+     * A busca das páginas da API externa é delegada ao {@link PokemonPageLoader}, que as busca em paralelo. Se várias
+     * requisições encontrarem a cache vazia ao mesmo tempo, apenas uma dispara a carga e as demais aguardam o seu resultado.
      *
-     * @param pokemonUrl A URL do Pokémon na API.
-     * @return O ID do Pokémon como {@code String}.
+     * @return Uma lista de {@link Pokemon} contendo os pokémons armazenados na cache.
+     */
+    public List<Pokemon> loadPokemons() {
+        return loadSnapshot().getPokemons();
+    }
+
+    /**
+     * Retorna a fotografia atual do catálogo, carregando-o caso a cache esteja vazia (ver {@link #loadPokemons()}).<br>
+     *
+     * Quem precisa que várias leituras vejam o mesmo catálogo (por exemplo, o ETag e o corpo de uma resposta) resolve a
+     * fotografia uma vez e a repassa às variantes dos métodos de busca que a recebem.
+     *
+     * @return A fotografia atual.
+     */
+    public CatalogSnapshot loadSnapshot() {
+        return PokemonCache.getInstance().getOrLoad(pageLoader::loadAll);
+    }
+
+    private CatalogSnapshot snapshotOrLoad(CatalogSnapshot snapshot) {
+        return snapshot != null ? snapshot : loadSnapshot();
+    }
+
+    /**
+     * Filtra os Pokémons cujo nome contém a string de busca (ignorando maiúsculas e minúsculas) e os ordena pelo critério informado.<br>
+     * A busca usa o índice de trigramas da fotografia e a ordenação usa a ordem pré-calculada para o {@link SortType},
+     * evitando comparar a consulta com todos os nomes e reordenar o catálogo a cada requisição. O tempo de cada etapa
+     * é registrado nas {@link PokemonMetrics}; com filtro de detalhes, a etapa de filtro inclui o enriquecimento.
+     *
+     * @param snapshot A fotografia atual do catálogo.
+     * @param caseInsensitiveQuery A string de busca já normalizada. Caso nula, todos os Pokémons são retornados.
+     * @param filter O filtro de detalhes, ou null.
+     * @param sortType O critério de ordenação.
+     * @return As posições dos Pokémons encontrados na fotografia, já ordenadas.
+     */
+    private int[] findPositions(CatalogSnapshot snapshot, String caseInsensitiveQuery, DetailFilter filter, SortType sortType) {
+        long start = System.nanoTime();
+        if (caseInsensitiveQuery == null && filter == null) {
+            int[] positions = snapshot.sortedPositions(sortType);
+            metrics.recordPhase(PokemonMetrics.Phase.SORT, sortType, start);
+            return positions;
+        }
+        int[] matches = matchPositions(snapshot, caseInsensitiveQuery, filter);
+        long sortStart = metrics.recordPhase(PokemonMetrics.Phase.FILTER, sortType, start);
+        int[] positions = snapshot.sortedPositions(matches, sortType);
+        metrics.recordPhase(PokemonMetrics.Phase.SORT, sortType, sortStart);
+        return positions;
+    }
+
+    /**
+     * Posições (em ordem crescente) dos Pokémons cujo nome contém a consulta e que atendem ao filtro de detalhes,
+     * enriquecendo antes apenas os que passaram pela busca por nome.
+     *
+     * @return As posições encontradas, ou null para o catálogo inteiro (sem consulta nem filtro).
+     */
+    private int[] matchPositions(CatalogSnapshot snapshot, String caseInsensitiveQuery, DetailFilter filter) {
+        int[] matches = caseInsensitiveQuery == null ? null : snapshot.search(caseInsensitiveQuery);
+        if (filter == null)
+            return matches;
+        return detailService.enrich(snapshot, matches).filter(matches, filter.getTypes(), filter.getRanges());
+    }
+
+    /**
+     * Busca o resultado completo na {@link QueryResultCache} ou, se não houver, o calcula a partir da fotografia
+     * informada (ou da atual, se nula) e o guarda.
+     */
+    private <T> List<T> findResults(CatalogSnapshot snapshot, QueryResultCache.Endpoint endpoint, String query, DetailFilter filter, String sort,
+                                    ResultMapper<T> mapper, ToLongFunction<? super T> weigher) {
+        long start = System.nanoTime();
+        snapshot = snapshotOrLoad(snapshot);
+        SortType sortType = SortType.fromString(sort);
+        String caseInsensitiveQuery = normalizeQuery(query);
+        String filterKey = filter == null ? null : filter.key();
+        List<T> results = resultCache.get(endpoint, caseInsensitiveQuery, filterKey, sortType, snapshot.getVersion());
+        PokemonMetrics.Source source = PokemonMetrics.Source.CACHE;
+        if (results == null) {
+            source = PokemonMetrics.Source.INDEX;
+            int[] positions = findPositions(snapshot, caseInsensitiveQuery, filter, sortType);
+            long mapStart = System.nanoTime();
+            List<T> computed = new ArrayList<>(positions.length);
+            for (int position : positions) {
+                computed.add(mapper.map(snapshot, position, caseInsensitiveQuery));
+            }
+            metrics.recordPhase(PokemonMetrics.Phase.MAP, sortType, mapStart);
+            results = resultCache.put(endpoint, caseInsensitiveQuery, filterKey, sortType, snapshot.getVersion(), computed, weigher);
+        }
+        metrics.recordSearch(metricsEndpoint(endpoint), sortType, source, start, results.size());
+        return results;
+    }
+
+    private <T> void forEachResult(CatalogSnapshot snapshot, String query, DetailFilter filter, String sort, ResultMapper<T> mapper,
+                                   Consumer<? super T> action) {
+        snapshot = snapshotOrLoad(snapshot);
+        String caseInsensitiveQuery = normalizeQuery(query);
+        for (int position : findPositions(snapshot, caseInsensitiveQuery, filter, SortType.fromString(sort))) {
+            action.accept(mapper.map(snapshot, position, caseInsensitiveQuery));
+        }
+    }
+
+    /**
+     * Resolve a página solicitada: valida os parâmetros, escolhe a fotografia (a informada, a atual ou a do cursor) e monta
+     * apenas os resultados da página.
+     */
+    private <T> PokemonResponseDTO<T> findPageResults(CatalogSnapshot current, PokemonMetrics.Endpoint endpoint, String query, DetailFilter filter,
+                                                      String sort, Integer limit, Integer offset, String cursor, ResultMapper<T> mapper) {
+        long startNanos = System.nanoTime();
+        SortType sortType = SortType.fromString(sort);
+        String caseInsensitiveQuery = normalizeQuery(query);
+        String filterKey = filter == null ? null : filter.key();
+        if (limit != null && limit < 1)
+            throw new InvalidPageRequestException("O parâmetro limit deve ser maior que zero");
+
+        CatalogSnapshot snapshot;
+        int start;
+        if (cursor != null) {
+            PageCursor pageCursor = PageCursor.decode(cursor);
+            if (!pageCursor.matches(sortType, caseInsensitiveQuery, filterKey))
+                throw new InvalidPageRequestException("O cursor pertence a outra consulta");
+            snapshot = PokemonCache.getInstance().getSnapshot(pageCursor.getSnapshotVersion())
+                    .orElseThrow(() -> new InvalidPageRequestException("O cursor expirou, recomece a partir da primeira página"));
+            start = pageCursor.getOffset();
+        } else {
+            if (offset != null && offset < 0)
+                throw new InvalidPageRequestException("O parâmetro offset não pode ser negativo");
+            snapshot = snapshotOrLoad(current);
+            start = offset == null ? 0 : offset;
+        }
+
+        int[] matches = matchPositions(snapshot, caseInsensitiveQuery, filter);
+        int total = matches == null ? snapshot.size() : matches.length;
+        int count = limit == null ? Integer.MAX_VALUE : limit;
+        int[] positions = snapshot.pagePositions(matches, sortType, start, count);
+
+        long nextOffset = (long) start + positions.length;
+        String nextCursor = limit != null && nextOffset < total
+                ? new PageCursor(snapshot.getVersion(), (int) nextOffset, sortType, caseInsensitiveQuery, filterKey).encode()
+                : null;
+
+        List<T> results = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            results.add(mapper.map(snapshot, position, caseInsensitiveQuery));
+        }
+        metrics.recordSearch(endpoint, sortType, PokemonMetrics.Source.PAGE, startNanos, results.size());
+        return new PokemonResponseDTO<>(results, total, nextCursor);
+    }
+
+    private static PokemonMetrics.Endpoint metricsEndpoint(QueryResultCache.Endpoint endpoint) {
+        return switch (endpoint) {
+            case POKEMONS -> PokemonMetrics.Endpoint.POKEMONS;
+            case HIGHLIGHT -> PokemonMetrics.Endpoint.HIGHLIGHT;
+            case HIGHLIGHT_OFFSETS -> PokemonMetrics.Endpoint.HIGHLIGHT_OFFSETS;
+        };
+    }
+
+    private static String toName(CatalogSnapshot snapshot, int position, String caseInsensitiveQuery) {
+        return snapshot.getName(position);
+    }
+
+    /**
+     * Monta o resultado com destaque (primeira ocorrência, tag pre): sem consulta, o destaque é o próprio nome.<br>
+     * A ocorrência é procurada direto na coluna de nomes em minúsculas da fotografia, sem converter nada por requisição.
+     */
+    private static PokemonHighlightDTO toHighlightDTO(CatalogSnapshot snapshot, int position, String caseInsensitiveQuery) {
+        String pokemonName = snapshot.getName(position);
+        if (caseInsensitiveQuery == null)
+            return new PokemonHighlightDTO(pokemonName, pokemonName);
+        int[] spans = snapshot.findMatchSpans(position, caseInsensitiveQuery, 1);
+        if (spans.length == 0)
+            return new PokemonHighlightDTO(pokemonName, pokemonName);
+        return new PokemonHighlightDTO(pokemonName, highlight(pokemonName, spans[0], spans[1]));
+    }
+
+    /**
+     * Monta o resultado com os intervalos de todas as ocorrências da consulta no nome.
+     */
+    private static PokemonHighlightOffsetsDTO toHighlightOffsetsDTO(CatalogSnapshot snapshot, int position, String caseInsensitiveQuery) {
+        String pokemonName = snapshot.getName(position);
+        if (caseInsensitiveQuery == null)
+            return new PokemonHighlightOffsetsDTO(pokemonName, NO_SPANS);
+        int[] spans = snapshot.findMatchSpans(position, caseInsensitiveQuery, Integer.MAX_VALUE);
+        int[][] pairs = new int[spans.length / 2][];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = new int[]{spans[2 * i], spans[2 * i + 1]};
+        }
+        return new PokemonHighlightOffsetsDTO(pokemonName, pairs);
+    }
+
+    /**
+     * Normaliza a consulta como nas buscas ({@code trim().toLowerCase()}), retornando null para consultas vazias.
+     */
+    private static String normalizeQuery(String query) {
+        return isParamEmpty(query) ? null : query.trim().toLowerCase();
+    }
+
+    /**
+     * Verifica se o parâmetro fornecido está vazio ou é nulo.
+     *
+     * @param param O parâmetro a ser verificado.
+     * @return Retorna true se o parâmetro for nulo ou contiver apenas espaços em branco; caso contrário, retorna false.
+     */
+    private static Boolean isParamEmpty(String param) {
+        return param == null || param.trim().isEmpty();
+    }
+
+    /**
+     * Monta um resultado a partir da posição do Pokémon na fotografia e da consulta normalizada.
      */
-    private static String getIdFromPokemonUrl(String pokemonUrl) {
-        String[] urlParts = pokemonUrl.split("/");
-        return urlParts[urlParts.length - 1];
+    @FunctionalInterface
+    private interface ResultMapper<T> {
+        T map(CatalogSnapshot snapshot, int position, String caseInsensitiveQuery);
     }
 }
@@ -0,0 +1,83 @@
+package com.gilliard.pokemon.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public class ETagUtils {
+
+    // 64 bits do SHA-256 bastam para distinguir as consultas de uma mesma versão do catálogo:
+    private static final int HASH_BYTES = 8;
+
+    /**
+     * Monta um ETag forte (entre aspas, sem o prefixo {@code W/}) para uma resposta que depende apenas da versão da
+     * fotografia do catálogo e dos parâmetros informados.<br>
+     *
+     * A versão fica legível no início do ETag; os parâmetros entram como um resumo SHA-256, separados por um
+     * caractere que não aparece em parâmetros de URL, de forma que ("ab", "c") e ("a", "bc") gerem ETags diferentes.
+     *
+     * @param snapshotVersion A versão da fotografia usada na resposta.
+     * @param parts Os parâmetros, já normalizados, que determinam o conteúdo da resposta (nulos são aceitos).
+     * @return O ETag, por exemplo {@code "3-1f2e3d4c5b6a7988"}.
+     */
+    public static String strongETag(long snapshotVersion, Object... parts) {
+        return "\"" + snapshotVersion + "-" + digest(HASH_BYTES, parts) + "\"";
+    }
+
+    /**
+     * Resumo SHA-256 dos parâmetros, em hexadecimal, truncado para {@code bytes} bytes. Cada parâmetro é seguido de um
+     * separador, e nulo é distinto de qualquer texto (inclusive {@code "null"}).
+     *
+     * @param bytes Quantos bytes do resumo manter (no máximo 32).
+     * @param parts Os parâmetros (nulos são aceitos).
+     * @return O resumo, com {@code 2 * bytes} caracteres hexadecimais.
+     */
+    public static String digest(int bytes, Object... parts) {
+        MessageDigest digest = sha256();
+        for (Object part : parts) {
+            if (part == null) {
+                // 0xFF nunca aparece em UTF-8:
+                digest.update((byte) 0xFF);
+            } else {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, bytes);
+    }
+
+    /**
+     * Verifica se o cabeçalho {@code If-None-Match} da requisição contém o ETag, ou seja, se o cliente já tem a
+     * resposta atual e pode receber um 304. Segue a comparação fraca exigida para esse cabeçalho: o prefixo
+     * {@code W/} é ignorado, e {@code *} corresponde a qualquer ETag.
+     *
+     * @param ifNoneMatch O valor do cabeçalho (lista de ETags separados por vírgula), ou nulo quando ausente.
+     * @param etag O ETag da resposta atual.
+     * @return true se o cliente já tiver a resposta.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null)
+            return false;
+        String opaqueTag = stripWeakPrefix(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || stripWeakPrefix(trimmed).equals(opaqueTag))
+                return true;
+        }
+        return false;
+    }
+
+    private static String stripWeakPrefix(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Todo JDK é obrigado a oferecer SHA-256:
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,13 +1,13 @@
 package com.gilliard.pokemon.utils;
 
-import com.gilliard.pokemon.model.Pokemon;
-
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.function.BiFunction;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
- * Classe utilitária que implementa o algoritmo MergeSort para ordenação de listas de Pokémon.<br>
+ * Classe utilitária que implementa o algoritmo MergeSort para ordenação de listas (de Pokémon ou das suas posições na cache).<br>
  *
  * - Complexidade de tempo: O(n log n)<br>
  * - Estratégia: divisão e conquista (divide recursivamente a lista em metades, ordena cada parte e depois combina de forma ordenada).<br>
@@ -15,89 +15,172 @@ import java.util.function.BiFunction;
  * um elemento cada é log n. A mesclagem envolve percorrer os n elementos de cada nível da árvore,
  * então temos n * log n = O(n log n).<br>
  * <br>
- * Se estivesse usando alguma biblioteca de sorting do Java, bem como Comparators, talvez fosse uma boa usar o padrão Strategy e criar duas estratégias: uma para ordenar por nome e outra pelo tamanho.
- *
+ * A ordenação é feita sobre um array de posições ({@code int[]}) com um único buffer auxiliar do mesmo tamanho, que
+ * alterna de papel com o array original a cada nível da recursão; nenhuma lista intermediária é criada. As comparações
+ * usam {@link Comparator}/{@link IntComparator}, que retornam {@code int} primitivo. O algoritmo é estável: em caso de
+ * empate o elemento da metade esquerda vem antes. Acima de {@link #DEFAULT_PARALLEL_THRESHOLD} elementos as metades são
+ * ordenadas em paralelo no {@link ForkJoinPool} comum.
  */
 public class MergeSortUtils {
 
     /**
-     * Implementação genérica do MergeSort para ordenar listas de Pokémon com base em um critério de comparação.
+     * Quantidade mínima de elementos para ordenar as metades em paralelo. Pode ser alterada pela propriedade de sistema
+     * {@code pokemon.sort.parallel-threshold}.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = Integer.getInteger("pokemon.sort.parallel-threshold", 8_192);
+
+    // Abaixo deste tamanho, a ordenação por inserção é mais rápida que continuar dividindo:
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * Compara dois inteiros (normalmente posições de Pokémons na cache) sem boxing.
+     */
+    @FunctionalInterface
+    public interface IntComparator {
+        int compare(int a, int b);
+    }
+
+    /**
+     * Ordena uma lista com base em um critério de comparação, sem alterar a lista original.
      *
      * @param list Lista a ser ordenada.
-     * @param compare Função de comparação que recebe dois Pokémon e retorna um inteiro.
-     * @return Lista ordenada.
+     * @param compare Critério de comparação.
+     * @return Uma nova lista ordenada.
      */
-    public static List<Pokemon> mergeSort(List<Pokemon> list, BiFunction<Pokemon, Pokemon, Integer> compare) {
+    public static <T> List<T> mergeSort(List<T> list, Comparator<? super T> compare) {
         if (list.size() <= 1)
             return list; // Caso base
-        // Divide a lista em duas:
-        SplitResult split = splitList(list);
-        // Ordena recursivamente as metades:
-        List<Pokemon> left = mergeSort(split.left, compare);
-        List<Pokemon> right = mergeSort(split.right, compare);
-        // Mescla as duas listas ordenadas pelo critério solicitado:
-        return merge(left, right, compare);
+        @SuppressWarnings("unchecked")
+        T[] items = (T[]) list.toArray();
+        int[] positions = identity(items.length);
+        sort(positions, (a, b) -> compare.compare(items[a], items[b]));
+
+        List<T> sorted = new ArrayList<>(items.length);
+        for (int position : positions) {
+            sorted.add(items[position]);
+        }
+        return sorted;
     }
 
     /**
-     * Divide uma lista em duas partes.
+     * Ordena o array in-place com base no critério de comparação.
      *
-     * @param list Lista original a ser dividida.
-     * @return Objeto SplitResult contendo as listas esquerda e direita.
+     * @param items Array a ser ordenado.
+     * @param compare Critério de comparação entre dois elementos do array.
      */
-    private static SplitResult splitList(List<Pokemon> list) {
-        int middle = list.size() / 2;
-        return new SplitResult(
-                new ArrayList<>(list.subList(0, middle)),
-                new ArrayList<>(list.subList(middle, list.size()))
-        );
+    public static void sort(int[] items, IntComparator compare) {
+        sort(items, compare, DEFAULT_PARALLEL_THRESHOLD);
     }
 
     /**
-     * Mescla duas listas ordenadas com base na função de comparação.
+     * Ordena o array in-place com base no critério de comparação, ordenando as metades em paralelo quando o trecho
+     * tiver pelo menos {@code parallelThreshold} elementos.
      *
-     * @param left Lista esquerda ordenada.
-     * @param right Lista direita ordenada.
-     * @param compare Função de comparação.
-     * @return Lista mesclada e ordenada.
+     * @param items Array a ser ordenado.
+     * @param compare Critério de comparação entre dois elementos do array.
+     * @param parallelThreshold Tamanho mínimo para usar o fork/join.
      */
-    private static List<Pokemon> merge(List<Pokemon> left, List<Pokemon> right, BiFunction<Pokemon, Pokemon, Integer> compare) {
-        List<Pokemon> merged = new ArrayList<>();
-        int i = 0, j = 0;
-
-        while (i < left.size() && j < right.size()) {
-            // Se compare.apply(left, right) retorna valor negativo ou zero, left vem antes
-            if (compare.apply(left.get(i), right.get(j)) <= 0) {
-                merged.add(left.get(i));
-                i++;
-            } else {
-                merged.add(right.get(j));
-                j++;
-            }
+    public static void sort(int[] items, IntComparator compare, int parallelThreshold) {
+        if (items.length <= 1)
+            return;
+        int[] buffer = items.clone();
+        if (items.length >= parallelThreshold) {
+            ForkJoinPool.commonPool().invoke(new ParallelMergeSort(buffer, items, 0, items.length, compare, Math.max(parallelThreshold, 2)));
+        } else {
+            mergeSort(buffer, items, 0, items.length, compare);
         }
+    }
 
-        while (i < left.size()) {
-            merged.add(left.get(i));
-            i++;
+    /**
+     * Cria o array {@code [0, 1, ..., size - 1]}.
+     */
+    public static int[] identity(int size) {
+        int[] positions = new int[size];
+        for (int i = 0; i < size; i++) {
+            positions[i] = i;
         }
-        while (j < right.size()) {
-            merged.add(right.get(j));
-            j++;
+        return positions;
+    }
+
+    /**
+     * Ordena {@code dest[low, high)} usando {@code src} como auxiliar. Os dois arrays devem ter o mesmo conteúdo
+     * nesse trecho; a cada nível da recursão eles trocam de papel, dispensando cópias.
+     */
+    private static void mergeSort(int[] src, int[] dest, int low, int high, IntComparator compare) {
+        if (high - low < INSERTION_SORT_THRESHOLD) {
+            insertionSort(dest, low, high, compare);
+            return;
+        }
+        // Ordena recursivamente as metades:
+        int middle = (low + high) >>> 1;
+        mergeSort(dest, src, low, middle, compare);
+        mergeSort(dest, src, middle, high, compare);
+        // Mescla as duas metades ordenadas pelo critério solicitado:
+        merge(src, dest, low, middle, high, compare);
+    }
+
+    /**
+     * Mescla as metades ordenadas {@code src[low, middle)} e {@code src[middle, high)} em {@code dest[low, high)}.
+     */
+    private static void merge(int[] src, int[] dest, int low, int middle, int high, IntComparator compare) {
+        // Se as metades já estão em ordem, basta copiar:
+        if (compare.compare(src[middle - 1], src[middle]) <= 0) {
+            System.arraycopy(src, low, dest, low, high - low);
+            return;
         }
+        int i = low, j = middle;
+        for (int k = low; k < high; k++) {
+            // Se compare(esquerda, direita) retorna valor negativo ou zero, esquerda vem antes
+            if (j >= high || (i < middle && compare.compare(src[i], src[j]) <= 0)) {
+                dest[k] = src[i++];
+            } else {
+                dest[k] = src[j++];
+            }
+        }
+    }
 
-        return merged;
+    private static void insertionSort(int[] items, int low, int high, IntComparator compare) {
+        for (int i = low + 1; i < high; i++) {
+            int current = items[i];
+            int j = i - 1;
+            while (j >= low && compare.compare(items[j], current) > 0) {
+                items[j + 1] = items[j];
+                j--;
+            }
+            items[j + 1] = current;
+        }
     }
 
     /**
-     * Classe auxiliar para armazenar as listas esquerda e direita.
+     * Versão fork/join do MergeSort: trechos acima do limite ordenam as metades em paralelo.
      */
-    private static class SplitResult {
-        List<Pokemon> left;
-        List<Pokemon> right;
+    private static class ParallelMergeSort extends RecursiveAction {
+        private final int[] src;
+        private final int[] dest;
+        private final int low;
+        private final int high;
+        private final IntComparator compare;
+        private final int threshold;
+
+        ParallelMergeSort(int[] src, int[] dest, int low, int high, IntComparator compare, int threshold) {
+            this.src = src;
+            this.dest = dest;
+            this.low = low;
+            this.high = high;
+            this.compare = compare;
+            this.threshold = threshold;
+        }
 
-        SplitResult(List<Pokemon> left, List<Pokemon> right) {
-            this.left = left;
-            this.right = right;
+        @Override
+        protected void compute() {
+            if (high - low < threshold) {
+                mergeSort(src, dest, low, high, compare);
+                return;
+            }
+            int middle = (low + high) >>> 1;
+            invokeAll(new ParallelMergeSort(dest, src, low, middle, compare, threshold),
+                    new ParallelMergeSort(dest, src, middle, high, compare, threshold));
+            merge(src, dest, low, middle, high, compare);
         }
     }
 }
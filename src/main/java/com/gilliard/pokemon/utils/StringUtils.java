@@ -1,7 +1,13 @@
 package com.gilliard.pokemon.utils;
 
+import java.util.Arrays;
+
 public class StringUtils {
 
+    private static final String HIGHLIGHT_OPEN = "<pre>";
+    private static final String HIGHLIGHT_CLOSE = "</pre>";
+    private static final int[] NO_SPANS = new int[0];
+
     /**
      * Destaca a primeira ocorrência de uma substring dentro de um texto, envolvendo-a com a tag pre.
      *
@@ -14,17 +20,108 @@ public class StringUtils {
         if (substring == null || text == null || substring.isEmpty() || text.isEmpty())
             return text;
 
-        int index = text.toLowerCase().indexOf(substring.toLowerCase());
-        if (index == -1)
+        int[] spans = findMatchSpans(text, text.toLowerCase(), substring.toLowerCase(), 1);
+        if (spans.length == 0)
             return text;
+        return highlight(text, spans[0], spans[1]);
+    }
+
+    /**
+     * Encontra as ocorrências (sem sobreposição, da esquerda para a direita) da consulta em um texto, ignorando
+     * maiúsculas e minúsculas, a partir do texto já convertido para minúsculas.<br>
+     *
+     * Os intervalos se referem ao texto original. Quando a conversão para minúsculas altera o tamanho do texto (alguns
+     * caracteres fora do ASCII), as posições do texto convertido não valem para o original e a busca é refeita sobre
+     * ele com {@link String#regionMatches(boolean, int, String, int, int)}.
+     *
+     * @param text O texto original.
+     * @param lowerText O mesmo texto, já convertido com {@code toLowerCase()}.
+     * @param lowerQuery A consulta, já convertida com {@code toLowerCase()}.
+     * @param maxMatches Quantidade máxima de ocorrências procuradas.
+     * @return Os intervalos encontrados, em pares {@code início, fim} (fim exclusivo) no mesmo array.
+     */
+    public static int[] findMatchSpans(String text, String lowerText, String lowerQuery, int maxMatches) {
+        int queryLength = lowerQuery.length();
+        if (queryLength == 0 || maxMatches <= 0)
+            return NO_SPANS;
+        boolean aligned = lowerText.length() == text.length();
+        int[] spans = NO_SPANS;
+        int count = 0;
+        int from = 0;
+        while (count < maxMatches) {
+            int index = aligned ? lowerText.indexOf(lowerQuery, from) : indexOfIgnoreCase(text, lowerQuery, from);
+            if (index < 0)
+                break;
+            if (2 * count + 2 > spans.length)
+                spans = Arrays.copyOf(spans, Math.max(4, spans.length * 2));
+            spans[2 * count] = index;
+            spans[2 * count + 1] = index + queryLength;
+            count++;
+            from = index + queryLength;
+        }
+        return 2 * count == spans.length ? spans : Arrays.copyOf(spans, 2 * count);
+    }
+
+    /**
+     * Envolve o trecho {@code [start, end)} do texto com a tag pre, copiando o texto uma única vez para um buffer
+     * do tamanho exato do resultado.
+     *
+     * @param text O texto original.
+     * @param start Início do trecho destacado.
+     * @param end Fim (exclusivo) do trecho destacado.
+     * @return O texto com o trecho destacado.
+     */
+    public static String highlight(String text, int start, int end) {
+        return new StringBuilder(text.length() + HIGHLIGHT_OPEN.length() + HIGHLIGHT_CLOSE.length())
+                .append(text, 0, start)
+                .append(HIGHLIGHT_OPEN)
+                .append(text, start, end)
+                .append(HIGHLIGHT_CLOSE)
+                .append(text, end, text.length())
+                .toString();
+    }
 
-        StringBuilder result = new StringBuilder();
-        result.append(text, 0, index)
-                .append("<pre>")
-                .append(text, index, index + substring.length())
-                .append("</pre>")
-                .append(text.substring(index + substring.length()));
-        return result.toString();
+    private static int indexOfIgnoreCase(String text, String lowerQuery, int from) {
+        for (int i = from; i + lowerQuery.length() <= text.length(); i++) {
+            if (text.regionMatches(true, i, lowerQuery, 0, lowerQuery.length()))
+                return i;
+        }
+        return -1;
     }
 
+    /**
+     * Remove caracteres especiais da string para evitar problemas de ordenação, substituindo cada caractere que não
+     * seja letra ASCII ou dígito por um espaço.<br>
+     *
+     * Equivale a {@code name.replaceAll("[^a-zA-Z0-9]", " ")}, inclusive para caracteres fora do BMP (um par
+     * de surrogates vira um único espaço), mas sem expressão regular e sem alocar quando o nome não muda.
+     *
+     * @param name Nome do Pokémon.
+     * @return Nome sem caracteres especiais.
+     */
+    public static String toSortKey(String name) {
+        int length = name.length();
+        int i = 0;
+        while (i < length && isAsciiAlphanumeric(name.charAt(i))) {
+            i++;
+        }
+        if (i == length)
+            return name;
+
+        StringBuilder key = new StringBuilder(length).append(name, 0, i);
+        while (i < length) {
+            int codePoint = name.codePointAt(i);
+            if (isAsciiAlphanumeric(codePoint)) {
+                key.append((char) codePoint);
+            } else {
+                key.append(' ');
+            }
+            i += Character.charCount(codePoint);
+        }
+        return key.toString();
+    }
+
+    private static boolean isAsciiAlphanumeric(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
 }
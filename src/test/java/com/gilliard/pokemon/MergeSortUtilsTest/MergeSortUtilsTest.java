@@ -0,0 +1,50 @@
+package com.gilliard.pokemon.MergeSortUtilsTest;
+
+import com.gilliard.pokemon.model.Pokemon;
+import com.gilliard.pokemon.model.SortType;
+import com.gilliard.pokemon.utils.MergeSortUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MergeSortUtilsTest {
+
+    @Test
+    void testSort_IsStableSequentialAndParallel() {
+        Random random = new Random(3);
+        int[] keys = random.ints(50_000, 0, 100).toArray();
+
+        int[] expected = MergeSortUtils.identity(keys.length);
+        Integer[] boxed = Arrays.stream(expected).boxed().toArray(Integer[]::new);
+        // Arrays.sort de objetos é estável: empates mantêm a ordem das posições
+        Arrays.sort(boxed, Comparator.comparingInt(position -> keys[position]));
+        expected = Arrays.stream(boxed).mapToInt(Integer::intValue).toArray();
+
+        int[] sequential = MergeSortUtils.identity(keys.length);
+        MergeSortUtils.sort(sequential, (a, b) -> Integer.compare(keys[a], keys[b]), Integer.MAX_VALUE);
+        assertArrayEquals(expected, sequential);
+
+        int[] parallel = MergeSortUtils.identity(keys.length);
+        MergeSortUtils.sort(parallel, (a, b) -> Integer.compare(keys[a], keys[b]), 1_000);
+        assertArrayEquals(expected, parallel);
+    }
+
+    @Test
+    void testMergeSort_KeepsOriginalListAndOrdersBySortType() {
+        List<Pokemon> pokemons = List.of(
+                new Pokemon("25", "Pikachu", "url"),
+                new Pokemon("1", "Bulbasaur", "url"),
+                new Pokemon("4", "Charmander", "url"),
+                new Pokemon("7", "Squirtle", "url")
+        );
+
+        List<Pokemon> byLength = MergeSortUtils.mergeSort(pokemons, SortType.LENGTH.getComparator());
+        assertEquals(List.of("Pikachu", "Squirtle", "Bulbasaur", "Charmander"), byLength.stream().map(Pokemon::getName).toList());
+
+        List<Pokemon> byName = MergeSortUtils.mergeSort(pokemons, SortType.NAME.getComparator());
+        assertEquals(List.of("Bulbasaur", "Charmander", "Pikachu", "Squirtle"), byName.stream().map(Pokemon::getName).toList());
+        assertEquals("Pikachu", pokemons.getFirst().getName());
+    }
+}
@@ -3,7 +3,7 @@ package com.gilliard.pokemon;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "pokemon.cache.snapshot.path=")
 class PokemonApplicationTests {
 
 	@Test
@@ -0,0 +1,111 @@
+package com.gilliard.pokemon.PokemonCacheTest;
+
+import com.gilliard.pokemon.cache.CatalogSnapshot;
+import com.gilliard.pokemon.cache.CatalogSnapshotFile;
+import com.gilliard.pokemon.cache.CatalogSnapshotStore;
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.model.Pokemon;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotFileTest {
+    private static final List<Pokemon> POKEMONS = List.of(
+            new Pokemon("1", "bulbasaur", "https://pokeapi.co/api/v2/pokemon/1/"),
+            new Pokemon("25", "pikachu", "https://pokeapi.co/api/v2/pokemon/25/"),
+            new Pokemon("10034", "charizard-mega-x", "https://pokeapi.co/api/v2/pokemon/10034/")
+    );
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        PokemonCache.getInstance().clearCache();
+        file = Files.createTempDirectory("catalog-snapshot").resolve("pokemon-catalog.bin");
+    }
+
+    @Test
+    void testWriteAndRead_RoundTrip() throws Exception {
+        CatalogSnapshot snapshot = PokemonCache.getInstance().publish(POKEMONS);
+
+        CatalogSnapshotFile.write(file, snapshot);
+        CatalogSnapshotFile.StoredCatalog stored = CatalogSnapshotFile.read(file);
+
+        assertEquals(snapshot.getLoadedAt().toEpochMilli(), stored.getLoadedAt().toEpochMilli());
+        assertEquals(POKEMONS.size(), stored.getPokemons().size());
+        for (int i = 0; i < POKEMONS.size(); i++) {
+            assertEquals(POKEMONS.get(i).getId(), stored.getPokemons().get(i).getId());
+            assertEquals(POKEMONS.get(i).getName(), stored.getPokemons().get(i).getName());
+            assertEquals(POKEMONS.get(i).getUrl(), stored.getPokemons().get(i).getUrl());
+        }
+    }
+
+    @Test
+    void testRead_RejectsCorruptedPayload() throws Exception {
+        CatalogSnapshotFile.write(file, PokemonCache.getInstance().publish(POKEMONS));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 3] ^= 0x20;
+        Files.write(file, bytes);
+
+        assertThrows(CatalogSnapshotFile.InvalidSnapshotException.class, () -> CatalogSnapshotFile.read(file));
+    }
+
+    @Test
+    void testRead_RejectsUnknownSchemaVersion() throws Exception {
+        CatalogSnapshotFile.write(file, PokemonCache.getInstance().publish(POKEMONS));
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).putInt(4, 99);
+        Files.write(file, bytes);
+
+        assertThrows(CatalogSnapshotFile.InvalidSnapshotException.class, () -> CatalogSnapshotFile.read(file));
+    }
+
+    @Test
+    void testStore_RestoresValidFileAndIgnoresStaleOne() throws Exception {
+        CatalogSnapshotFile.write(file, PokemonCache.getInstance().publish(POKEMONS, Instant.now().minus(Duration.ofDays(2))));
+        PokemonCache.getInstance().clearCache();
+
+        CatalogSnapshotStore staleStore = new CatalogSnapshotStore(file.toString(), Duration.ofDays(1));
+        staleStore.restore();
+        staleStore.detach();
+        assertTrue(PokemonCache.getInstance().getCache().isEmpty());
+
+        CatalogSnapshotStore store = new CatalogSnapshotStore(file.toString(), Duration.ofDays(7));
+        store.restore();
+        store.detach();
+        assertEquals(POKEMONS.size(), PokemonCache.getInstance().getCache().size());
+    }
+
+    @Test
+    void testStore_PersistsPublishedSnapshotsInTheBackground() throws Exception {
+        CatalogSnapshotStore store = new CatalogSnapshotStore(file.toString(), Duration.ofDays(7));
+        store.restore();
+        PokemonCache.getInstance().publish(POKEMONS.subList(0, 1));
+        CatalogSnapshot latest = PokemonCache.getInstance().publish(POKEMONS);
+        // Aguarda a gravação agendada:
+        store.detach();
+
+        CatalogSnapshotFile.StoredCatalog stored = CatalogSnapshotFile.read(file);
+        assertEquals(latest.getLoadedAt().toEpochMilli(), stored.getLoadedAt().toEpochMilli());
+        assertEquals(POKEMONS.size(), stored.getPokemons().size());
+    }
+
+    @Test
+    void testStore_IgnoresCorruptedFile() throws Exception {
+        Files.write(file, new byte[]{1, 2, 3});
+
+        CatalogSnapshotStore store = new CatalogSnapshotStore(file.toString(), Duration.ofDays(7));
+        store.restore();
+        store.detach();
+
+        assertTrue(PokemonCache.getInstance().getCache().isEmpty());
+    }
+}
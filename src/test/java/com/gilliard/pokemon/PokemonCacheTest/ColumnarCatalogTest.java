@@ -0,0 +1,93 @@
+package com.gilliard.pokemon.PokemonCacheTest;
+
+import com.gilliard.pokemon.cache.CatalogSnapshot;
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.model.Pokemon;
+import com.gilliard.pokemon.utils.StringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static com.gilliard.pokemon.RandomText.randomText;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarCatalogTest {
+    private static final String VECTOR_PROPERTY = "pokemon.scan.vector";
+
+    @BeforeEach
+    void setUp() {
+        PokemonCache.getInstance().clearCache();
+    }
+
+    @Test
+    void testRecords_RoundTripThroughColumns() {
+        List<Pokemon> pokemons = List.of(
+                new Pokemon("1", "bulbasaur", "https://pokeapi.co/api/v2/pokemon/1/"),
+                new Pokemon("25", "Pikachu", "https://pokeapi.co/api/v2/pokemon/25/"),
+                new Pokemon("007", "squirtle", "https://pokeapi.co/api/v2/pokemon/007/"),
+                new Pokemon("mew", "mew", "https://pokeapi.co/api/v2/pokemon/mew/"),
+                new Pokemon("29", "nidoran♀", "https://example.com/nidoran"),
+                new Pokemon("669", "Flabébé", null),
+                new Pokemon("0", "", "https://pokeapi.co/api/v2/pokemon/0/")
+        );
+        CatalogSnapshot snapshot = PokemonCache.getInstance().publish(pokemons);
+
+        assertEquals(pokemons, snapshot.getPokemons());
+        for (int i = 0; i < pokemons.size(); i++) {
+            assertEquals(pokemons.get(i).getId(), snapshot.getId(i));
+            assertEquals(pokemons.get(i).getName(), snapshot.getName(i));
+            assertEquals(pokemons.get(i).getName().toLowerCase(), snapshot.getLowerName(i));
+            assertEquals(pokemons.get(i).getUrl(), snapshot.get(i).getUrl());
+        }
+    }
+
+    @Test
+    void testScan_ShortQueriesMatchContainsSemantics() {
+        // Varredura vetorial (quando o módulo está habilitado na JVM dos testes) e escalar:
+        for (String vector : List.of("true", "false")) {
+            System.setProperty(VECTOR_PROPERTY, vector);
+            try {
+                Random random = new Random(7);
+                List<Pokemon> pokemons = new ArrayList<>();
+                for (int i = 0; i < 3_000; i++) {
+                    pokemons.add(new Pokemon(String.valueOf(i + 1), randomText(random, "aAbBcé-", random.nextInt(random.nextInt(4) == 0 ? 90 : 6)), "url"));
+                }
+                CatalogSnapshot snapshot = PokemonCache.getInstance().publish(pokemons);
+
+                for (String query : List.of("a", "b", "-", "é", "ab", "ba", "a-", "-b", "aa", "bb", "cé", "x")) {
+                    int[] expected = IntStream.range(0, pokemons.size())
+                            .filter(i -> pokemons.get(i).getName().toLowerCase().contains(query))
+                            .toArray();
+                    assertArrayEquals(expected, snapshot.search(query), vector + " / " + query);
+                }
+            } finally {
+                System.clearProperty(VECTOR_PROPERTY);
+            }
+        }
+    }
+
+    @Test
+    void testFindMatchSpans_SameAsStringUtils() {
+        Random random = new Random(11);
+        for (String alphabet : List.of("aAbB-", "aAbBİé")) {
+            List<Pokemon> pokemons = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                pokemons.add(new Pokemon(String.valueOf(i + 1), randomText(random, alphabet, 1 + random.nextInt(10)), "url"));
+            }
+            CatalogSnapshot snapshot = PokemonCache.getInstance().publish(pokemons);
+
+            for (int q = 0; q < 50; q++) {
+                String query = randomText(random, alphabet, 1 + random.nextInt(3)).toLowerCase();
+                for (int i = 0; i < pokemons.size(); i++) {
+                    String name = pokemons.get(i).getName();
+                    assertArrayEquals(StringUtils.findMatchSpans(name, name.toLowerCase(), query, Integer.MAX_VALUE),
+                            snapshot.findMatchSpans(i, query, Integer.MAX_VALUE), name + " / " + query);
+                }
+            }
+        }
+    }
+}
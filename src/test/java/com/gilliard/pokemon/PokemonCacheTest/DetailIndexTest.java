@@ -0,0 +1,81 @@
+package com.gilliard.pokemon.PokemonCacheTest;
+
+import com.gilliard.pokemon.cache.CatalogSnapshot;
+import com.gilliard.pokemon.cache.DetailIndex;
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.model.Pokemon;
+import com.gilliard.pokemon.model.PokemonDetail;
+import com.gilliard.pokemon.model.Stat;
+import com.gilliard.pokemon.model.StatRange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DetailIndexTest {
+    private DetailIndex index;
+
+    @BeforeEach
+    void setUp() {
+        PokemonCache.getInstance().clearCache();
+        CatalogSnapshot snapshot = PokemonCache.getInstance().publish(List.of(
+                new Pokemon("4", "charmander", "url"),
+                new Pokemon("6", "charizard", "url"),
+                new Pokemon("7", "squirtle", "url"),
+                new Pokemon("16", "pidgey", "url"),
+                new Pokemon("25", "pikachu", "url")));
+        index = snapshot.getDetailIndex();
+        index.addAll(new int[]{0, 1, 3}, new PokemonDetail[]{
+                detail("4", List.of("fire"), 39, 65),
+                detail("6", List.of("fire", "flying"), 78, 100),
+                detail("16", List.of("normal", "flying"), 40, 56)});
+    }
+
+    @Test
+    void testMissing_OnlyPositionsWithoutDetails() {
+        assertArrayEquals(new int[]{2, 4}, index.missing(null));
+        assertArrayEquals(new int[]{4}, index.missing(new int[]{1, 4, 3}));
+        assertEquals(3, index.knownCount());
+    }
+
+    @Test
+    void testFilter_IntersectsTypeBitmaps() {
+        assertArrayEquals(new int[]{0, 1}, index.filter(null, List.of("fire"), List.of()));
+        assertArrayEquals(new int[]{1, 3}, index.filter(null, List.of("flying"), List.of()));
+        assertArrayEquals(new int[]{1}, index.filter(null, List.of("fire", "flying"), List.of()));
+        assertArrayEquals(new int[]{3}, index.filter(new int[]{2, 3, 4}, List.of("flying"), List.of()));
+        assertArrayEquals(new int[0], index.filter(null, List.of("dragon"), List.of()));
+    }
+
+    @Test
+    void testFilter_StatRanges() {
+        assertArrayEquals(new int[]{1}, index.filter(null, List.of(), List.of(StatRange.parse("speed:90.."))));
+        assertArrayEquals(new int[]{0, 3}, index.filter(null, List.of(), List.of(StatRange.parse("hp:..40"))));
+        assertArrayEquals(new int[]{3}, index.filter(null, List.of("flying"), List.of(StatRange.parse("HP:..40"))));
+        // Posições sem detalhes nunca passam pelo filtro, mesmo sem tipos nem atributos:
+        assertArrayEquals(new int[]{0, 1, 3}, index.filter(null, List.of(), List.of()));
+    }
+
+    @Test
+    void testStatRange_Parse() {
+        StatRange range = StatRange.parse("special-attack: 90..120");
+        assertEquals(Stat.SPECIAL_ATTACK, range.getStat());
+        assertEquals(90, range.getMin());
+        assertEquals(120, range.getMax());
+        assertEquals(Integer.MAX_VALUE, StatRange.parse("speed:100..").getMax());
+        assertEquals(0, StatRange.parse("speed:..100").getMin());
+        assertTrue(StatRange.parse("defense:65").contains(65));
+        assertFalse(StatRange.parse("defense:65").contains(66));
+        assertThrows(IllegalArgumentException.class, () -> StatRange.parse("speed"));
+        assertThrows(IllegalArgumentException.class, () -> StatRange.parse("luck:1..2"));
+    }
+
+    private static PokemonDetail detail(String id, List<String> types, int hp, int speed) {
+        int[] stats = new int[Stat.values().length];
+        stats[Stat.HP.ordinal()] = hp;
+        stats[Stat.SPEED.ordinal()] = speed;
+        return new PokemonDetail(id, "pokemon-" + id, types, stats);
+    }
+}
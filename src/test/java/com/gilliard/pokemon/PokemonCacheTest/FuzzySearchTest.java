@@ -0,0 +1,102 @@
+package com.gilliard.pokemon.PokemonCacheTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gilliard.pokemon.cache.CatalogSnapshot;
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.cache.RenderedResponseCache;
+import com.gilliard.pokemon.controller.PokemonController;
+import com.gilliard.pokemon.model.Pokemon;
+import com.gilliard.pokemon.model.SortType;
+import com.gilliard.pokemon.service.InvalidPageRequestException;
+import com.gilliard.pokemon.service.PokemonService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static com.gilliard.pokemon.RandomText.randomText;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FuzzySearchTest {
+    private static final String ALPHABET = "abcAB";
+
+    @BeforeEach
+    void setUp() {
+        PokemonCache.getInstance().clearCache();
+    }
+
+    @Test
+    void testSearchFuzzy_MatchesBruteForceDistance() {
+        Random random = new Random(11);
+        List<Pokemon> pokemons = new ArrayList<>();
+        for (int i = 0; i < 1_500; i++) {
+            pokemons.add(new Pokemon(String.valueOf(i), randomText(random, ALPHABET, 1 + random.nextInt(7)), "url"));
+        }
+        CatalogSnapshot snapshot = PokemonCache.getInstance().publish(pokemons);
+        List<Pokemon> byName = new ArrayList<>(pokemons);
+        byName.sort(SortType.NAME.getComparator());
+
+        for (int q = 0; q < 200; q++) {
+            String query = randomText(random, ALPHABET, 1 + random.nextInt(6)).toLowerCase();
+            int maxEdits = random.nextInt(4);
+            // Resultado esperado: distância calculada para todos os nomes, ordenando por distância e depois por nome
+            int[] expected = IntStream.range(0, pokemons.size())
+                    .filter(i -> levenshtein(query, pokemons.get(i).getName().toLowerCase()) <= maxEdits)
+                    .boxed()
+                    .sorted(Comparator.<Integer>comparingInt(i -> levenshtein(query, pokemons.get(i).getName().toLowerCase()))
+                            .thenComparingInt(i -> byName.indexOf(pokemons.get(i))))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            assertArrayEquals(expected, snapshot.searchFuzzy(query, maxEdits, SortType.NAME), "consulta " + query);
+        }
+    }
+
+    @Test
+    void testGetPokemonsFuzzy_FindsMisspelledNames() {
+        PokemonCache.getInstance().publish(List.of(
+                new Pokemon("4", "Charmander", "url"),
+                new Pokemon("25", "Pikachu", "url"),
+                new Pokemon("26", "Raichu", "url"),
+                new Pokemon("172", "Pichu", "url")
+        ));
+        PokemonService pokemonService = new PokemonService();
+
+        assertEquals(List.of("Pikachu"), pokemonService.getPokemonsFuzzy("pikachuu", "name", 1).getResult());
+        assertEquals(List.of("Charmander"), pokemonService.getPokemonsFuzzy(" CHARMANDR ", null, null).getResult());
+        // Mais próximos primeiro: Pichu (1 edição) antes de Pikachu (2 edições)
+        assertEquals(List.of("Pichu", "Pikachu"), pokemonService.getPokemonsFuzzy("pikchu", "name", 2).getResult());
+        assertTrue(pokemonService.getPokemonsFuzzy("bulbasaur", "name", 2).getResult().isEmpty());
+    }
+
+    @Test
+    void testFuzzyMode_RejectsPaginationAndStreaming() {
+        PokemonCache.getInstance().publish(List.of(new Pokemon("25", "Pikachu", "url")));
+        PokemonController controller = new PokemonController(new PokemonService(), new RenderedResponseCache(), new ObjectMapper());
+
+        assertEquals(HttpStatus.OK, controller.getPokemons("pikachuu", null, "fuzzy", 1, null, null, null, null, null,
+                false, null, null, null).getStatusCode());
+        assertThrows(InvalidPageRequestException.class, () -> controller.getPokemons("pikachuu", null, "fuzzy", 1, 10, null,
+                null, null, null, false, null, null, null));
+        assertThrows(InvalidPageRequestException.class, () -> controller.getPokemons("pikachuu", null, "fuzzy", 1, null, 5,
+                null, null, null, false, null, null, null));
+        assertThrows(InvalidPageRequestException.class, () -> controller.getPokemons("pikachuu", null, "fuzzy", 1, null, null,
+                "cursor", null, null, false, null, null, null));
+        assertThrows(InvalidPageRequestException.class, () -> controller.getPokemons("pikachuu", null, "fuzzy", 1, null, null,
+                null, null, null, true, null, null, null));
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) d[i][0] = i;
+        for (int j = 0; j <= b.length(); j++) d[0][j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(d[i - 1][j - 1] + cost, Math.min(d[i - 1][j], d[i][j - 1]) + 1);
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
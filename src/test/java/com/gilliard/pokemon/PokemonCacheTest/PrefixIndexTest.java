@@ -0,0 +1,61 @@
+package com.gilliard.pokemon.PokemonCacheTest;
+
+import com.gilliard.pokemon.cache.CatalogSnapshot;
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.model.Pokemon;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static com.gilliard.pokemon.RandomText.randomText;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixIndexTest {
+    private static final String ALPHABET = "aAbBc-é";
+
+    @BeforeEach
+    void setUp() {
+        PokemonCache.getInstance().clearCache();
+    }
+
+    @Test
+    void testSearchPrefix_MatchesStartsWithScan() {
+        Random random = new Random(7);
+        List<Pokemon> pokemons = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            pokemons.add(new Pokemon(String.valueOf(i), randomText(random, ALPHABET, 1 + random.nextInt(8)), "url"));
+        }
+        CatalogSnapshot snapshot = PokemonCache.getInstance().publish(pokemons);
+
+        for (int q = 0; q < 300; q++) {
+            String prefix = randomText(random, ALPHABET, random.nextInt(4)).toLowerCase();
+            int limit = 1 + random.nextInt(50);
+            // Resultado esperado: varredura com startsWith, em ordem alfabética estável dos nomes em minúsculas
+            int[] all = IntStream.range(0, pokemons.size())
+                    .filter(i -> pokemons.get(i).getName().toLowerCase().startsWith(prefix))
+                    .boxed()
+                    .sorted(Comparator.comparing(i -> pokemons.get(i).getName().toLowerCase()))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+
+            assertArrayEquals(Arrays.copyOf(all, Math.min(limit, all.length)), snapshot.searchPrefix(prefix, limit));
+            assertEquals(all.length, snapshot.countPrefix(prefix));
+        }
+    }
+
+    @Test
+    void testSearchPrefix_NoMatchesAndEmptyCatalog() {
+        CatalogSnapshot snapshot = PokemonCache.getInstance().publish(List.of(
+                new Pokemon("1", "Pikachu", "url"),
+                new Pokemon("2", "Pichu", "url")
+        ));
+        assertArrayEquals(new int[0], snapshot.searchPrefix("z", 10));
+        assertArrayEquals(new int[]{1, 0}, snapshot.searchPrefix("pi", 10));
+        assertArrayEquals(new int[]{1}, snapshot.searchPrefix("pi", 1));
+
+        CatalogSnapshot empty = PokemonCache.getInstance().publish(List.of());
+        assertArrayEquals(new int[0], empty.searchPrefix("", 10));
+    }
+}
@@ -0,0 +1,97 @@
+package com.gilliard.pokemon.PokemonCacheTest;
+
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.cache.QueryResultCache;
+import com.gilliard.pokemon.dto.QueryCacheStatsDTO;
+import com.gilliard.pokemon.model.Pokemon;
+import com.gilliard.pokemon.model.SortType;
+import com.gilliard.pokemon.service.PokemonPageLoader;
+import com.gilliard.pokemon.service.PokemonService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.gilliard.pokemon.cache.QueryResultCache.Endpoint.HIGHLIGHT;
+import static com.gilliard.pokemon.cache.QueryResultCache.Endpoint.POKEMONS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryResultCacheTest {
+
+    @BeforeEach
+    void setUp() {
+        PokemonCache.getInstance().clearCache();
+    }
+
+    @Test
+    void testHitMissAndKeyNormalization() {
+        QueryResultCache cache = new QueryResultCache(10, 1_000_000);
+        assertNull(cache.get(POKEMONS, "pika", SortType.NAME, 1));
+        cache.put(POKEMONS, "pika", SortType.NAME, 1, List.of("Pikachu"), QueryResultCache::stringWeight);
+
+        assertEquals(List.of("Pikachu"), cache.get(POKEMONS, "pika", SortType.NAME, 1));
+        assertNull(cache.get(HIGHLIGHT, "pika", SortType.NAME, 1));
+        assertNull(cache.get(POKEMONS, "pika", SortType.LENGTH, 1));
+
+        QueryCacheStatsDTO stats = cache.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(3, stats.getMisses());
+        assertEquals(0.25, stats.getHitRatio());
+        assertTrue(stats.getWeightBytes() > 0);
+    }
+
+    @Test
+    void testNewSnapshotVersion_InvalidatesEntries() {
+        QueryResultCache cache = new QueryResultCache(10, 1_000_000);
+        cache.put(POKEMONS, null, SortType.NAME, 1, List.of("Pikachu"), QueryResultCache::stringWeight);
+
+        assertNull(cache.get(POKEMONS, null, SortType.NAME, 2));
+        // Resultados calculados a partir de uma fotografia antiga não são guardados
+        cache.put(POKEMONS, null, SortType.NAME, 1, List.of("Pikachu"), QueryResultCache::stringWeight);
+
+        QueryCacheStatsDTO stats = cache.getStats();
+        assertEquals(0, stats.getEntries());
+        assertEquals(0, stats.getWeightBytes());
+        assertEquals(1, stats.getInvalidations());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        QueryResultCache cache = new QueryResultCache(2, 1_000_000);
+        cache.put(POKEMONS, "a", SortType.NAME, 1, List.of("a"), QueryResultCache::stringWeight);
+        cache.put(POKEMONS, "b", SortType.NAME, 1, List.of("b"), QueryResultCache::stringWeight);
+        cache.get(POKEMONS, "a", SortType.NAME, 1);
+        cache.put(POKEMONS, "c", SortType.NAME, 1, List.of("c"), QueryResultCache::stringWeight);
+
+        assertNotNull(cache.get(POKEMONS, "a", SortType.NAME, 1));
+        assertNull(cache.get(POKEMONS, "b", SortType.NAME, 1));
+        assertEquals(1, cache.getStats().getEvictions());
+    }
+
+    @Test
+    void testEvictsByWeight() {
+        QueryResultCache cache = new QueryResultCache(100, 400);
+        cache.put(POKEMONS, "a", SortType.NAME, 1, List.of("x".repeat(100)), QueryResultCache::stringWeight);
+        cache.put(POKEMONS, "b", SortType.NAME, 1, List.of("y".repeat(100)), QueryResultCache::stringWeight);
+
+        QueryCacheStatsDTO stats = cache.getStats();
+        assertEquals(1, stats.getEntries());
+        assertTrue(stats.getWeightBytes() <= 400);
+        assertNotNull(cache.get(POKEMONS, "b", SortType.NAME, 1));
+    }
+
+    @Test
+    void testService_ReusesResultUntilSnapshotChanges() {
+        PokemonCache.getInstance().publish(List.of(new Pokemon("25", "Pikachu", "url"), new Pokemon("26", "Raichu", "url")));
+        QueryResultCache cache = new QueryResultCache();
+        PokemonService pokemonService = new PokemonService(new PokemonPageLoader(), cache);
+
+        List<String> first = pokemonService.getPokemons(" CHU ", "name").getResult();
+        List<String> second = pokemonService.getPokemons("chu", null).getResult();
+        assertSame(first, second);
+        assertEquals(1, cache.getStats().getHits());
+
+        PokemonCache.getInstance().addPokemon(new Pokemon("172", "Pichu", "url"));
+        assertEquals(List.of("Pichu", "Pikachu", "Raichu"), pokemonService.getPokemons("chu", "name").getResult());
+    }
+}
@@ -0,0 +1,146 @@
+package com.gilliard.pokemon.PokemonCacheTest;
+
+import com.gilliard.pokemon.cache.RenderedResponseCache;
+import com.gilliard.pokemon.cache.RenderedResponseCache.RenderedResponse;
+import com.gilliard.pokemon.model.SortType;
+import com.gilliard.pokemon.utils.ETagUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPInputStream;
+
+import static com.gilliard.pokemon.cache.RenderedResponseCache.Endpoint.HIGHLIGHT;
+import static com.gilliard.pokemon.cache.RenderedResponseCache.Endpoint.POKEMONS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderedResponseCacheTest {
+
+    @Test
+    void testRendersOncePerEndpointSortAndSnapshot() {
+        RenderedResponseCache cache = new RenderedResponseCache();
+        AtomicInteger renders = new AtomicInteger();
+        RenderedResponseCache.Renderer renderer = () -> ("{\"n\":" + renders.incrementAndGet() + "}").getBytes(StandardCharsets.UTF_8);
+
+        RenderedResponse first = cache.get(POKEMONS, SortType.NAME, 1, renderer);
+        assertSame(first, cache.get(POKEMONS, SortType.NAME, 1, renderer));
+        assertEquals(1, renders.get());
+
+        cache.get(POKEMONS, SortType.LENGTH, 1, renderer);
+        cache.get(HIGHLIGHT, SortType.NAME, 1, renderer);
+        assertEquals(3, renders.get());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void testNewSnapshotDiscardsPreviousResponses() {
+        RenderedResponseCache cache = new RenderedResponseCache();
+        AtomicInteger renders = new AtomicInteger();
+        RenderedResponseCache.Renderer renderer = () -> new byte[]{(byte) renders.incrementAndGet()};
+
+        cache.get(POKEMONS, SortType.NAME, 1, renderer);
+        cache.get(POKEMONS, SortType.LENGTH, 1, renderer);
+        RenderedResponse current = cache.get(POKEMONS, SortType.NAME, 2, renderer);
+        assertEquals(3, current.getBody()[0]);
+        assertEquals(1, cache.size());
+
+        // Requisição atrasada, ainda com a fotografia anterior: é respondida, mas não substitui a atual.
+        RenderedResponse stale = cache.get(POKEMONS, SortType.NAME, 1, renderer);
+        assertEquals(4, stale.getBody()[0]);
+        assertSame(current, cache.get(POKEMONS, SortType.NAME, 2, renderer));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testGzipBodyDecompressesToBody() throws IOException {
+        RenderedResponseCache cache = new RenderedResponseCache();
+        StringBuilder json = new StringBuilder("{\"results\":[");
+        for (int i = 0; i < 2_000; i++) {
+            json.append(i == 0 ? "" : ",").append("\"pokemon-").append(i).append('"');
+        }
+        byte[] body = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+
+        RenderedResponse rendered = cache.get(POKEMONS, SortType.NAME, 1, () -> body);
+        assertArrayEquals(body, rendered.getBody());
+        assertTrue(rendered.getGzipBody().length < body.length / 3);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(rendered.getGzipBody()))) {
+            assertArrayEquals(body, gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void testConcurrentRequestsShareOneRender() throws Exception {
+        RenderedResponseCache cache = new RenderedResponseCache();
+        AtomicInteger renders = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<RenderedResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(POKEMONS, SortType.NAME, 1, () -> {
+                        renders.incrementAndGet();
+                        LockSupport.parkNanos(20_000_000);
+                        return new byte[]{1};
+                    });
+                }));
+            }
+            start.countDown();
+            RenderedResponse first = futures.get(0).get();
+            for (Future<RenderedResponse> future : futures) {
+                assertSame(first, future.get());
+            }
+            assertEquals(1, renders.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailedRenderIsNotCached() {
+        RenderedResponseCache cache = new RenderedResponseCache();
+
+        assertThrows(UncheckedIOException.class, () -> cache.get(POKEMONS, SortType.NAME, 1, () -> {
+            throw new IOException("falha");
+        }));
+        assertEquals(0, cache.size());
+
+        RenderedResponse rendered = cache.get(POKEMONS, SortType.NAME, 1, () -> new byte[]{1});
+        assertEquals(1, rendered.getBody()[0]);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testStrongETag_StableAndDistinct() {
+        String etag = ETagUtils.strongETag(3, "pokemons", "", SortType.NAME, "application/json");
+        assertEquals(etag, ETagUtils.strongETag(3, "pokemons", "", SortType.NAME, "application/json"));
+        assertTrue(etag.startsWith("\"3-") && etag.endsWith("\""));
+
+        assertNotEquals(etag, ETagUtils.strongETag(4, "pokemons", "", SortType.NAME, "application/json"));
+        assertNotEquals(etag, ETagUtils.strongETag(3, "pokemons", "", SortType.LENGTH, "application/json"));
+        assertNotEquals(etag, ETagUtils.strongETag(3, "pokemons", "", SortType.NAME, "application/json+gzip"));
+        assertNotEquals(ETagUtils.strongETag(1, "ab", "c"), ETagUtils.strongETag(1, "a", "bc"));
+    }
+
+    @Test
+    void testIfNoneMatch() {
+        String etag = ETagUtils.strongETag(3, "pokemons", "pika");
+        assertTrue(ETagUtils.matches(etag, etag));
+        assertTrue(ETagUtils.matches("\"outro\", W/" + etag, etag));
+        assertTrue(ETagUtils.matches("*", etag));
+        assertFalse(ETagUtils.matches("\"outro\"", etag));
+        assertFalse(ETagUtils.matches(null, etag));
+        assertFalse(ETagUtils.matches(etag, null));
+    }
+}
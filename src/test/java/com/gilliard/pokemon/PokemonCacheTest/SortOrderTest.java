@@ -0,0 +1,66 @@
+package com.gilliard.pokemon.PokemonCacheTest;
+
+import com.gilliard.pokemon.cache.CatalogSnapshot;
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.model.Pokemon;
+import com.gilliard.pokemon.model.SortType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortOrderTest {
+
+    @BeforeEach
+    void setUp() {
+        PokemonCache.getInstance().clearCache();
+    }
+
+    @Test
+    void testSortedPositions_MatchesStableSortOfSubset() {
+        Random random = new Random(7);
+        List<Pokemon> pokemons = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            // Nomes curtos e repetidos para exercitar os empates
+            pokemons.add(new Pokemon(String.valueOf(i), randomName(random), "url"));
+        }
+        CatalogSnapshot snapshot = PokemonCache.getInstance().publish(pokemons);
+
+        for (SortType sortType : SortType.values()) {
+            assertEquals(stableSort(pokemons, sortType), toPokemons(snapshot, snapshot.sortedPositions(sortType)));
+
+            // Subconjuntos pequenos (ordenação por colocação) e grandes (percurso da ordem completa)
+            for (int size : new int[]{0, 1, 5, 50, 2_500}) {
+                int[] subset = random.ints(0, pokemons.size()).distinct().limit(size).sorted().toArray();
+                List<Pokemon> expected = stableSort(toPokemons(snapshot, subset), sortType);
+                assertEquals(expected, toPokemons(snapshot, snapshot.sortedPositions(subset, sortType)));
+            }
+        }
+    }
+
+    // List.sort também é estável e serve de referência independente da implementação do MergeSort
+    private static List<Pokemon> stableSort(List<Pokemon> pokemons, SortType sortType) {
+        List<Pokemon> sorted = new ArrayList<>(pokemons);
+        sorted.sort(sortType.getComparator());
+        return sorted;
+    }
+
+    private static List<Pokemon> toPokemons(CatalogSnapshot snapshot, int[] positions) {
+        List<Pokemon> result = new ArrayList<>();
+        for (int position : positions) {
+            result.add(snapshot.get(position));
+        }
+        return result;
+    }
+
+    private static String randomName(Random random) {
+        String[] parts = {"pika", "chu", "mr-", "mime", "jr", "a", "b"};
+        StringBuilder name = new StringBuilder();
+        for (int i = 0, n = 1 + random.nextInt(3); i < n; i++) {
+            name.append(parts[random.nextInt(parts.length)]);
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,58 @@
+package com.gilliard.pokemon.PokemonCacheTest;
+
+import com.gilliard.pokemon.cache.CatalogSnapshot;
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.model.Pokemon;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static com.gilliard.pokemon.RandomText.randomText;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+    private static final String ALPHABET = "aAbBcC-éÉ ";
+
+    @BeforeEach
+    void setUp() {
+        PokemonCache.getInstance().clearCache();
+    }
+
+    @Test
+    void testSearch_MatchesContainsSemantics() {
+        Random random = new Random(42);
+        List<Pokemon> pokemons = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            pokemons.add(new Pokemon(String.valueOf(i), randomText(random, ALPHABET, 1 + random.nextInt(12)), "url"));
+        }
+        CatalogSnapshot snapshot = PokemonCache.getInstance().publish(pokemons);
+
+        for (int q = 0; q < 500; q++) {
+            String query = randomText(random, ALPHABET, 1 + random.nextInt(5)).trim().toLowerCase();
+            if (query.isEmpty())
+                continue;
+            // Resultado esperado: o filtro original, nome.toLowerCase().contains(consulta)
+            int[] expected = IntStream.range(0, pokemons.size())
+                    .filter(i -> pokemons.get(i).getName().toLowerCase().contains(query))
+                    .toArray();
+            assertArrayEquals(expected, snapshot.search(query));
+        }
+    }
+
+    @Test
+    void testSearch_RepeatedTrigramsAndMisses() {
+        CatalogSnapshot snapshot = PokemonCache.getInstance().publish(List.of(
+                new Pokemon("1", "aaaa", "url"),
+                new Pokemon("2", "Mr-Mime", "url"),
+                new Pokemon("3", "Mime-Jr", "url")
+        ));
+
+        assertArrayEquals(new int[]{0}, snapshot.search("aaa"));
+        assertArrayEquals(new int[]{1, 2}, snapshot.search("mime"));
+        assertArrayEquals(new int[]{1}, snapshot.search("mr-m"));
+        assertArrayEquals(new int[0], snapshot.search("mimi"));
+        assertArrayEquals(new int[]{1, 2}, snapshot.search("-"));
+    }
+}
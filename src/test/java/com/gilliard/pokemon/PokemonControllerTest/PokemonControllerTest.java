@@ -0,0 +1,136 @@
+package com.gilliard.pokemon.PokemonControllerTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.cache.RenderedResponseCache;
+import com.gilliard.pokemon.controller.PokemonController;
+import com.gilliard.pokemon.model.Pokemon;
+import com.gilliard.pokemon.service.InvalidFilterException;
+import com.gilliard.pokemon.service.PokemonService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PokemonControllerTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private PokemonService pokemonService;
+    private PokemonController controller;
+
+    @BeforeEach
+    void setUp() {
+        PokemonCache.getInstance().clearCache();
+        PokemonCache.getInstance().publish(List.of(
+                new Pokemon("1", "Bulbasaur", "url"),
+                new Pokemon("4", "Charmander", "url"),
+                new Pokemon("25", "Pikachu", "url"),
+                new Pokemon("172", "Pichu", "url")));
+        pokemonService = new PokemonService();
+        controller = new PokemonController(pokemonService, new RenderedResponseCache(), objectMapper);
+    }
+
+    @Test
+    void testIfNoneMatch_ReturnsNotModifiedWithTheSameETag() {
+        for (String query : new String[]{null, "pi"}) {
+            ResponseEntity<?> first = getPokemons(query, false, null, null);
+            String etag = first.getHeaders().getETag();
+            assertEquals(HttpStatus.OK, first.getStatusCode());
+            assertNotNull(etag);
+
+            ResponseEntity<?> second = getPokemons(query, false, null, etag);
+            assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+            assertEquals(etag, second.getHeaders().getETag());
+            assertNull(second.getBody());
+        }
+    }
+
+    @Test
+    void testRepresentations_HaveDistinctETags() {
+        String json = getPokemons(null, false, null, null).getHeaders().getETag();
+        String gzip = getPokemons(null, false, "gzip", null).getHeaders().getETag();
+        String ndjson = getPokemons(null, true, null, null).getHeaders().getETag();
+
+        assertNotEquals(json, gzip);
+        assertNotEquals(json, ndjson);
+        assertNotEquals(gzip, ndjson);
+        // O ETag de uma representação não vale para outra:
+        assertEquals(HttpStatus.OK, getPokemons(null, false, "gzip", json).getStatusCode());
+        assertEquals(HttpStatus.OK, getPokemons(null, false, null, gzip).getStatusCode());
+    }
+
+    @Test
+    void testContentEncodingAndVary_OnlyOnGzipResponse() {
+        HttpHeaders gzip = getPokemons(null, false, "gzip, deflate", null).getHeaders();
+        assertEquals("gzip", gzip.getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, gzip.getFirst(HttpHeaders.VARY));
+
+        HttpHeaders plain = getPokemons(null, false, null, null).getHeaders();
+        assertNull(plain.getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertNull(plain.getFirst(HttpHeaders.VARY));
+
+        // Com consulta, a resposta não vem da RenderedResponseCache e nunca é compactada aqui:
+        HttpHeaders query = getPokemons("pi", false, "gzip", null).getHeaders();
+        assertNull(query.getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertNull(query.getFirst(HttpHeaders.VARY));
+    }
+
+    @Test
+    void testAcceptEncoding_ZeroQualityRefusesGzip() {
+        for (String refused : new String[]{"gzip;q=0", "*;q=0.000", "gzip; q=0.0, identity", "deflate"}) {
+            assertNull(getPokemons(null, false, refused, null).getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), refused);
+        }
+        for (String accepted : new String[]{"gzip", "GZIP;q=0.5", "*", "identity, *;q=0.001"}) {
+            assertEquals("gzip", getPokemons(null, false, accepted, null).getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), accepted);
+        }
+    }
+
+    @Test
+    void testPreRenderedBody_EqualsJacksonOutput() throws IOException {
+        byte[] expected = objectMapper.writeValueAsBytes(pokemonService.getPokemons(null, "length"));
+
+        assertArrayEquals(expected, (byte[]) getPokemons(null, "length", false, null, null).getBody());
+        byte[] gzip = (byte[]) getPokemons(null, "length", false, "gzip", null).getBody();
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            assertArrayEquals(expected, input.readAllBytes());
+        }
+
+        byte[] highlight = (byte[]) controller.getPokemonsWithHighlight(null, "name", "offsets", null, null, null, false,
+                null, null, null).getBody();
+        assertArrayEquals(objectMapper.writeValueAsBytes(pokemonService.getPokemonsWithHighlightOffsets(null, "name", null, null, null)), highlight);
+    }
+
+    @Test
+    void testRefresh_ChangesETagAndBody() throws IOException {
+        ResponseEntity<?> before = getPokemons(null, false, null, null);
+        PokemonCache.getInstance().publish(List.of(new Pokemon("25", "Pikachu", "url")));
+
+        ResponseEntity<?> after = getPokemons(null, false, null, before.getHeaders().getETag());
+        assertEquals(HttpStatus.OK, after.getStatusCode());
+        assertNotEquals(before.getHeaders().getETag(), after.getHeaders().getETag());
+        assertArrayEquals(objectMapper.writeValueAsBytes(pokemonService.getPokemons(null, null)), (byte[]) after.getBody());
+    }
+
+    @Test
+    void testStreaming_RejectsInvalidFilterBeforeTheResponse() {
+        assertThrows(InvalidFilterException.class, () -> controller.getPokemons(null, null, null, null, null, null, null,
+                null, List.of("luck:10.."), true, null, null, null));
+        assertThrows(InvalidFilterException.class, () -> controller.getPokemons("pi", null, null, null, null, null, null,
+                null, List.of("speed:90..10"), false, "application/x-ndjson", null, null));
+    }
+
+    private ResponseEntity<?> getPokemons(String query, boolean stream, String acceptEncoding, String ifNoneMatch) {
+        return getPokemons(query, null, stream, acceptEncoding, ifNoneMatch);
+    }
+
+    private ResponseEntity<?> getPokemons(String query, String sort, boolean stream, String acceptEncoding, String ifNoneMatch) {
+        return controller.getPokemons(query, sort, null, null, null, null, null, null, null, stream, null, acceptEncoding, ifNoneMatch);
+    }
+}
@@ -0,0 +1,130 @@
+package com.gilliard.pokemon.PokemonServiceTest;
+
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.dto.CacheStatusDTO;
+import com.gilliard.pokemon.model.Pokemon;
+import com.gilliard.pokemon.service.CatalogRefreshService;
+import com.gilliard.pokemon.service.PokemonPageLoader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogRefreshServiceTest {
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private MutableClock clock;
+    private StubLoader loader;
+    private CatalogRefreshService refreshService;
+
+    @BeforeEach
+    void setUp() {
+        PokemonCache.getInstance().clearCache();
+        clock = new MutableClock(Instant.now());
+        loader = new StubLoader();
+        refreshService = new CatalogRefreshService(loader, TTL, Duration.ofSeconds(30), Duration.ofMinutes(5), clock);
+    }
+
+    @Test
+    void testRefreshIfStale_SkipsFreshAndEmptyCache() {
+        // Cache vazia: a primeira carga continua sob demanda
+        refreshService.refreshIfStale();
+        assertEquals(0, loader.calls.get());
+
+        PokemonCache.getInstance().publish(List.of(new Pokemon("25", "Pikachu", "url")));
+        refreshService.refreshIfStale();
+        assertEquals(0, loader.calls.get());
+    }
+
+    @Test
+    void testRefreshIfStale_ReloadsExpiredSnapshot() {
+        PokemonCache.getInstance().publish(List.of(new Pokemon("25", "Pikachu", "url")));
+        clock.advance(TTL.plusSeconds(1));
+
+        refreshService.refreshIfStale();
+
+        assertEquals(1, loader.calls.get());
+        assertEquals(2, PokemonCache.getInstance().getCache().size());
+        CacheStatusDTO status = refreshService.getStatus();
+        assertEquals(1, status.getRefreshCount());
+        assertEquals(0, status.getFailureCount());
+    }
+
+    @Test
+    void testRefreshIfStale_KeepsDataAndBacksOffOnFailure() {
+        PokemonCache.getInstance().publish(List.of(new Pokemon("25", "Pikachu", "url")));
+        clock.advance(TTL.plusSeconds(1));
+        loader.failing = true;
+
+        refreshService.refreshIfStale();
+        // Dentro do backoff nenhuma nova tentativa é feita
+        clock.advance(Duration.ofSeconds(10));
+        refreshService.refreshIfStale();
+
+        assertEquals(1, loader.calls.get());
+        assertEquals(List.of("Pikachu"), PokemonCache.getInstance().getCache().stream().map(Pokemon::getName).toList());
+        CacheStatusDTO status = refreshService.getStatus();
+        assertEquals(1, status.getFailureCount());
+        assertEquals(1, status.getConsecutiveFailures());
+        assertNotNull(status.getNextAttemptAt());
+
+        // Após o backoff, a recarga é tentada novamente
+        clock.advance(Duration.ofSeconds(30));
+        loader.failing = false;
+        refreshService.refreshIfStale();
+        assertEquals(2, loader.calls.get());
+        assertEquals(0, refreshService.getStatus().getConsecutiveFailures());
+    }
+
+    @Test
+    void testBackoff_DoublesUpToMaximum() {
+        assertEquals(Duration.ofSeconds(30), refreshService.backoff(1));
+        assertEquals(Duration.ofSeconds(60), refreshService.backoff(2));
+        assertEquals(Duration.ofSeconds(240), refreshService.backoff(4));
+        assertEquals(Duration.ofMinutes(5), refreshService.backoff(10));
+    }
+
+    private static class StubLoader extends PokemonPageLoader {
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean failing;
+
+        @Override
+        public List<Pokemon> loadAll() {
+            calls.incrementAndGet();
+            if (failing)
+                throw new RuntimeException("API indisponível");
+            return List.of(new Pokemon("25", "Pikachu", "url"), new Pokemon("4", "Charmander", "url"));
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.gilliard.pokemon.PokemonServiceTest;
+
+import com.gilliard.pokemon.client.CircuitBreaker;
+import com.gilliard.pokemon.client.CircuitOpenException;
+import com.gilliard.pokemon.client.PokeApiClient;
+import com.gilliard.pokemon.client.PokeApiException;
+import com.gilliard.pokemon.client.PokemonPageParser.PokemonPage;
+import com.gilliard.pokemon.metrics.PokemonMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PokeApiClientTest {
+    private StubPokeApi api;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        api = StubPokeApi.generated(150);
+        clock = new MutableClock(Instant.now());
+    }
+
+    @AfterEach
+    void tearDown() {
+        api.close();
+    }
+
+    @Test
+    void testFetchPage_UsesConfiguredBaseUrl() {
+        PokemonPage page = new PokeApiClient(api.getBaseUrl() + "/").fetchPokemonPage(100, 100);
+
+        assertEquals(150, page.getCount());
+        assertEquals(50, page.getPokemons().size());
+        assertEquals("pokemon-101", page.getPokemons().get(0).getName());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void testTransientErrors_AreRetried() {
+        PokeApiClient client = client(3, Duration.ofSeconds(5), 10);
+        api.failNext(2, 503);
+
+        PokemonPage page = client.fetchPokemonPage(0, 100);
+
+        assertEquals(100, page.getPokemons().size());
+        assertEquals(3, api.getRequestCount());
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void testClientErrors_AreNotRetried() {
+        PokeApiClient client = client(3, Duration.ofSeconds(5), 10);
+        api.failNext(1, 404);
+
+        PokeApiException exception = assertThrows(PokeApiException.class, () -> client.fetchPokemonPage(0, 100));
+
+        assertEquals(404, exception.getStatusCode());
+        assertEquals(1, api.getRequestCount());
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void testSlowPage_TimesOut() {
+        PokeApiClient client = client(1, Duration.ofMillis(100), 10);
+        api.setDelay(Duration.ofSeconds(2));
+
+        long start = System.nanoTime();
+        PokeApiException exception = assertThrows(PokeApiException.class, () -> client.fetchPokemonPage(0, 100));
+
+        assertTrue(exception.getCause() instanceof HttpTimeoutException, String.valueOf(exception.getCause()));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+    }
+
+    @Test
+    void testCircuitBreaker_OpensAndRecoversAfterOpenDuration() {
+        PokeApiClient client = client(1, Duration.ofSeconds(5), 2);
+        api.failNext(2, 500);
+
+        assertThrows(PokeApiException.class, () -> client.fetchPokemonPage(0, 100));
+        assertThrows(PokeApiException.class, () -> client.fetchPokemonPage(0, 100));
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+
+        // Com o circuito aberto, a API externa não é consultada:
+        assertThrows(CircuitOpenException.class, () -> client.fetchPokemonPage(0, 100));
+        assertEquals(2, api.getRequestCount());
+
+        // Passado o tempo de abertura, uma requisição de teste bem-sucedida fecha o circuito:
+        clock.advance(Duration.ofSeconds(31));
+        assertEquals(100, client.fetchPokemonPage(0, 100).getPokemons().size());
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void testCircuitBreaker_InterruptedTrialReleasesPermission() throws InterruptedException {
+        PokeApiClient client = client(1, Duration.ofSeconds(5), 1);
+        api.failNext(1, 500);
+        assertThrows(PokeApiException.class, () -> client.fetchPokemonPage(0, 100));
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+
+        // A requisição de teste do circuito meio aberto é interrompida antes da resposta:
+        clock.advance(Duration.ofSeconds(31));
+        api.setDelay(Duration.ofSeconds(2));
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread trial = new Thread(() -> {
+            try {
+                client.fetchPokemonPage(0, 100);
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        trial.start();
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (api.getRequestCount() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        trial.interrupt();
+        trial.join(5000);
+        assertTrue(failure.get() instanceof PokeApiException, String.valueOf(failure.get()));
+
+        // Sem resultado, o circuito continua meio aberto e a próxima requisição faz o teste:
+        api.setDelay(Duration.ZERO);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, client.getCircuitState());
+        assertEquals(100, client.fetchPokemonPage(0, 100).getPokemons().size());
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void testBackoff_IsJitteredAndCapped() {
+        PokeApiClient client = new PokeApiClient(api.getBaseUrl(), Duration.ofSeconds(1), Duration.ofSeconds(1), 3,
+                Duration.ofMillis(100), Duration.ofMillis(500), new CircuitBreaker(5, Duration.ofSeconds(30), clock), new PokemonMetrics());
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(client.backoff(1, null).toMillis() <= 100);
+            assertTrue(client.backoff(3, null).toMillis() <= 400);
+            assertTrue(client.backoff(10, null).toMillis() <= 500);
+        }
+        // Retry-After em segundos é respeitado, sem passar do máximo:
+        assertEquals(Duration.ofMillis(500), client.backoff(1, "1"));
+    }
+
+    private PokeApiClient client(int maxAttempts, Duration requestTimeout, int failureThreshold) {
+        return new PokeApiClient(api.getBaseUrl(), Duration.ofSeconds(1), requestTimeout, maxAttempts, Duration.ZERO,
+                Duration.ZERO, new CircuitBreaker(failureThreshold, Duration.ofSeconds(30), clock), new PokemonMetrics());
+    }
+
+    private static class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
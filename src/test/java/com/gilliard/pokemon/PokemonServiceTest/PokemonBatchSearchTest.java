@@ -0,0 +1,108 @@
+package com.gilliard.pokemon.PokemonServiceTest;
+
+import com.gilliard.pokemon.cache.CatalogSnapshot;
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.dto.PokemonBatchQueryDTO;
+import com.gilliard.pokemon.dto.PokemonBatchResponseDTO;
+import com.gilliard.pokemon.dto.PokemonResponseDTO;
+import com.gilliard.pokemon.model.Pokemon;
+import com.gilliard.pokemon.service.InvalidPageRequestException;
+import com.gilliard.pokemon.service.PokemonService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PokemonBatchSearchTest {
+    private PokemonService pokemonService;
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        PokemonCache.getInstance().clearCache();
+        List<Pokemon> pokemons = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 800; i++) {
+            StringBuilder name = new StringBuilder();
+            int length = 1 + random.nextInt(10);
+            for (int c = 0; c < length; c++) {
+                name.append("aAbcé-".charAt(random.nextInt(6)));
+            }
+            pokemons.add(new Pokemon(String.valueOf(i), name.toString(), "url"));
+        }
+        snapshot = PokemonCache.getInstance().publish(pokemons);
+        pokemonService = new PokemonService();
+    }
+
+    @Test
+    void testSearchAll_MatchesSearchForOverlappingQueries() {
+        // Consultas que são prefixo, sufixo ou parte umas das outras, com repetições dentro do mesmo nome:
+        List<String> queries = List.of("a", "aa", "aaa", "ab", "b", "bab", "abc", "bc", "c", "é", "cé", "é-", "-", "zz");
+        int[][] all = snapshot.searchAll(queries);
+
+        assertEquals(queries.size(), all.length);
+        for (int i = 0; i < queries.size(); i++) {
+            assertArrayEquals(snapshot.search(queries.get(i)), all[i], queries.get(i));
+        }
+    }
+
+    @Test
+    void testBatch_MatchesIndividualCalls() {
+        List<PokemonBatchQueryDTO> queries = List.of(
+                new PokemonBatchQueryDTO("first", "ab", "name", 5),
+                new PokemonBatchQueryDTO("second", " AB ", "length", null),
+                new PokemonBatchQueryDTO(null, "é", "length", 3),
+                new PokemonBatchQueryDTO(null, null, "name", 10),
+                new PokemonBatchQueryDTO("none", "zzz", null, 10)
+        );
+
+        PokemonBatchResponseDTO response = pokemonService.getPokemonsBatch(queries);
+
+        assertEquals(List.of("first", "second", "#2", "#3", "none"), new ArrayList<>(response.getResults().keySet()));
+        for (int i = 0; i < queries.size(); i++) {
+            PokemonBatchQueryDTO query = queries.get(i);
+            List<String> expected = pokemonService.getPokemons(query.getQuery(), query.getSort()).getResult();
+            PokemonResponseDTO<String> result = response.getResults().get(query.getId() == null ? "#" + i : query.getId());
+            int limit = query.getLimit() == null ? expected.size() : Math.min(query.getLimit(), expected.size());
+
+            assertEquals(expected.subList(0, limit), result.getResult());
+            assertEquals(Integer.valueOf(expected.size()), result.getTotal());
+        }
+    }
+
+    @Test
+    void testBatch_PositionsNeverClashWithIds() {
+        PokemonBatchResponseDTO response = pokemonService.getPokemonsBatch(List.of(
+                new PokemonBatchQueryDTO(null, "a", null, 1), new PokemonBatchQueryDTO("0", "b", null, 1)));
+
+        assertEquals(List.of("#0", "0"), new ArrayList<>(response.getResults().keySet()));
+        assertThrows(InvalidPageRequestException.class, () -> pokemonService.getPokemonsBatch(List.of(
+                new PokemonBatchQueryDTO(null, "a", null, 1), new PokemonBatchQueryDTO("#0", "b", null, 1))));
+    }
+
+    @Test
+    void testBatch_RejectsInvalidBatches() {
+        assertThrows(InvalidPageRequestException.class, () -> pokemonService.getPokemonsBatch(List.of()));
+        assertThrows(InvalidPageRequestException.class, () -> pokemonService.getPokemonsBatch(
+                Collections.nCopies(PokemonService.MAX_BATCH_QUERIES + 1, new PokemonBatchQueryDTO(null, "a", null, 1))));
+        assertThrows(InvalidPageRequestException.class, () -> pokemonService.getPokemonsBatch(
+                List.of(new PokemonBatchQueryDTO(null, "a", null, 0))));
+        assertThrows(InvalidPageRequestException.class, () -> pokemonService.getPokemonsBatch(List.of(
+                new PokemonBatchQueryDTO("x", "a", null, 1), new PokemonBatchQueryDTO("x", "b", null, 1))));
+    }
+
+    @Test
+    void testBatch_RejectsRepeatedIdsBeforeLoadingTheCatalog() {
+        PokemonCache.getInstance().clearCache();
+
+        assertThrows(InvalidPageRequestException.class, () -> pokemonService.getPokemonsBatch(List.of(
+                new PokemonBatchQueryDTO("x", "a", null, 1), new PokemonBatchQueryDTO(null, "b", null, 1),
+                new PokemonBatchQueryDTO("x", "c", null, 1))));
+        assertTrue(PokemonCache.getInstance().getSnapshot().isEmpty());
+    }
+}
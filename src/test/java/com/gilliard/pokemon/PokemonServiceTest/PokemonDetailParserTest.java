@@ -0,0 +1,55 @@
+package com.gilliard.pokemon.PokemonServiceTest;
+
+import com.gilliard.pokemon.client.PokemonDetailParser;
+import com.gilliard.pokemon.model.PokemonDetail;
+import com.gilliard.pokemon.model.Stat;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PokemonDetailParserTest {
+
+    @Test
+    void testParse_FixtureDocument() throws IOException {
+        PokemonDetail charizard;
+        try (InputStream body = PokemonDetailParserTest.class.getResourceAsStream("/fixtures/pokeapi/pokemon-6.json")) {
+            assertNotNull(body, "fixture do Pokémon 6");
+            charizard = PokemonDetailParser.parse(body.readAllBytes());
+        }
+
+        assertEquals("6", charizard.getId());
+        assertEquals("charizard", charizard.getName());
+        assertEquals(List.of("fire", "flying"), charizard.getTypes());
+        assertEquals(78, charizard.getBaseStat(Stat.HP));
+        assertEquals(84, charizard.getBaseStat(Stat.ATTACK));
+        assertEquals(78, charizard.getBaseStat(Stat.DEFENSE));
+        assertEquals(109, charizard.getBaseStat(Stat.SPECIAL_ATTACK));
+        assertEquals(85, charizard.getBaseStat(Stat.SPECIAL_DEFENSE));
+        assertEquals(100, charizard.getBaseStat(Stat.SPEED));
+    }
+
+    @Test
+    void testParse_MissingStatsAndUnknownNames() throws IOException {
+        String json = "{\"types\":[{\"type\":{\"url\":\"x\",\"name\":\"Ghost\"},\"slot\":1},7],\"name\":\"gengar\","
+                + "\"stats\":[{\"stat\":{\"name\":\"accuracy\"},\"base_stat\":10},{\"stat\":{\"name\":\"speed\"},\"base_stat\":110}],"
+                + "\"id\":94,\"moves\":[{\"move\":{\"name\":\"lick\"}}]}";
+
+        PokemonDetail gengar = PokemonDetailParser.parse(json.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("94", gengar.getId());
+        assertEquals(List.of("ghost"), gengar.getTypes());
+        assertEquals(110, gengar.getBaseStat(Stat.SPEED));
+        assertEquals(PokemonDetail.UNKNOWN_STAT, gengar.getBaseStat(Stat.HP));
+    }
+
+    @Test
+    void testParse_WithoutIdOrName_Fails() {
+        assertThrows(RuntimeException.class, () -> PokemonDetailParser.parse("{\"name\":\"mew\"}".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(RuntimeException.class, () -> PokemonDetailParser.parse("[]".getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,221 @@
+package com.gilliard.pokemon.PokemonServiceTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gilliard.pokemon.cache.CatalogSnapshot;
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.cache.PokemonDetailCache;
+import com.gilliard.pokemon.cache.QueryResultCache;
+import com.gilliard.pokemon.cache.RenderedResponseCache;
+import com.gilliard.pokemon.client.PokeApiClient;
+import com.gilliard.pokemon.client.PokeApiException;
+import com.gilliard.pokemon.controller.PokemonController;
+import com.gilliard.pokemon.dto.PokemonResponseDTO;
+import com.gilliard.pokemon.metrics.PokemonMetrics;
+import com.gilliard.pokemon.model.PokemonDetail;
+import com.gilliard.pokemon.service.InvalidFilterException;
+import com.gilliard.pokemon.service.PokemonDetailService;
+import com.gilliard.pokemon.service.PokemonPageLoader;
+import com.gilliard.pokemon.service.PokemonService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PokemonDetailServiceTest {
+    private StubPokeApi api;
+    private PokeApiClient client;
+
+    @BeforeEach
+    void setUp() {
+        PokemonCache.getInstance().clearCache();
+        api = StubPokeApi.generated(150);
+        client = new PokeApiClient(api.getBaseUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        api.close();
+    }
+
+    @Test
+    void testGetDetail_CoalescesConcurrentFetchesOfTheSamePokemon() {
+        PokemonDetailService detailService = new PokemonDetailService(client);
+        api.setDelay(Duration.ofMillis(200));
+
+        List<CompletableFuture<PokemonDetail>> fetches = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            fetches.add(detailService.getDetail("6"));
+        }
+
+        for (CompletableFuture<PokemonDetail> fetch : fetches) {
+            assertEquals("pokemon-6", fetch.join().getName());
+        }
+        assertEquals(List.of("6"), new ArrayList<>(api.getRequestedDetails()));
+        // Concluída, a busca seguinte vem da cache:
+        assertEquals(StubPokeApi.generatedTypes(6), detailService.getDetail("6").join().getTypes());
+        assertEquals(1, api.getRequestCount());
+    }
+
+    @Test
+    void testEnrich_FetchesMissingDetailsInBatchesWithBoundedConcurrency() {
+        PokemonDetailService detailService = new PokemonDetailService(client, new PokemonDetailCache(), 3, 16, new PokemonMetrics());
+        CatalogSnapshot snapshot = PokemonCache.getInstance().publish(new PokemonPageLoader(client, 4).loadAll());
+        api.setDelay(Duration.ofMillis(5));
+
+        detailService.enrich(snapshot, new int[]{0, 1, 2, 3, 4});
+        assertEquals(5, snapshot.getDetailIndex().knownCount());
+
+        detailService.enrich(snapshot, null);
+
+        assertEquals(150, snapshot.getDetailIndex().knownCount());
+        // Cada Pokémon é buscado uma única vez, sem passar do limite de requisições simultâneas:
+        assertEquals(150, api.getRequestedDetails().size());
+        assertEquals(150, new HashSet<>(api.getRequestedDetails()).size());
+        assertTrue(api.getMaxActiveRequests() <= 3, "máximo de requisições simultâneas: " + api.getMaxActiveRequests());
+    }
+
+    @Test
+    void testEnrich_KeepsTheDetailsThatArrivedWhenOneFetchFails() {
+        PokemonDetailService detailService = new PokemonDetailService(client, new PokemonDetailCache(), 3, 16, new PokemonMetrics());
+        CatalogSnapshot snapshot = PokemonCache.getInstance().publish(new PokemonPageLoader(client, 4).loadAll());
+        api.failNext(1, 404);
+
+        PokeApiException exception = assertThrows(PokeApiException.class,
+                () -> detailService.enrich(snapshot, new int[]{0, 1, 2, 3, 4}));
+
+        assertEquals(404, exception.getStatusCode());
+        assertEquals(4, snapshot.getDetailIndex().knownCount());
+        // A busca seguinte só precisa do que falhou:
+        detailService.enrich(snapshot, new int[]{0, 1, 2, 3, 4});
+        assertEquals(5, snapshot.getDetailIndex().knownCount());
+        assertEquals(6, api.getRequestedDetails().size());
+    }
+
+    @Test
+    void testEnrich_RejectsSearchesThatNeedTooManyDetails() {
+        PokemonDetailService detailService = new PokemonDetailService(client, new PokemonDetailCache(), 3, 16, 100, new PokemonMetrics());
+        CatalogSnapshot snapshot = PokemonCache.getInstance().publish(new PokemonPageLoader(client, 4).loadAll());
+
+        assertThrows(InvalidFilterException.class, () -> detailService.enrich(snapshot, null));
+        assertEquals(0, api.getRequestedDetails().size());
+
+        // Com parte do catálogo já indexada, o que falta cabe no limite:
+        int[] firstHalf = new int[75];
+        for (int i = 0; i < firstHalf.length; i++) {
+            firstHalf[i] = i;
+        }
+        detailService.enrich(snapshot, firstHalf);
+        detailService.enrich(snapshot, null);
+        assertEquals(150, snapshot.getDetailIndex().knownCount());
+    }
+
+    @Test
+    void testDetailCache_EvictsLeastRecentlyUsed() {
+        PokemonDetailCache detailCache = new PokemonDetailCache(2);
+        PokemonDetailService detailService = new PokemonDetailService(client, detailCache, 2, 16, new PokemonMetrics());
+
+        detailService.getDetail("1").join();
+        detailService.getDetail("2").join();
+        detailService.getDetail("1").join();
+        detailService.getDetail("3").join();
+
+        // O 2 foi usado há mais tempo e saiu da cache; o 1 continua:
+        detailService.getDetail("1").join();
+        detailService.getDetail("2").join();
+        assertEquals(List.of("1", "2", "3", "2"), new ArrayList<>(api.getRequestedDetails()));
+        assertEquals(2, detailCache.getStats().getEntries());
+        assertEquals(2, detailCache.getStats().getEvictions());
+    }
+
+    @Test
+    void testGetPokemons_FiltersByTypeAndStatRange() {
+        PokemonService pokemonService = pokemonService();
+
+        // Fire: IDs com resto 0 na divisão por 3; speed igual ao ID.
+        PokemonResponseDTO<String> fire = pokemonService.getPokemons("pokemon-1", "name", null, null, null, "fire", null);
+        assertEquals(List.of("pokemon-102", "pokemon-105", "pokemon-108", "pokemon-111", "pokemon-114", "pokemon-117",
+                "pokemon-12", "pokemon-120", "pokemon-123", "pokemon-126", "pokemon-129", "pokemon-132", "pokemon-135",
+                "pokemon-138", "pokemon-141", "pokemon-144", "pokemon-147", "pokemon-15", "pokemon-150", "pokemon-18"),
+                fire.getResult());
+
+        PokemonResponseDTO<String> fastFlyingFire = pokemonService.getPokemons(null, "name", null, null, null,
+                "FLYING, fire", List.of("speed:100..140"));
+        assertEquals(List.of("pokemon-105", "pokemon-120", "pokemon-135"), fastFlyingFire.getResult());
+
+        PokemonResponseDTO<String> exactSpeed = pokemonService.getPokemons(null, "name", null, null, null, null, List.of("speed:42"));
+        assertEquals(List.of("pokemon-42"), exactSpeed.getResult());
+
+        assertEquals(List.of(), pokemonService.getPokemons(null, null, null, null, null, "dragon", (List<String>) null).getResult());
+        // Os detalhes foram buscados uma única vez para o catálogo inteiro:
+        assertEquals(150, api.getRequestedDetails().size());
+    }
+
+    @Test
+    void testGetPokemons_OnlyEnrichesNameMatches() {
+        PokemonService pokemonService = pokemonService();
+
+        PokemonResponseDTO<String> result = pokemonService.getPokemons("pokemon-14", null, null, null, null, "grass", null);
+
+        assertEquals(List.of("pokemon-14", "pokemon-140", "pokemon-143", "pokemon-146", "pokemon-149"), result.getResult());
+        assertEquals(new HashSet<>(List.of("14", "140", "141", "142", "143", "144", "145", "146", "147", "148", "149")),
+                new HashSet<>(api.getRequestedDetails()));
+    }
+
+    @Test
+    void testGetPokemons_FilteredPagination() {
+        PokemonService pokemonService = pokemonService();
+
+        PokemonResponseDTO<String> first = pokemonService.getPokemons(null, "name", 2, null, null, "water", List.of("speed:..20"));
+        assertEquals(List.of("pokemon-1", "pokemon-10"), first.getResult());
+        assertEquals(Integer.valueOf(7), first.getTotal());
+        PokemonResponseDTO<String> second = pokemonService.getPokemons(null, "name", 5, null, first.getNextCursor(), "water", List.of("speed:..20"));
+        assertEquals(List.of("pokemon-13", "pokemon-16", "pokemon-19", "pokemon-4", "pokemon-7"), second.getResult());
+        assertNull(second.getNextCursor());
+
+        // O cursor pertence ao filtro da primeira página:
+        assertThrows(RuntimeException.class,
+                () -> pokemonService.getPokemons(null, "name", 2, null, first.getNextCursor(), "grass", List.of("speed:..20")));
+    }
+
+    @Test
+    void testGetPokemons_InvalidStatFilter() {
+        PokemonService pokemonService = pokemonService();
+
+        assertThrows(InvalidFilterException.class, () -> pokemonService.getPokemons(null, null, null, null, null, null, List.of("luck:10..")));
+        assertThrows(InvalidFilterException.class, () -> pokemonService.getPokemons(null, null, null, null, null, null, List.of("speed:abc")));
+        assertThrows(InvalidFilterException.class, () -> pokemonService.getPokemons(null, null, null, null, null, null, List.of("speed:..")));
+        assertThrows(InvalidFilterException.class, () -> pokemonService.getPokemons(null, null, null, null, null, null, List.of("speed:90..10")));
+        assertEquals(0, api.getRequestedDetails().size());
+    }
+
+    @Test
+    void testStreaming_RejectsSearchesThatNeedTooManyDetailsBeforeTheResponse() {
+        PokemonDetailService detailService = new PokemonDetailService(client, new PokemonDetailCache(), 3, 16, 100, new PokemonMetrics());
+        PokemonService pokemonService = new PokemonService(new PokemonPageLoader(client, 4), new QueryResultCache(), new PokemonMetrics(), detailService);
+        PokemonController controller = new PokemonController(pokemonService, new RenderedResponseCache(), new ObjectMapper());
+
+        assertThrows(InvalidFilterException.class, () -> controller.getPokemons(null, null, null, null, null, null, null,
+                "fire", null, true, null, null, null));
+        assertEquals(0, api.getRequestedDetails().size());
+
+        // Com a consulta, os detalhes são buscados antes de a resposta começar e o streaming só percorre o índice:
+        ResponseEntity<?> response = controller.getPokemons("pokemon-14", null, null, null, null, null, null,
+                "grass", null, true, null, null, null);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(11, api.getRequestedDetails().size());
+    }
+
+    private PokemonService pokemonService() {
+        PokemonDetailService detailService = new PokemonDetailService(client, new PokemonDetailCache(), 4, 32, new PokemonMetrics());
+        return new PokemonService(new PokemonPageLoader(client, 4), new QueryResultCache(), new PokemonMetrics(), detailService);
+    }
+}
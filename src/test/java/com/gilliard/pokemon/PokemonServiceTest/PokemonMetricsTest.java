@@ -0,0 +1,108 @@
+package com.gilliard.pokemon.PokemonServiceTest;
+
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.cache.QueryResultCache;
+import com.gilliard.pokemon.client.CircuitBreaker;
+import com.gilliard.pokemon.client.PokeApiClient;
+import com.gilliard.pokemon.client.PokeApiException;
+import com.gilliard.pokemon.dto.PokemonBatchQueryDTO;
+import com.gilliard.pokemon.metrics.PokemonMetrics;
+import com.gilliard.pokemon.model.Pokemon;
+import com.gilliard.pokemon.service.PokemonPageLoader;
+import com.gilliard.pokemon.service.PokemonService;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PokemonMetricsTest {
+    private SimpleMeterRegistry registry;
+    private PokemonMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        PokemonCache.getInstance().clearCache();
+        registry = new SimpleMeterRegistry();
+        metrics = new PokemonMetrics(registry);
+    }
+
+    @Test
+    void testSearch_RecordsLatencyAndResultSizeByEndpointAndSort() {
+        PokemonCache.getInstance().publish(List.of(new Pokemon("25", "Pikachu", "url"), new Pokemon("26", "Raichu", "url")));
+        PokemonService pokemonService = new PokemonService(new PokemonPageLoader(), new QueryResultCache(), metrics);
+
+        pokemonService.getPokemons("chu", "length");
+        pokemonService.getPokemons("CHU", "length");
+        pokemonService.getPokemonsWithHighlight("pika", null, 1, null, null);
+
+        assertEquals(1, registry.get("pokemon.search").tag("endpoint", "pokemons").tag("sort", "length").tag("source", "index").timer().count());
+        assertEquals(1, registry.get("pokemon.search").tag("endpoint", "pokemons").tag("sort", "length").tag("source", "cache").timer().count());
+        assertEquals(1, registry.get("pokemon.search").tag("endpoint", "highlight").tag("sort", "name").tag("source", "page").timer().count());
+        assertEquals(4.0, registry.get("pokemon.search.results").tag("endpoint", "pokemons").summary().totalAmount());
+        // Só a busca que não veio da cache passa pelo filtro e pela ordenação:
+        assertEquals(1, registry.get("pokemon.search.phase").tag("phase", "filter").tag("sort", "length").timer().count());
+        assertEquals(1, registry.get("pokemon.search.phase").tag("phase", "map").tag("sort", "length").timer().count());
+    }
+
+    @Test
+    void testSearch_QueryNeverBecomesATag() {
+        PokemonCache.getInstance().publish(List.of(new Pokemon("25", "Pikachu", "url")));
+        PokemonService pokemonService = new PokemonService(new PokemonPageLoader(), new QueryResultCache(), metrics);
+
+        for (int i = 0; i < 50; i++) {
+            pokemonService.getPokemons("query-" + i, "sort-" + i);
+            pokemonService.getPokemonsFuzzy("pikachu" + i, null, 1);
+        }
+
+        for (Meter meter : registry.getMeters()) {
+            for (Tag tag : meter.getId().getTags()) {
+                assertFalse(tag.getValue().contains("query") || tag.getValue().contains("pikachu") || tag.getValue().contains("sort-"),
+                        meter.getId().getName() + " usa a tag " + tag.getKey() + "=" + tag.getValue());
+            }
+        }
+        assertEquals(50, registry.get("pokemon.search").tag("endpoint", "pokemons").tag("sort", "name").timer().count());
+        assertEquals(50, registry.get("pokemon.search").tag("endpoint", "fuzzy").timer().count());
+    }
+
+    @Test
+    void testBatch_RecordsOneTimerPerBatch() {
+        PokemonCache.getInstance().publish(List.of(new Pokemon("25", "Pikachu", "url"), new Pokemon("26", "Raichu", "url")));
+        PokemonService pokemonService = new PokemonService(new PokemonPageLoader(), new QueryResultCache(), metrics);
+
+        pokemonService.getPokemonsBatch(List.of(new PokemonBatchQueryDTO(null, "chu", "name", null),
+                new PokemonBatchQueryDTO(null, "pika", "length", null), new PokemonBatchQueryDTO(null, "zz", "name", null)));
+
+        assertEquals(1, registry.get("pokemon.search.batch").timer().count());
+        assertEquals(3.0, registry.get("pokemon.search.batch.queries").summary().totalAmount());
+        assertEquals(2.0, registry.get("pokemon.search.results").tag("endpoint", "batch").tag("sort", "name").summary().totalAmount());
+        assertEquals(1.0, registry.get("pokemon.search.results").tag("endpoint", "batch").tag("sort", "length").summary().totalAmount());
+    }
+
+    @Test
+    void testLoader_CountsUpstreamErrorsByExceptionClass() {
+        try (StubPokeApi api = StubPokeApi.generated(10)) {
+            PokeApiClient client = new PokeApiClient(api.getBaseUrl(), Duration.ofSeconds(1), Duration.ofSeconds(1), 2,
+                    Duration.ZERO, Duration.ZERO, new CircuitBreaker(10, Duration.ofMinutes(1), Clock.systemUTC()), metrics);
+            PokemonPageLoader loader = new PokemonPageLoader(client, 4, metrics);
+            api.failNext(4, 503);
+
+            assertThrows(PokeApiException.class, loader::loadAll);
+            assertThrows(PokeApiException.class, loader::loadAll);
+            loader.loadAll();
+
+            assertEquals(2.0, registry.get("pokemon.upstream.errors").tag("exception", "PokeApiException").counter().count());
+            assertEquals(2.0, registry.get("pokemon.upstream.retries").tag("reason", "status_5xx").counter().count());
+            assertEquals(2, registry.get("pokemon.upstream.page").tag("outcome", "error").timer().count());
+            assertEquals(1, registry.get("pokemon.upstream.page").tag("outcome", "success").timer().count());
+            assertEquals(2, registry.get("pokemon.catalog.load").tag("outcome", "error").timer().count());
+            assertEquals(1, registry.get("pokemon.catalog.load").tag("outcome", "success").timer().count());
+        }
+    }
+}
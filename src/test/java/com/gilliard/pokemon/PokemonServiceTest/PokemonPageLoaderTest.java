@@ -0,0 +1,61 @@
+package com.gilliard.pokemon.PokemonServiceTest;
+
+import com.gilliard.pokemon.client.PokeApiClient;
+import com.gilliard.pokemon.model.Pokemon;
+import com.gilliard.pokemon.service.PokemonPageLoader;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PokemonPageLoaderTest {
+
+    @Test
+    void testLoadAll_FetchesAllPagesInUpstreamOrder() {
+        try (StubPokeApi api = StubPokeApi.generated(250)) {
+            PokemonPageLoader loader = new PokemonPageLoader(new PokeApiClient(api.getBaseUrl()), 4);
+
+            List<Pokemon> pokemons = loader.loadAll();
+
+            // Verificando que todos os registros foram carregados na ordem da API
+            assertEquals(250, pokemons.size());
+            for (int i = 0; i < pokemons.size(); i++) {
+                assertEquals("pokemon-" + (i + 1), pokemons.get(i).getName());
+                assertEquals(String.valueOf(i + 1), pokemons.get(i).getId());
+            }
+            // Verificando que as páginas foram buscadas por offset, sem seguir o "next"
+            assertEquals(Set.of(0, 100, 200), new HashSet<>(api.getRequestedOffsets()));
+            assertEquals(3, loader.getLastReport().getPageTimings().size());
+            assertEquals(250, loader.getLastReport().getPokemonCount());
+        }
+    }
+
+    @Test
+    void testLoadAll_SinglePage() {
+        try (StubPokeApi api = StubPokeApi.generated(30)) {
+            PokemonPageLoader loader = new PokemonPageLoader(new PokeApiClient(api.getBaseUrl()), 4);
+
+            List<Pokemon> pokemons = loader.loadAll();
+
+            assertEquals(30, pokemons.size());
+            assertEquals(List.of(0), new ArrayList<>(api.getRequestedOffsets()));
+        }
+    }
+
+    @Test
+    void testLoadAll_RecordedFixturePages() {
+        try (StubPokeApi api = StubPokeApi.fixtures()) {
+            PokemonPageLoader loader = new PokemonPageLoader(new PokeApiClient(api.getBaseUrl()), 4);
+
+            List<Pokemon> pokemons = loader.loadAll();
+
+            assertEquals(151, pokemons.size());
+            for (int i = 0; i < pokemons.size(); i++) {
+                assertEquals(String.valueOf(i + 1), pokemons.get(i).getId());
+            }
+            assertEquals("bulbasaur", pokemons.get(0).getName());
+            assertEquals("mew", pokemons.get(150).getName());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.gilliard.pokemon.PokemonServiceTest;
+
+import com.gilliard.pokemon.client.PokemonPageParser;
+import com.gilliard.pokemon.client.PokemonPageParser.PokemonPage;
+import com.gilliard.pokemon.model.Pokemon;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PokemonPageParserTest {
+    // Páginas no formato da listagem da PokeAPI (limit=100), com os 151 primeiros Pokémons:
+    private static final String FIXTURE = "/fixtures/pokeapi/pokemon-offset-%d.json";
+
+    @Test
+    void testParse_FixturePage() throws IOException {
+        PokemonPage page;
+        try (InputStream body = fixture(0)) {
+            page = PokemonPageParser.parse(body);
+        }
+
+        assertEquals(151, page.getCount());
+        assertEquals("https://pokeapi.co/api/v2/pokemon?offset=100&limit=100", page.getNext());
+        assertEquals(100, page.getPokemons().size());
+        Pokemon pikachu = page.getPokemons().get(24);
+        assertEquals("25", pikachu.getId());
+        assertEquals("pikachu", pikachu.getName());
+        assertEquals("https://pokeapi.co/api/v2/pokemon/25/", pikachu.getUrl());
+    }
+
+    @Test
+    void testParse_SkipsUnknownFieldsAndNonObjectItems() throws IOException {
+        String json = "{\"previous\":null,\"extra\":{\"nested\":[1,{\"name\":\"x\"}]},\"results\":["
+                + "{\"name\":\"mew\",\"sprites\":{\"front\":\"a\"},\"url\":\"https://pokeapi.co/api/v2/pokemon/151/\"},"
+                + "42,"
+                + "{\"url\":\"https://pokeapi.co/api/v2/pokemon/10001\",\"name\":\"deoxys-attack\",\"tags\":[\"a\",\"b\"]}"
+                + "],\"next\":null}";
+
+        PokemonPage page = PokemonPageParser.parse(json.getBytes(StandardCharsets.UTF_8));
+
+        // Sem o campo count, o total é o tamanho da página:
+        assertEquals(2, page.getCount());
+        assertNull(page.getNext());
+        assertEquals("151", page.getPokemons().get(0).getId());
+        assertEquals("mew", page.getPokemons().get(0).getName());
+        assertEquals("10001", page.getPokemons().get(1).getId());
+        assertEquals("deoxys-attack", page.getPokemons().get(1).getName());
+    }
+
+    @Test
+    void testParse_WithoutResults_Fails() {
+        assertThrows(RuntimeException.class, () -> PokemonPageParser.parse("{\"count\":1}".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(RuntimeException.class, () -> PokemonPageParser.parse("[]".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testGetIdFromPokemonUrl() {
+        assertEquals("25", PokemonPageParser.getIdFromPokemonUrl("https://pokeapi.co/api/v2/pokemon/25/"));
+        assertEquals("25", PokemonPageParser.getIdFromPokemonUrl("https://pokeapi.co/api/v2/pokemon/25"));
+        assertEquals("10001", PokemonPageParser.getIdFromPokemonUrl("https://pokeapi.co/api/v2/pokemon/10001//"));
+        assertEquals("25", PokemonPageParser.getIdFromPokemonUrl("25"));
+        assertEquals("", PokemonPageParser.getIdFromPokemonUrl("/"));
+        assertNull(PokemonPageParser.getIdFromPokemonUrl(null));
+    }
+
+    private static InputStream fixture(int offset) {
+        InputStream body = PokemonPageParserTest.class.getResourceAsStream(String.format(FIXTURE, offset));
+        assertNotNull(body, "fixture da página com offset " + offset);
+        return body;
+    }
+}
@@ -0,0 +1,158 @@
+package com.gilliard.pokemon.PokemonServiceTest;
+
+import com.gilliard.pokemon.cache.CatalogSnapshot;
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.dto.PokemonHighlightDTO;
+import com.gilliard.pokemon.dto.PokemonResponseDTO;
+import com.gilliard.pokemon.model.Pokemon;
+import com.gilliard.pokemon.service.PokemonPageLoader;
+import com.gilliard.pokemon.service.PokemonService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PokemonServiceConcurrencyTest {
+    private static final int CATALOG_SIZE = 1_000;
+    private static final int THREADS = 32;
+    private static final int CALLS_PER_THREAD = 50;
+
+    @BeforeEach
+    void setUp() {
+        PokemonCache.getInstance().clearCache();
+    }
+
+    @Test
+    void testColdCache_SingleLoadUnderConcurrentRequests() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        SlowLoader loader = new SlowLoader(loadStarted, releaseLoad);
+        PokemonService pokemonService = new PokemonService(loader);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            boolean highlight = t % 2 == 0;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                    if (highlight) {
+                        PokemonResponseDTO<PokemonHighlightDTO> response = pokemonService.getPokemonsWithHighlight(null, "name");
+                        assertEquals(CATALOG_SIZE, response.getResult().size());
+                    } else {
+                        PokemonResponseDTO<String> response = pokemonService.getPokemons(null, "length");
+                        assertEquals(CATALOG_SIZE, response.getResult().size());
+                    }
+                }
+                return null;
+            }));
+        }
+
+        // Libera as requisições e segura a carga até que todas estejam aguardando por ela
+        start.countDown();
+        assertTrue(loadStarted.await(10, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        releaseLoad.countDown();
+
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Verificando que apenas uma carga foi feita na API externa
+        assertEquals(1, loader.calls.get());
+        assertEquals(CATALOG_SIZE, PokemonCache.getInstance().getCache().size());
+    }
+
+    @Test
+    void testRefresh_ReadersKeepPreviousSnapshot() throws Exception {
+        PokemonCache pokemonCache = PokemonCache.getInstance();
+        pokemonCache.publish(List.of(new Pokemon("25", "Pikachu", "url")));
+        PokemonService pokemonService = new PokemonService();
+
+        CountDownLatch refreshStarted = new CountDownLatch(1);
+        CountDownLatch releaseRefresh = new CountDownLatch(1);
+        SlowLoader refreshLoader = new SlowLoader(refreshStarted, releaseRefresh);
+        CompletableFuture<?> refresh = CompletableFuture.runAsync(() -> pokemonCache.refresh(refreshLoader::loadAll));
+        assertTrue(refreshStarted.await(10, TimeUnit.SECONDS));
+
+        // Durante a recarga, os leitores continuam vendo a fotografia anterior sem esperar
+        assertEquals(List.of("Pikachu"), pokemonService.getPokemons("pik", null).getResult());
+
+        releaseRefresh.countDown();
+        refresh.get(10, TimeUnit.SECONDS);
+        assertEquals(CATALOG_SIZE, pokemonService.getPokemons(null, null).getResult().size());
+        assertEquals(1, refreshLoader.calls.get());
+    }
+
+    @Test
+    void testAddPokemon_ConcurrentAddsArePublishedAndNotified() throws Exception {
+        PokemonCache pokemonCache = PokemonCache.getInstance();
+        List<Long> notified = new CopyOnWriteArrayList<>();
+        Consumer<CatalogSnapshot> listener = snapshot -> notified.add(snapshot.getVersion());
+        pokemonCache.addListener(listener);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 5; i++) {
+                        pokemonCache.addPokemon(new Pokemon(thread + "-" + i, "pokemon-" + thread + "-" + i, "url"));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+            pokemonCache.removeListener(listener);
+        }
+
+        // Nenhum Pokémon se perde e cada acréscimo é uma publicação, notificada em ordem de versão:
+        assertEquals(THREADS * 5, pokemonCache.getCache().size());
+        assertEquals(THREADS * 5, notified.size());
+        List<Long> sorted = new ArrayList<>(notified);
+        Collections.sort(sorted);
+        assertEquals(sorted, notified);
+        long version = pokemonCache.getSnapshot().getVersion();
+        assertTrue(pokemonCache.getSnapshot(version - 1).isPresent());
+    }
+
+    /**
+     * Loader que bloqueia até ser liberado, simulando uma API externa lenta.
+     */
+    private static class SlowLoader extends PokemonPageLoader {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+
+        SlowLoader(CountDownLatch started, CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public List<Pokemon> loadAll() {
+            calls.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            List<Pokemon> pokemons = new ArrayList<>(CATALOG_SIZE);
+            for (int id = 1; id <= CATALOG_SIZE; id++) {
+                pokemons.add(new Pokemon(String.valueOf(id), "pokemon-" + id, "url"));
+            }
+            return pokemons;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.gilliard.pokemon.PokemonServiceTest;
+
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.dto.PokemonHighlightDTO;
+import com.gilliard.pokemon.dto.PokemonResponseDTO;
+import com.gilliard.pokemon.model.Pokemon;
+import com.gilliard.pokemon.service.InvalidPageRequestException;
+import com.gilliard.pokemon.service.PokemonService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PokemonServicePaginationTest {
+    private PokemonService pokemonService;
+
+    @BeforeEach
+    void setUp() {
+        PokemonCache.getInstance().clearCache();
+        List<Pokemon> pokemons = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            StringBuilder name = new StringBuilder();
+            int length = 3 + random.nextInt(10);
+            for (int c = 0; c < length; c++) {
+                name.append((char) ('a' + random.nextInt(6)));
+            }
+            pokemons.add(new Pokemon(String.valueOf(i), name.toString(), "url"));
+        }
+        PokemonCache.getInstance().publish(pokemons);
+        pokemonService = new PokemonService();
+    }
+
+    @Test
+    void testLimitOffset_MatchesSliceOfFullResult() {
+        for (String sort : new String[]{"name", "length"}) {
+            for (String query : new String[]{null, "ab", "abc"}) {
+                List<String> full = pokemonService.getPokemons(query, sort).getResult();
+                PokemonResponseDTO<String> page = pokemonService.getPokemons(query, sort, 7, 3, null);
+
+                assertEquals(full.subList(Math.min(3, full.size()), Math.min(10, full.size())), page.getResult());
+                assertEquals(Integer.valueOf(full.size()), page.getTotal());
+            }
+        }
+    }
+
+    @Test
+    void testCursor_WalksAllPages() {
+        List<String> full = pokemonService.getPokemons("a", "length").getResult();
+        List<String> walked = new ArrayList<>();
+        PokemonResponseDTO<String> page = pokemonService.getPokemons("a", "length", 50, null, null);
+        walked.addAll(page.getResult());
+        while (page.getNextCursor() != null) {
+            page = pokemonService.getPokemons("a", "length", 50, null, page.getNextCursor());
+            walked.addAll(page.getResult());
+        }
+        assertEquals(full, walked);
+    }
+
+    @Test
+    void testCursor_SurvivesRefresh() {
+        PokemonResponseDTO<PokemonHighlightDTO> first = pokemonService.getPokemonsWithHighlight(null, "name", 10, null, null);
+        List<String> expected = pokemonService.getPokemons(null, "name").getResult().subList(10, 20);
+
+        // Uma nova carga publica outra fotografia; o cursor continua lendo a anterior
+        PokemonCache.getInstance().publish(List.of(new Pokemon("1", "Bulbasaur", "url")));
+
+        PokemonResponseDTO<PokemonHighlightDTO> second = pokemonService.getPokemonsWithHighlight(null, "name", 10, null, first.getNextCursor());
+        assertEquals(expected, second.getResult().stream().map(PokemonHighlightDTO::getName).toList());
+    }
+
+    @Test
+    void testInvalidRequests() {
+        String cursor = pokemonService.getPokemons(null, "name", 10, null, null).getNextCursor();
+
+        assertThrows(InvalidPageRequestException.class, () -> pokemonService.getPokemons(null, "name", 0, null, null));
+        assertThrows(InvalidPageRequestException.class, () -> pokemonService.getPokemons(null, "name", 10, -1, null));
+        assertThrows(InvalidPageRequestException.class, () -> pokemonService.getPokemons(null, "name", 10, null, "nao-e-um-cursor"));
+        // Cursor de outra ordenação ou consulta
+        assertThrows(InvalidPageRequestException.class, () -> pokemonService.getPokemons(null, "length", 10, null, cursor));
+        assertThrows(InvalidPageRequestException.class, () -> pokemonService.getPokemons("ab", "name", 10, null, cursor));
+    }
+
+    @Test
+    void testCursor_RejectsQueryWithTheSameHashCode() {
+        // "aak" e "ac-" têm o mesmo String.hashCode():
+        assertEquals("aak".hashCode(), "ac-".hashCode());
+        List<Pokemon> pokemons = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            pokemons.add(new Pokemon(String.valueOf(2 * i), "aak" + (char) ('a' + i), "url"));
+            pokemons.add(new Pokemon(String.valueOf(2 * i + 1), "ac-" + (char) ('a' + i), "url"));
+        }
+        PokemonCache.getInstance().publish(pokemons);
+
+        String cursor = pokemonService.getPokemons("aak", "name", 5, null, null).getNextCursor();
+        assertNotNull(cursor);
+        assertEquals(5, pokemonService.getPokemons("AAK", "name", 5, null, cursor).getResult().size());
+        assertThrows(InvalidPageRequestException.class, () -> pokemonService.getPokemons("ac-", "name", 5, null, cursor));
+    }
+
+    @Test
+    void testWithoutPagination_KeepsLegacyResponse() {
+        PokemonResponseDTO<String> response = pokemonService.getPokemons(null, "name", null, null, null);
+        assertNull(response.getTotal());
+        assertNull(response.getNextCursor());
+    }
+}
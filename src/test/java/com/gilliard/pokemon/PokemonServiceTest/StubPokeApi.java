@@ -0,0 +1,244 @@
+package com.gilliard.pokemon.PokemonServiceTest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Servidor HTTP local que simula a listagem paginada da API externa, usado como {@code pokemon.upstream.base-url}
+ * nos testes.<br>
+ *
+ * As páginas são geradas (pokemon-1, pokemon-2, ...) ou lidas das fixtures gravadas. Também responde os documentos de
+ * detalhes ({@code /pokemon/{id}/}): gerados a partir do ID ou lidos das fixtures. Permite responder com erro ou
+ * atrasar as próximas requisições, para exercitar timeouts e novas tentativas.
+ */
+final class StubPokeApi implements AutoCloseable {
+    private static final String FIXTURE = "/fixtures/pokeapi/pokemon-offset-%d.json";
+    private static final String DETAIL_FIXTURE = "/fixtures/pokeapi/pokemon-%s.json";
+    private static final String[] GENERATED_TYPES = {"fire", "water", "grass"};
+
+    private final HttpServer server;
+    private final int generatedCount;
+    private final IntFunction<byte[]> fixturePages;
+    private final Queue<String> requestedDetails = new ConcurrentLinkedQueue<>();
+    private final Queue<Integer> requestedOffsets = new ConcurrentLinkedQueue<>();
+    private final Queue<Integer> nextStatuses = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final AtomicInteger maxActiveRequests = new AtomicInteger();
+    private volatile Duration delay = Duration.ZERO;
+
+    private StubPokeApi(int generatedCount, IntFunction<byte[]> fixturePages) {
+        this.generatedCount = generatedCount;
+        this.fixturePages = fixturePages;
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.createContext("/api/v2/pokemon", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    /**
+     * Catálogo gerado com {@code count} Pokémons, em páginas de acordo com o limit pedido.
+     */
+    static StubPokeApi generated(int count) {
+        return new StubPokeApi(count, null);
+    }
+
+    /**
+     * As páginas gravadas em {@code src/test/resources/fixtures/pokeapi}, por offset.
+     */
+    static StubPokeApi fixtures() {
+        return new StubPokeApi(0, offset -> resource(String.format(FIXTURE, offset)));
+    }
+
+    String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/api/v2";
+    }
+
+    Queue<Integer> getRequestedOffsets() {
+        return requestedOffsets;
+    }
+
+    int getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * IDs dos documentos de detalhes pedidos, na ordem de chegada.
+     */
+    Queue<String> getRequestedDetails() {
+        return requestedDetails;
+    }
+
+    /**
+     * Maior quantidade de requisições atendidas ao mesmo tempo.
+     */
+    int getMaxActiveRequests() {
+        return maxActiveRequests.get();
+    }
+
+    /**
+     * Tipos do Pokémon gerado com o ID informado: fire, water ou grass, pelo resto da divisão por 3, e flying para os
+     * múltiplos de 5.
+     */
+    static List<String> generatedTypes(int id) {
+        String type = GENERATED_TYPES[id % GENERATED_TYPES.length];
+        return id % 5 == 0 ? List.of(type, "flying") : List.of(type);
+    }
+
+    /**
+     * Atributos do Pokémon gerado com o ID informado: speed igual ao ID e os demais fixos (hp 50, os outros 60).
+     */
+    static int generatedSpeed(int id) {
+        return id;
+    }
+
+    /**
+     * As próximas {@code times} requisições recebem o status informado, sem corpo.
+     */
+    void failNext(int times, int status) {
+        for (int i = 0; i < times; i++) {
+            nextStatuses.add(status);
+        }
+    }
+
+    /**
+     * Atraso aplicado antes de responder cada requisição.
+     */
+    void setDelay(Duration delay) {
+        this.delay = delay;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requestCount.incrementAndGet();
+            maxActiveRequests.accumulateAndGet(activeRequests.incrementAndGet(), Math::max);
+            String detailId = detailId(exchange.getRequestURI().getPath());
+            String query = exchange.getRequestURI().getQuery();
+            int offset = intParam(query, "offset", 0);
+            int limit = intParam(query, "limit", 20);
+            if (detailId == null)
+                requestedOffsets.add(offset);
+            else
+                requestedDetails.add(detailId);
+            sleep(delay);
+
+            Integer status = nextStatuses.poll();
+            if (status != null) {
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+            byte[] body;
+            if (detailId != null)
+                body = fixturePages == null ? generatedDetail(detailId) : resource(String.format(DETAIL_FIXTURE, detailId));
+            else
+                body = fixturePages == null ? generatedPage(offset, limit) : fixturePages.apply(offset);
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            activeRequests.decrementAndGet();
+        }
+    }
+
+    // "/api/v2/pokemon/25/" -> "25"; null para a listagem.
+    private static String detailId(String path) {
+        String id = path.substring("/api/v2/pokemon".length()).replace("/", "");
+        return id.isEmpty() ? null : id;
+    }
+
+    private byte[] generatedDetail(String detailId) {
+        int id = Integer.parseInt(detailId);
+        if (id < 1 || id > generatedCount)
+            return null;
+        StringBuilder json = new StringBuilder("{\"abilities\":[],\"id\":").append(id)
+                .append(",\"name\":\"pokemon-").append(id).append("\",\"moves\":[{\"move\":{\"name\":\"tackle\"}}],\"stats\":[");
+        String[] stats = {"hp", "attack", "defense", "special-attack", "special-defense", "speed"};
+        for (int i = 0; i < stats.length; i++) {
+            int value = i == 0 ? 50 : i == stats.length - 1 ? generatedSpeed(id) : 60;
+            json.append(i == 0 ? "" : ",").append("{\"base_stat\":").append(value)
+                    .append(",\"effort\":0,\"stat\":{\"name\":\"").append(stats[i]).append("\",\"url\":\"\"}}");
+        }
+        json.append("],\"types\":[");
+        List<String> types = generatedTypes(id);
+        for (int slot = 1; slot <= types.size(); slot++) {
+            json.append(slot == 1 ? "" : ",").append("{\"slot\":").append(slot)
+                    .append(",\"type\":{\"name\":\"").append(types.get(slot - 1)).append("\",\"url\":\"\"}}");
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] resource(String path) {
+        try (InputStream body = StubPokeApi.class.getResourceAsStream(path)) {
+            return body == null ? null : body.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] generatedPage(int offset, int limit) {
+        int count = generatedCount;
+        StringBuilder json = new StringBuilder("{\"count\":").append(count).append(",\"next\":");
+        if (offset + limit < count) {
+            json.append('"').append(getBaseUrl()).append("/pokemon?offset=").append(offset + limit).append("&limit=").append(limit).append('"');
+        } else {
+            json.append("null");
+        }
+        json.append(",\"previous\":null,\"results\":[");
+        for (int id = offset + 1; id <= Math.min(offset + limit, count); id++) {
+            if (id > offset + 1)
+                json.append(',');
+            json.append("{\"name\":\"pokemon-").append(id).append("\",\"url\":\"https://pokeapi.co/api/v2/pokemon/").append(id).append("/\"}");
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int intParam(String query, String name, int defaultValue) {
+        if (query == null)
+            return defaultValue;
+        for (String pair : query.split("&")) {
+            if (pair.startsWith(name + "="))
+                return Integer.parseInt(pair.substring(name.length() + 1));
+        }
+        return defaultValue;
+    }
+
+    private static void sleep(Duration delay) {
+        if (delay.isZero())
+            return;
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.gilliard.pokemon;
+
+import java.util.Random;
+
+/**
+ * Textos aleatórios para os testes que comparam os índices e buscas com uma implementação direta.
+ */
+public final class RandomText {
+
+    private RandomText() {}
+
+    /**
+     * Gera um texto com {@code length} caracteres sorteados de {@code alphabet}.
+     */
+    public static String randomText(Random random, String alphabet, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,65 @@
+package com.gilliard.pokemon.SortTypeTest;
+
+import com.gilliard.pokemon.model.Pokemon;
+import com.gilliard.pokemon.model.SortType;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortTypeTest {
+    // Caracteres ASCII, acentuados, hífens, espaços, um emoji (par de surrogates) e um surrogate isolado
+    private static final String[] ALPHABET = {"a", "Z", "m", "0", "9", "-", " ", ".", "é", "Ö", "♀", "😀", "\uD800", "_", "'"};
+
+    // Implementação original do SortType.NAME, usada como referência
+    private static int legacyNameCompare(Pokemon p1, Pokemon p2) {
+        return legacyCleanString(p1.getName()).compareTo(legacyCleanString(p2.getName()));
+    }
+
+    private static String legacyCleanString(String name) {
+        String NON_ALPHANUMERIC_REGEX = "[^a-zA-Z0-9]";
+        return name.replaceAll(NON_ALPHANUMERIC_REGEX, " ");
+    }
+
+    @Test
+    void testNameComparator_MatchesLegacyRegexComparator() {
+        Random random = new Random(2024);
+        for (int round = 0; round < 200; round++) {
+            List<Pokemon> pokemons = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                pokemons.add(new Pokemon(String.valueOf(i), randomName(random), "url"));
+            }
+
+            List<Pokemon> expected = new ArrayList<>(pokemons);
+            expected.sort(SortTypeTest::legacyNameCompare);
+            List<Pokemon> actual = new ArrayList<>(pokemons);
+            actual.sort(SortType.NAME.getComparator());
+
+            assertEquals(expected, actual);
+            for (Pokemon pokemon : pokemons) {
+                assertEquals(legacyCleanString(pokemon.getName()), pokemon.getSortKey());
+            }
+        }
+    }
+
+    @Test
+    void testNameComparator_KnownNames() {
+        Pokemon mrMime = new Pokemon("122", "mr-mime", "url");
+        Pokemon mrRime = new Pokemon("866", "mr-rime", "url");
+        Pokemon mrs = new Pokemon("0", "mrs", "url");
+
+        assertEquals("mr mime", mrMime.getSortKey());
+        // O espaço (0x20) vem antes das letras, como acontecia com o hífen substituído pela regex
+        assertTrue(SortType.NAME.getComparator().compare(mrMime, mrs) < 0);
+        assertTrue(SortType.NAME.getComparator().compare(mrMime, mrRime) < 0);
+    }
+
+    private static String randomName(Random random) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0, length = random.nextInt(8); i < length; i++) {
+            name.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package com.gilliard.pokemon.StringUtilsTest;
+
+import com.gilliard.pokemon.cache.PokemonCache;
+import com.gilliard.pokemon.dto.PokemonHighlightOffsetsDTO;
+import com.gilliard.pokemon.model.Pokemon;
+import com.gilliard.pokemon.service.PokemonService;
+import com.gilliard.pokemon.utils.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static com.gilliard.pokemon.RandomText.randomText;
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringUtilsTest {
+    private static final String ALPHABET = "aAbB-é";
+
+    // Implementação original do destaque, usada como referência
+    private static String legacyHighlight(String text, String substring) {
+        int index = text.toLowerCase().indexOf(substring.toLowerCase());
+        if (index == -1)
+            return text;
+        return text.substring(0, index) + "<pre>" + text.substring(index, index + substring.length()) + "</pre>" + text.substring(index + substring.length());
+    }
+
+    @Test
+    void testHighlightFirstOccurrence_MatchesLegacyOutput() {
+        Random random = new Random(3);
+        for (int i = 0; i < 2_000; i++) {
+            String text = randomText(random, ALPHABET, 1 + random.nextInt(10));
+            String query = randomText(random, ALPHABET, 1 + random.nextInt(3));
+            assertEquals(legacyHighlight(text, query), StringUtils.highlightFirstOccurrence(text, query));
+        }
+    }
+
+    @Test
+    void testFindMatchSpans_AllNonOverlappingOccurrences() {
+        assertArrayEquals(new int[]{0, 2, 4, 6}, StringUtils.findMatchSpans("AbxxaB", "abxxab", "ab", Integer.MAX_VALUE));
+        assertArrayEquals(new int[]{0, 2, 2, 4}, StringUtils.findMatchSpans("aaaaa", "aaaaa", "aa", Integer.MAX_VALUE));
+        assertArrayEquals(new int[]{0, 2}, StringUtils.findMatchSpans("aaaaa", "aaaaa", "aa", 1));
+        assertArrayEquals(new int[0], StringUtils.findMatchSpans("Pikachu", "pikachu", "bulba", Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testFindMatchSpans_LowercaseChangesLength() {
+        // "İ".toLowerCase() tem dois caracteres: as posições precisam se referir ao nome original
+        String text = "İab";
+        assertArrayEquals(new int[]{1, 3}, StringUtils.findMatchSpans(text, text.toLowerCase(), "ab", Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testGetPokemonsWithHighlightOffsets() {
+        PokemonCache.getInstance().clearCache();
+        PokemonCache.getInstance().publish(List.of(new Pokemon("1", "Mr-Mime", "url"), new Pokemon("2", "Pikachu", "url")));
+        PokemonService pokemonService = new PokemonService();
+
+        List<PokemonHighlightOffsetsDTO> result = pokemonService.getPokemonsWithHighlightOffsets(" M ", "name", null, null, null).getResult();
+        assertEquals(1, result.size());
+        assertEquals("Mr-Mime", result.get(0).getName());
+        assertEquals(3, result.get(0).getSpans().length);
+        assertArrayEquals(new int[]{3, 4}, result.get(0).getSpans()[1]);
+
+        // O formato com a tag pre continua destacando apenas a primeira ocorrência
+        assertEquals("<pre>M</pre>r-Mime", pokemonService.getPokemonsWithHighlight("m", "name").getResult().get(0).getHighlight());
+    }
+}